@@ -11,6 +11,7 @@ plugins {
   id("com.diffplug.spotless") version "8.3.0"
   id("checkstyle")
   id("io.freefair.lombok") version "9.2.0"
+  id("org.hibernate.orm") version "7.1.8.Final"
 }
 
 group = "de.bund.digitalservice"
@@ -35,6 +36,8 @@ repositories {
 }
 
 extra["springCloudVersion"] = "2025.1.0"
+// Overrides the version of Spring Boot, must be the same as the version of the plugin org.hibernate.orm
+extra["hibernate.version"] = "7.1.8.Final"
 
 val springdocVersion = "3.0.2"
 val sentryVersion = "8.34.1"
@@ -87,7 +90,7 @@ dependencies {
   testAndDevelopmentOnly("org.springframework.boot:spring-boot-docker-compose")
 
   // no-auto-pin-removal CVE-2025-49146
-  runtimeOnly("org.postgresql:postgresql:$postgresVersion")
+  implementation("org.postgresql:postgresql:$postgresVersion")
   annotationProcessor("org.projectlombok:lombok")
   testImplementation("org.springframework.boot:spring-boot-starter-actuator-test")
   testImplementation("org.springframework.boot:spring-boot-starter-data-jpa-test")
@@ -114,6 +117,23 @@ tasks.withType<Test> {
   useJUnitPlatform()
 }
 
+tasks.test {
+  useJUnitPlatform {
+    // Benchmarks assert no timings and are run on demand with the task benchmark
+    excludeTags("benchmark")
+  }
+}
+
+tasks.register<Test>("benchmark") {
+  description = "Runs the benchmarks, which log their timings."
+  group = "verification"
+  testClassesDirs = sourceSets.test.get().output.classesDirs
+  classpath = sourceSets.test.get().runtimeClasspath
+  useJUnitPlatform {
+    includeTags("benchmark")
+  }
+}
+
 jacoco {
   toolVersion = "0.8.14"
 }
@@ -252,6 +272,13 @@ lombok {
   version = "1.18.40"
 }
 
+hibernate {
+  // hibernate-core is added by spring-boot-starter-data-jpa, in the version pinned by hibernate.version
+  useSameVersion = false
+  // Bytecode enhancement for lazily loaded basic attributes, e.g. the content of DocumentationUnitEntity
+  enhancement {}
+}
+
 tasks {
   javadoc {
     isFailOnError = false
@@ -107,6 +107,9 @@ setup_schema_and_permissions() {
     set_schema_privileges "${db_name}" "${schema}" "${user}" "ALL"
 }
 
+echo "Create extension pg_trgm for substring searches"
+psql -U ${POSTGRES_USER} "ris_adm_literature" -ac "CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;"
+
 echo "Create lookup_tables role and schema"
 create_role_if_not_exists "lookup_tables" "lookup_tables"
 setup_schema_and_permissions "ris_adm_literature" "lookup_tables" "lookup_tables"
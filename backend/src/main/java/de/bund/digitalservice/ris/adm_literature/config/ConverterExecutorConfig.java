@@ -0,0 +1,43 @@
+package de.bund.digitalservice.ris.adm_literature.config;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaPropagatingExecutor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the thread pool which converts the LDML of published documentation units to JSON,
+ * e.g. for batch requests. The pool is shared by all requests, so that the number of converter threads is
+ * bounded by the number of processors regardless of the number of concurrent requests.
+ */
+@Configuration
+public class ConverterExecutorConfig {
+
+  /**
+   * Creates the thread pool of the converter, which is shut down with the application context.
+   *
+   * @return The thread pool
+   */
+  @Bean(destroyMethod = "shutdownNow")
+  public ExecutorService ldmlConverterPool() {
+    return Executors.newFixedThreadPool(
+      Runtime.getRuntime().availableProcessors(),
+      Thread.ofPlatform().name("ldml-converter-", 0).daemon().factory()
+    );
+  }
+
+  /**
+   * Creates the executor of the converter, which runs the conversions in the schema of the request.
+   *
+   * @param ldmlConverterPool The thread pool of the converter
+   * @return The executor
+   */
+  @Bean
+  public SchemaPropagatingExecutor ldmlConverterExecutor(
+    @Qualifier("ldmlConverterPool") ExecutorService ldmlConverterPool
+  ) {
+    return new SchemaPropagatingExecutor(ldmlConverterPool);
+  }
+}
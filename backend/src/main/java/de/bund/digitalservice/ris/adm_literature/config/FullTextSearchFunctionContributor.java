@@ -0,0 +1,42 @@
+package de.bund.digitalservice.ris.adm_literature.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the Postgres full-text search as HQL and criteria functions, as JPA has no equivalent of the
+ * {@code @@} operator.
+ * <ul>
+ *   <li>{@code fts_match(vector, terms)}: {@code true} if the {@code tsvector} matches the search terms</li>
+ *   <li>{@code fts_rank(vector, terms)}: relevance of the {@code tsvector} for the search terms</li>
+ * </ul>
+ * The search terms are parsed with {@code websearch_to_tsquery} and the German text search configuration,
+ * so that any user input is valid. Registered via {@code META-INF/services}.
+ */
+public class FullTextSearchFunctionContributor implements FunctionContributor {
+
+  private static final String TS_QUERY = "websearch_to_tsquery('german'::regconfig, ?2)";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    BasicTypeRegistry basicTypeRegistry = functionContributions
+      .getTypeConfiguration()
+      .getBasicTypeRegistry();
+    functionContributions
+      .getFunctionRegistry()
+      .registerPattern(
+        "fts_match",
+        "(?1 @@ " + TS_QUERY + ")",
+        basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN)
+      );
+    functionContributions
+      .getFunctionRegistry()
+      .registerPattern(
+        "fts_rank",
+        "ts_rank(?1, " + TS_QUERY + ")",
+        basicTypeRegistry.resolve(StandardBasicTypes.FLOAT)
+      );
+  }
+}
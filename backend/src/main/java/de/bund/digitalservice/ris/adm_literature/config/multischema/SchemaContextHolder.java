@@ -6,14 +6,21 @@ import lombok.experimental.UtilityClass;
  * Utility class to store the current {@link SchemaType} in a {@link ThreadLocal}.
  * This allows the {@link SchemaRoutingDataSource} to determine which
  * schema to use for the current thread's transaction.
+ * <p>
+ * Alternatively, a schema can be bound to a {@link ScopedValue} for the duration of an operation
+ * (see {@link #callInSchema}). A bound schema takes precedence over the {@link ThreadLocal} and is
+ * propagated to other threads by {@link SchemaPropagatingExecutor}.
+ * </p>
  */
 @UtilityClass
 public final class SchemaContextHolder {
 
   private static final ThreadLocal<SchemaType> CONTEXT = new ThreadLocal<>();
+  private static final ScopedValue<SchemaType> SCOPED_SCHEMA = ScopedValue.newInstance();
 
   /**
-   * Sets the {@link SchemaType} for the current thread.
+   * Sets the {@link SchemaType} for the current thread. Within the scope of a schema bound by
+   * {@link #callInSchema} the bound schema still takes precedence.
    *
    * @param schema The schema to set (must not be null).
    */
@@ -27,10 +34,45 @@ public final class SchemaContextHolder {
   /**
    * Retrieves the {@link SchemaType} for the current thread.
    *
-   * @return The current schema, or null if not set.
+   * @return The schema bound by {@link #callInSchema}, otherwise the schema set for the current thread,
+   *         or null if not set.
    */
   public static SchemaType getSchema() {
-    return CONTEXT.get();
+    return SCOPED_SCHEMA.isBound() ? SCOPED_SCHEMA.get() : CONTEXT.get();
+  }
+
+  /**
+   * Executes the given operation with the given schema bound to the current thread. The binding ends with
+   * the operation, so there is nothing to restore or clear afterward.
+   *
+   * @param schema The schema to bind (must not be null).
+   * @param operation The operation to execute
+   * @return The result of the operation
+   * @param <T> Type of the result
+   * @param <X> Type of the exception thrown by the operation
+   * @throws X If the operation fails
+   */
+  public static <T, X extends Throwable> T callInSchema(
+    SchemaType schema,
+    ScopedValue.CallableOp<T, X> operation
+  ) throws X {
+    if (schema == null) {
+      throw new NullPointerException("SchemaType cannot be null");
+    }
+    return ScopedValue.where(SCOPED_SCHEMA, schema).call(operation);
+  }
+
+  /**
+   * Executes the given operation with the given schema bound to the current thread.
+   *
+   * @param schema The schema to bind (must not be null).
+   * @param operation The operation to execute
+   */
+  public static void runInSchema(SchemaType schema, Runnable operation) {
+    callInSchema(schema, () -> {
+      operation.run();
+      return null;
+    });
   }
 
   /**
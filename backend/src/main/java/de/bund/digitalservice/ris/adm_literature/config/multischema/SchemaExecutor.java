@@ -11,9 +11,9 @@ public class SchemaExecutor {
 
   /**
    * Executes a functional action within the context of a specific database schema.
-   * * <p>Temporarily switches the {@link SchemaContextHolder} to the target schema,
-   * performs the action, and ensures the original schema context is restored
-   * even if an exception occurs.</p>
+   * * <p>Binds the target schema for the duration of the action (see
+   * {@link SchemaContextHolder#callInSchema}), so that the schema of the caller applies
+   * again afterward, even if an exception occurs. The thread's schema is not modified.</p>
    *
    * @param schema The target {@link SchemaType} to switch to.
    * @param action The logic to execute while the target schema is active.
@@ -21,41 +21,23 @@ public class SchemaExecutor {
    * @return The result of the action
    */
   public <V> V executeInSchema(SchemaType schema, Callable<V> action) {
-    SchemaType originalSchema = SchemaContextHolder.getSchema();
     try {
-      SchemaContextHolder.setSchema(schema);
-      return action.call();
+      return SchemaContextHolder.callInSchema(schema, action::call);
     } catch (Exception e) {
       throw new IllegalStateException(e);
-    } finally {
-      if (originalSchema != null) {
-        SchemaContextHolder.setSchema(originalSchema);
-      } else {
-        SchemaContextHolder.clear();
-      }
     }
   }
 
   /**
    * Executes a functional action within the context of a specific database schema.
-   * * <p>Temporarily switches the {@link SchemaContextHolder} to the target schema,
-   * performs the action, and ensures the original schema context is restored
-   * even if an exception occurs.</p>
+   * * <p>Binds the target schema for the duration of the action (see
+   * {@link SchemaContextHolder#callInSchema}), so that the schema of the caller applies
+   * again afterward, even if an exception occurs. The thread's schema is not modified.</p>
    *
    * @param schema The target {@link SchemaType} to switch to.
    * @param action The logic to execute while the target schema is active.
    */
   public void executeInSchema(SchemaType schema, Runnable action) {
-    SchemaType originalSchema = SchemaContextHolder.getSchema();
-    try {
-      SchemaContextHolder.setSchema(schema);
-      action.run();
-    } finally {
-      if (originalSchema != null) {
-        SchemaContextHolder.setSchema(originalSchema);
-      } else {
-        SchemaContextHolder.clear();
-      }
-    }
+    SchemaContextHolder.runInSchema(schema, action);
   }
 }
@@ -0,0 +1,37 @@
+package de.bund.digitalservice.ris.adm_literature.config.multischema;
+
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link Executor} which propagates the {@link SchemaType} of the submitting thread to the thread
+ * executing the task.
+ * <p>
+ * The schema is captured when a task is submitted and bound with {@link SchemaContextHolder#runInSchema}
+ * while the task runs, so that pooled threads never keep the schema of a previous task. Tasks submitted
+ * without a schema run unchanged.
+ * </p>
+ */
+public class SchemaPropagatingExecutor implements Executor {
+
+  private final Executor delegate;
+
+  /**
+   * Creates an executor which submits the tasks to the given executor.
+   *
+   * @param delegate The executor running the tasks
+   */
+  public SchemaPropagatingExecutor(@Nonnull Executor delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void execute(@Nonnull Runnable command) {
+    SchemaType schema = SchemaContextHolder.getSchema();
+    if (schema == null) {
+      delegate.execute(command);
+    } else {
+      delegate.execute(() -> SchemaContextHolder.runInSchema(schema, command));
+    }
+  }
+}
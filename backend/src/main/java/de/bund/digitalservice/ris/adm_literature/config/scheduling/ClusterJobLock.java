@@ -0,0 +1,178 @@
+package de.bund.digitalservice.ris.adm_literature.config.scheduling;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ensures that each run of a scheduled job is executed by only one instance of the application, backed by
+ * the {@code scheduled_job_lock} table of the ADM schema.
+ * <p>
+ * All instances share the same database. An instance claims a job with a single statement which only
+ * succeeds if the lock of the job has expired, so no connection is held while the job runs and the work of
+ * the job itself may use any number of transactions. When the job is finished, the lock is kept until at
+ * least {@code scheduling.lock.min-hold} after its start: an instance whose cron fires a little later, e.g.
+ * after the job has already finished on another instance, skips the run instead of repeating it.
+ * </p>
+ * <p>
+ * A lock is a short lease of {@code scheduling.lock.lease}, which is renewed in the background while the job
+ * runs. If an instance crashes or is redeployed during a run, its lease is no longer renewed and expires
+ * within {@code scheduling.lock.lease}, so that another instance can take over the job.
+ * </p>
+ * <p>
+ * A job may split its work into shards: each shard is locked separately and processed by the instance
+ * which locked it, so that instances starting the job at the same time share the work.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterJobLock {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final ScheduledExecutorService leaseRenewal = Executors.newSingleThreadScheduledExecutor(
+    Thread.ofPlatform().name("job-lock-renewal").daemon().factory()
+  );
+
+  @Value("${scheduling.lock.min-hold:PT5M}")
+  private Duration minHold;
+
+  @Value("${scheduling.lock.lease:PT2M}")
+  private Duration lease;
+
+  /**
+   * Runs the given job if no other instance is running it or has run it within the minimum hold.
+   *
+   * @param jobName The unique name of the job
+   * @param job The job
+   * @return {@code true} if the job ran on this instance, {@code false} if it is locked by another run
+   */
+  public boolean runExclusively(@Nonnull String jobName, @Nonnull Runnable job) {
+    return runSharded(jobName, List.of(job), Runnable::run) == 1;
+  }
+
+  /**
+   * Runs the given work for all shards which are not locked by another run.
+   *
+   * @param jobName The unique name of the job
+   * @param shards The shards of the job, in the same order on all instances
+   * @param work The work for a single shard
+   * @return The number of shards processed on this instance
+   * @param <T> Type of the shards
+   */
+  public <T> int runSharded(
+    @Nonnull String jobName,
+    @Nonnull List<T> shards,
+    @Nonnull Consumer<T> work
+  ) {
+    int processedShards = 0;
+    for (int shard = 0; shard < shards.size(); shard++) {
+      if (tryLock(jobName, shard)) {
+        int lockedShard = shard;
+        long renewalInterval = lease.toMillis() / 3;
+        ScheduledFuture<?> renewal = leaseRenewal.scheduleAtFixedRate(
+          () -> renew(jobName, lockedShard),
+          renewalInterval,
+          renewalInterval,
+          TimeUnit.MILLISECONDS
+        );
+        try {
+          work.accept(shards.get(shard));
+          processedShards++;
+        } finally {
+          renewal.cancel(false);
+          unlock(jobName, shard);
+        }
+      } else {
+        log.info("Shard {} of job {} is locked by another run.", shard, jobName);
+      }
+    }
+    return processedShards;
+  }
+
+  private boolean tryLock(String jobName, int shard) {
+    return SchemaContextHolder.callInSchema(SchemaType.ADM, () ->
+      !jdbcTemplate
+        .queryForList(
+          """
+          INSERT INTO scheduled_job_lock (job_name, shard, locked_at, locked_until, locked_by)
+          VALUES (?, ?, now(), now() + ?::interval, ?)
+          ON CONFLICT (job_name, shard) DO UPDATE
+          SET locked_at = EXCLUDED.locked_at, locked_until = EXCLUDED.locked_until,
+              locked_by = EXCLUDED.locked_by
+          WHERE scheduled_job_lock.locked_until < now()
+          RETURNING shard
+          """,
+          Integer.class,
+          jobName,
+          shard,
+          lease.toString(),
+          instanceId
+        )
+        .isEmpty()
+    );
+  }
+
+  /**
+   * Extends the lease of a running job. The lock is never shortened, e.g. by a renewal racing with
+   * {@link #unlock}. Exceptions are logged only, the lease is renewed several times before it expires.
+   */
+  private void renew(String jobName, int shard) {
+    try {
+      SchemaContextHolder.runInSchema(SchemaType.ADM, () ->
+        jdbcTemplate.update(
+          """
+          UPDATE scheduled_job_lock SET locked_until = greatest(locked_until, now() + ?::interval)
+          WHERE job_name = ? AND shard = ? AND locked_by = ?
+          """,
+          lease.toString(),
+          jobName,
+          shard,
+          instanceId
+        )
+      );
+    } catch (RuntimeException e) {
+      log.warn("Could not renew the lock of shard {} of job {}.", shard, jobName, e);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    leaseRenewal.shutdownNow();
+  }
+
+  /**
+   * Keeps the lock until the minimum hold after the start of the run has passed, so that a later start of
+   * the same run on another instance is skipped.
+   */
+  private void unlock(String jobName, int shard) {
+    SchemaContextHolder.runInSchema(SchemaType.ADM, () ->
+      jdbcTemplate.update(
+        """
+        UPDATE scheduled_job_lock
+        SET locked_until = greatest(now(), locked_at + ?::interval), last_run_at = now()
+        WHERE job_name = ? AND shard = ? AND locked_by = ?
+        """,
+        minHold.toString(),
+        jobName,
+        shard,
+        instanceId
+      )
+    );
+  }
+}
@@ -37,9 +37,16 @@ public class SecurityConfiguration {
       .authorizeHttpRequests(authorize ->
         authorize
           // --- PUBLIC ENDPOINTS ---
-          .requestMatchers("/actuator/**", "/api/swagger-ui/**", "/environment")
+          .requestMatchers(
+            "/actuator/health",
+            "/actuator/health/**",
+            "/api/swagger-ui/**",
+            "/environment"
+          )
           .permitAll()
           // --- SECURED ENDPOINTS ---
+          .requestMatchers("/actuator/metrics", "/actuator/metrics/**")
+          .hasAnyRole("adm_user", "literature_user")
           .requestMatchers("/api/adm/**")
           .hasRole("adm_user")
           .requestMatchers("/api/literature/**")
@@ -51,10 +58,15 @@ public class SecurityConfiguration {
           .denyAll()
       )
       .exceptionHandling(configurer ->
-        configurer.defaultAuthenticationEntryPointFor(
-          new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
-          PathPatternRequestMatcher.withDefaults().matcher("/api/**")
-        )
+        configurer
+          .defaultAuthenticationEntryPointFor(
+            new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+            PathPatternRequestMatcher.withDefaults().matcher("/api/**")
+          )
+          .defaultAuthenticationEntryPointFor(
+            new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+            PathPatternRequestMatcher.withDefaults().matcher("/actuator/**")
+          )
       )
       .oauth2ResourceServer(oauth2 ->
         oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(customJwtAuthenticationConverter()))
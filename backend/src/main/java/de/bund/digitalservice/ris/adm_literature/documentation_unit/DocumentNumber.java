@@ -1,6 +1,5 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 
-import java.text.DecimalFormat;
 import java.time.Year;
 
 /**
@@ -11,7 +10,6 @@ import java.time.Year;
  * @param latestNumber The last persisted number for this series, or null if none exists (6-digits).
  */
 public record DocumentNumber(String prefix, Year year, String latestNumber) {
-  private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("000000");
   private static final String VALID_DOCUMENT_NUMBER_PATTERN = "[A-Z]{4}\\d{10}";
 
   /**
@@ -21,21 +19,42 @@ public record DocumentNumber(String prefix, Year year, String latestNumber) {
    * @throws IllegalArgumentException if the latestNumber does not match the expected prefix and year.
    */
   public String create() {
-    String fullPrefix = prefix() + year().getValue();
-    int number = 0;
+    return format(latestSequenceNumber() + 1);
+  }
 
-    if (latestNumber() != null) {
-      if (!latestNumber().startsWith(fullPrefix)) {
-        throw new IllegalArgumentException(
-          "Invalid last document number: " + latestNumber() + " does not match prefix " + fullPrefix
-        );
-      }
-      if (!latestNumber().matches(VALID_DOCUMENT_NUMBER_PATTERN)) {
-        throw new IllegalArgumentException("Invalid last document number: " + latestNumber());
-      }
-      number = Integer.parseInt(latestNumber().substring(fullPrefix.length()));
+  /**
+   * Returns the sequence number of the latest number of the series, i.e. its last six digits.
+   *
+   * @return The sequence number of the latest number, 0 if there is no latest number
+   * @throws IllegalArgumentException if the latestNumber does not match the expected prefix and year.
+   */
+  public int latestSequenceNumber() {
+    if (latestNumber() == null) {
+      return 0;
+    }
+    String fullPrefix = fullPrefix();
+    if (!latestNumber().startsWith(fullPrefix)) {
+      throw new IllegalArgumentException(
+        "Invalid last document number: " + latestNumber() + " does not match prefix " + fullPrefix
+      );
+    }
+    if (!latestNumber().matches(VALID_DOCUMENT_NUMBER_PATTERN)) {
+      throw new IllegalArgumentException("Invalid last document number: " + latestNumber());
     }
+    return Integer.parseInt(latestNumber().substring(fullPrefix.length()));
+  }
+
+  /**
+   * Formats the document number of the series with the given sequence number.
+   *
+   * @param sequenceNumber The sequence number, e.g. {@code 42}
+   * @return The document number, e.g. {@code KSNR2025000042}
+   */
+  public String format(int sequenceNumber) {
+    return fullPrefix() + "%06d".formatted(sequenceNumber);
+  }
 
-    return fullPrefix + DECIMAL_FORMAT.format(++number);
+  private String fullPrefix() {
+    return prefix() + year().getValue();
   }
 }
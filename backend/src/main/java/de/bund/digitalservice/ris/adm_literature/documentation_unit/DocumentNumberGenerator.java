@@ -0,0 +1,69 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import jakarta.annotation.Nonnull;
+import java.time.Year;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the document numbers of new documentation units.
+ * <p>
+ * The numbers are reserved in blocks of {@code documentation-unit.document-number.block-size} per series
+ * (see {@link DocumentNumberRepository#reserve}) and handed out from memory, so that concurrent creations,
+ * e.g. at the beginning of a year or during imports, neither lock the series for the duration of their
+ * transactions nor fail and retry because of unique constraint violations. The numbers of a series are
+ * ascending per instance, but not gapless: numbers of other instances interleave, and the numbers left in
+ * a block on shutdown and of rolled back creations are never used.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class DocumentNumberGenerator {
+
+  private final DocumentNumberRepository documentNumberRepository;
+  private final Map<Series, Block> blocks = new ConcurrentHashMap<>();
+
+  @Value("${documentation-unit.document-number.block-size:10}")
+  private int blockSize;
+
+  /**
+   * Returns the next document number of the given series of the current schema.
+   *
+   * @param prefix The prefix of the series, e.g. {@code KSNR}
+   * @param year   The year of the series
+   * @return The document number, e.g. {@code KSNR2025000001}
+   */
+  String next(@Nonnull String prefix, @Nonnull Year year) {
+    Series series = new Series(SchemaContextHolder.getSchema(), prefix, year);
+    Block block = blocks.computeIfAbsent(series, _ -> new Block());
+    synchronized (block) {
+      DocumentNumber documentNumber = new DocumentNumber(prefix, year, null);
+      if (block.next > block.last) {
+        String latest = documentNumberRepository.reserve(documentNumber, blockSize);
+        block.last = new DocumentNumber(prefix, year, latest).latestSequenceNumber();
+        block.next = block.last - blockSize + 1;
+        log.debug("Reserved document numbers up to {}.", latest);
+      }
+      return documentNumber.format(block.next++);
+    }
+  }
+
+  private record Series(SchemaType schema, String prefix, Year year) {}
+
+  /**
+   * Reserved sequence numbers of a series, from {@code next} to {@code last}. Empty if {@code next} is
+   * greater than {@code last}.
+   */
+  private static final class Block {
+
+    private int next = 1;
+    private int last = 0;
+  }
+}
@@ -1,20 +1,54 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 
 import jakarta.annotation.Nonnull;
-import jakarta.persistence.LockModeType;
 import java.time.Year;
-import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC repository for the table {@code document_number}, which holds the latest reserved document number of
+ * each series, i.e. of each prefix and year.
+ */
+@Repository
+@RequiredArgsConstructor
+class DocumentNumberRepository {
+
+  private final JdbcTemplate jdbcTemplate;
 
-interface DocumentNumberRepository extends JpaRepository<DocumentNumberEntity, UUID> {
   /**
-   * Finds the current document number by the given year. The operation creates a pessimistic lock for the found
-   * entity, so that concurrent threads have to wait until the transaction completes.
-   * @param year The year the document number belongs to
-   * @return Document number with the given year or an empty optional if not found
+   * Reserves the given number of document numbers of a series with a single statement. The first
+   * reservation of a series creates it. Concurrent reservations of the same series wait for each other,
+   * but never fail because of a unique constraint violation.
+   * <p>
+   * The reservation is committed in a new transaction, so that the row of the series is locked only
+   * briefly and the reserved numbers are never handed out twice, even if the transaction which uses them
+   * is rolled back.
+   * </p>
+   *
+   * @param documentNumber The series, the latest number is ignored
+   * @param count          The number of document numbers to reserve
+   * @return The latest document number of the series, which is the last reserved one
    */
-  @Lock(LockModeType.PESSIMISTIC_WRITE)
-  Optional<DocumentNumberEntity> findByPrefixAndYear(@Nonnull String prefix, @Nonnull Year year);
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  String reserve(@Nonnull DocumentNumber documentNumber, int count) {
+    return jdbcTemplate.queryForObject(
+      """
+      INSERT INTO document_number (id, prefix, year, latest) VALUES (?, ?, ?, ?)
+      ON CONFLICT (prefix, year) DO UPDATE
+      SET latest = document_number.prefix || document_number.year::text ||
+                   to_char(right(document_number.latest, 6)::integer + ?, 'FM000000')
+      RETURNING latest
+      """,
+      String.class,
+      UUID.randomUUID(),
+      documentNumber.prefix(),
+      documentNumber.year().getValue(),
+      documentNumber.format(count),
+      count
+    );
+  }
 }
@@ -14,14 +14,27 @@ import java.util.UUID;
  *                           can be {@code null} for migrated documentation units
  * @param xml                The xml, can be {@code null} for new documentation units
  * @param administrativeData Administrative data for the documentation unit
+ * @param version            The version of the documentation unit, which is increased with each change. It is
+ *                           returned as entity tag, see {@link DocumentationUnitETags}.
  */
 public record DocumentationUnit(
   @Nonnull String documentNumber,
   @Nonnull UUID id,
   @JsonRawValue String json,
   @JsonIgnore String xml,
-  AdministrativeData administrativeData
+  AdministrativeData administrativeData,
+  @JsonIgnore long version
 ) {
+  public DocumentationUnit(
+    @Nonnull String documentNumber,
+    @Nonnull UUID id,
+    String json,
+    String xml,
+    AdministrativeData administrativeData
+  ) {
+    this(documentNumber, id, json, xml, administrativeData, 0);
+  }
+
   public DocumentationUnit(@Nonnull String documentNumber, @Nonnull UUID id, String json) {
     this(documentNumber, id, json, null, new AdministrativeData(null, null));
   }
@@ -41,7 +54,8 @@ public record DocumentationUnit(
       documentationUnit.id,
       json,
       null,
-      documentationUnit.administrativeData
+      documentationUnit.administrativeData,
+      documentationUnit.version
     );
   }
 
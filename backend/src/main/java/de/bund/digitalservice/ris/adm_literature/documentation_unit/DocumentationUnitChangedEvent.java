@@ -0,0 +1,13 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+
+/**
+ * Application event published when a documentation unit is updated or published. Transactional listeners
+ * receive the event after the commit.
+ *
+ * @param schema The schema of the documentation unit
+ * @param documentCategory The category of the documentation unit
+ */
+record DocumentationUnitChangedEvent(SchemaType schema, DocumentCategory documentCategory) {}
@@ -2,6 +2,7 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import java.time.Year;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,30 +12,15 @@ import org.springframework.transaction.annotation.Transactional;
 class DocumentationUnitCreationService {
 
   private final DocumentationUnitRepository documentationUnitRepository;
-  private final DocumentNumberRepository documentNumberRepository;
+  private final DocumentNumberGenerator documentNumberGenerator;
 
   @Transactional
-  // 1. Create or update the document number for this year and docOffice documentCategory
   public DocumentationUnit create(DocumentationOffice office, DocumentCategory documentCategory) {
-    Year thisYear = Year.now();
-    String prefix = office.prefix + documentCategory.getPrefix();
-    // 1. Create or update the document number for this year
-    DocumentNumberEntity documentNumberEntity = documentNumberRepository
-      .findByPrefixAndYear(prefix, thisYear)
-      .orElseGet(() -> {
-        DocumentNumberEntity newDocumentNumberEntity = new DocumentNumberEntity();
-        newDocumentNumberEntity.setYear(thisYear);
-        newDocumentNumberEntity.setPrefix(prefix);
-        return newDocumentNumberEntity;
-      });
-    DocumentNumber documentNumber = new DocumentNumber(
-      prefix,
-      thisYear,
-      documentNumberEntity.getLatest()
+    // 1. Take the next document number for this year, office and document category
+    String newDocumentNumber = documentNumberGenerator.next(
+      office.prefix + documentCategory.getPrefix(),
+      Year.now()
     );
-    String newDocumentNumber = documentNumber.create();
-    documentNumberEntity.setLatest(newDocumentNumber);
-    documentNumberRepository.save(documentNumberEntity);
     // 2. Create the documentation unit with the created document number
     DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
     documentationUnitEntity.setDocumentNumber(newDocumentNumber);
@@ -43,4 +29,35 @@ class DocumentationUnitCreationService {
     DocumentationUnitEntity saved = documentationUnitRepository.save(documentationUnitEntity);
     return new DocumentationUnit(saved.getDocumentNumber(), saved.getId(), null);
   }
+
+  /**
+   * Creates documentation units with the given content and new document numbers. The documentation units
+   * are inserted in JDBC batches.
+   *
+   * @param office The documentation office of the documentation units
+   * @param items  The items to import, which must be valid
+   * @return The created documentation unit entities in the order of the items
+   */
+  @Transactional
+  public List<DocumentationUnitEntity> createAll(
+    DocumentationOffice office,
+    List<DocumentationUnitImportItem> items
+  ) {
+    Year thisYear = Year.now();
+    List<DocumentationUnitEntity> documentationUnitEntities = items
+      .stream()
+      .map(item -> {
+        DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+        documentationUnitEntity.setDocumentNumber(
+          documentNumberGenerator.next(office.prefix + item.category().getPrefix(), thisYear)
+        );
+        documentationUnitEntity.setDocumentationUnitType(item.category());
+        documentationUnitEntity.setDocumentationOffice(office);
+        documentationUnitEntity.setJson(item.json() == null ? null : item.json().toString());
+        documentationUnitEntity.setXml(item.xml());
+        return documentationUnitEntity;
+      })
+      .toList();
+    return documentationUnitRepository.saveAll(documentationUnitEntities);
+  }
 }
@@ -0,0 +1,87 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.http.ETag;
+
+/**
+ * Strong entity tags (ETags) of documentation units, which are derived from the version of the documentation
+ * unit. Other than a hash of the response body they can be compared without reading the content, so that a
+ * conditional request only needs to read the version.
+ */
+public final class DocumentationUnitETags {
+
+  private DocumentationUnitETags() {}
+
+  /**
+   * Returns the entity tag of the given version.
+   *
+   * @param version The version of the documentation unit
+   * @return The quoted entity tag, e.g. {@code "3"}
+   */
+  public static String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Returns whether the value of an {@code If-None-Match} header matches the given version. As defined by
+   * RFC 9110, the entity tags are compared weakly.
+   *
+   * @param ifNoneMatch The header value, a list of entity tags or {@code *}
+   * @param version     The current version of the documentation unit
+   * @return {@code true} if the header matches, i.e. the client has the current version
+   */
+  public static boolean matchesIfNoneMatch(@Nonnull String ifNoneMatch, long version) {
+    return matches(ifNoneMatch, version, false);
+  }
+
+  /**
+   * Checks the value of an {@code If-Match} header against the given version. As defined by RFC 9110, the
+   * entity tags are compared strongly.
+   *
+   * @param ifMatch The header value, a list of entity tags or {@code *}, {@code null} if not given
+   * @param version The current version of the documentation unit
+   * @throws VersionMismatchException if the header is given and does not match the version
+   */
+  public static void checkIfMatch(@Nullable String ifMatch, long version) {
+    if (ifMatch != null && !matches(ifMatch, version, true)) {
+      throw new VersionMismatchException(of(version));
+    }
+  }
+
+  /**
+   * Returns the versions matched by the value of an {@code If-Match} header, so that the header can be
+   * checked by the statement which updates the documentation unit. Like {@link #checkIfMatch(String, long)}
+   * the entity tags are compared strongly, weak and unknown entity tags do not match any version.
+   *
+   * @param ifMatch The header value, a list of entity tags or {@code *}, {@code null} if not given
+   * @return The matched versions or an empty optional, if the header is not given or matches any version
+   */
+  public static Optional<List<Long>> versionsOfIfMatch(@Nullable String ifMatch) {
+    if (ifMatch == null) {
+      return Optional.empty();
+    }
+    List<ETag> eTags = ETag.parse(ifMatch);
+    if (eTags.stream().anyMatch(ETag::isWildcard)) {
+      return Optional.empty();
+    }
+    return Optional.of(
+      eTags
+        .stream()
+        .filter(eTag -> !eTag.weak() && NumberUtils.isDigits(eTag.tag()))
+        .map(eTag -> NumberUtils.toLong(eTag.tag(), -1))
+        .filter(version -> version >= 0)
+        .toList()
+    );
+  }
+
+  private static boolean matches(String header, long version, boolean strong) {
+    ETag eTag = new ETag(Long.toString(version), false);
+    return ETag.parse(header)
+      .stream()
+      .anyMatch(other -> other.isWildcard() || eTag.compare(other, strong));
+  }
+}
@@ -5,9 +5,22 @@ import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.Doc
 import jakarta.persistence.*;
 import java.util.UUID;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Documentation unit JPA entity.
+ * <p>
+ * The content columns {@code json} and {@code xml} are loaded lazily with bytecode enhancement, so that
+ * loading the entity for its identity, e.g. as referenced entity of notes, references or index entries, does
+ * not read the possibly large content. Queries which need the content fetch it explicitly, see the entity
+ * graphs of {@link DocumentationUnitRepository}. The content is excluded from {@code equals},
+ * {@code hashCode} and {@code toString}, which must not load it.
+ * </p>
+ * <p>
+ * The version is increased by each update of the entity and protects against lost updates of concurrent
+ * transactions. It is the entity tag of the documentation unit in the REST API.
+ * </p>
  */
 @Entity
 @Data
@@ -21,10 +34,14 @@ public class DocumentationUnitEntity {
   @Basic(optional = false)
   private String documentNumber;
 
-  @Basic
+  @Basic(fetch = FetchType.LAZY)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private String json;
 
-  @Basic
+  @Basic(fetch = FetchType.LAZY)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private String xml;
 
   @Enumerated(EnumType.STRING)
@@ -36,6 +53,9 @@ public class DocumentationUnitEntity {
   @Column(name = "documentation_office")
   private DocumentationOffice documentationOffice;
 
+  @Version
+  private long version;
+
   @OneToOne(mappedBy = "documentationUnit")
   private DocumentationUnitIndexEntity documentationUnitIndex;
 
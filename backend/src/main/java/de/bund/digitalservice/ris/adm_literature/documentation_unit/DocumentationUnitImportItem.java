@@ -0,0 +1,14 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * A documentation unit to be imported, one line of the NDJSON body of an import. Either {@code json} or
+ * {@code xml} is given.
+ *
+ * @param category The document category of the documentation unit
+ * @param json     The json of a draft documentation unit, like the body of an update
+ * @param xml      The LDML of a published documentation unit
+ */
+public record DocumentationUnitImportItem(DocumentCategory category, JsonNode json, String xml) {}
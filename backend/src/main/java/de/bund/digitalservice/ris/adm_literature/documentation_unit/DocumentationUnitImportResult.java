@@ -0,0 +1,34 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * The result of importing a single documentation unit, one line of the NDJSON response of an import. Either
+ * {@code documentNumber} and {@code id} of the created documentation unit or {@code error} is set.
+ *
+ * @param line           The line of the imported item in the request body, starting with 1
+ * @param documentNumber The document number of the created documentation unit
+ * @param id             The id of the created documentation unit
+ * @param error          The reason why the item has not been imported
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DocumentationUnitImportResult(
+  int line,
+  String documentNumber,
+  UUID id,
+  String error
+) {
+  static DocumentationUnitImportResult created(int line, DocumentationUnit documentationUnit) {
+    return new DocumentationUnitImportResult(
+      line,
+      documentationUnit.documentNumber(),
+      documentationUnit.id(),
+      null
+    );
+  }
+
+  static DocumentationUnitImportResult failed(int line, String error) {
+    return new DocumentationUnitImportResult(line, null, null, error);
+  }
+}
@@ -0,0 +1,248 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.CountKey;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexUpdatedEvent;
+import de.bund.digitalservice.ris.adm_literature.page.Page;
+import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Short-lived cache of the overview pages of documentation units, keyed by the schema, the normalized query
+ * and the query options. Editors request the same overview pages repeatedly, e.g. the first page with the
+ * default sort after each navigation back to the overview.
+ * <p>
+ * The cache holds at most {@code documentation-unit.overview.cache.max-size} pages, the least recently used
+ * page is evicted first. Pages expire after {@code documentation-unit.overview.cache.ttl}. A maximum size of
+ * {@code 0} disables the cache.
+ * </p>
+ * <p>
+ * Pages are invalidated after the commit of changes which may change them: updating or publishing a
+ * documentation unit (see {@link DocumentationUnitChangedEvent}) and updating the index (see
+ * {@link DocumentationUnitIndexUpdatedEvent}). Only the pages of the schema of the changed documentation
+ * units are invalidated, and of the overviews of published documentation units only the ones of the changed
+ * categories. Pages read while an invalidation happens are not cached.
+ * </p>
+ * <p>
+ * The cache is local to the instance and the invalidations are only triggered by changes of the same
+ * instance. Changes committed by other instances, e.g. saves on another replica or index updates of the
+ * outbox job running there, are only seen once the cached page has expired: pages are stale for at most
+ * {@code documentation-unit.overview.cache.ttl}. Searches with {@code readYourWrites} therefore bypass the
+ * cache.
+ * </p>
+ * <p>
+ * The Micrometer metrics follow the conventions of cache metrics and are tagged with
+ * {@code cache=documentationUnitOverview}:
+ * </p>
+ * <ul>
+ *   <li>{@code cache.gets}: counter of hits and misses, tagged by {@code result}</li>
+ *   <li>{@code cache.hit.ratio}: gauge with the ratio of hits of all gets</li>
+ *   <li>{@code cache.puts}: counter of cached pages</li>
+ *   <li>{@code cache.evictions}: counter of removed pages, tagged by {@link EvictionCause cause}</li>
+ *   <li>{@code cache.size}: gauge with the number of cached pages</li>
+ * </ul>
+ */
+@Component
+class DocumentationUnitOverviewCache {
+
+  private static final String CACHE_NAME = "documentationUnitOverview";
+
+  /**
+   * Causes of removing pages from the cache.
+   */
+  enum EvictionCause {
+    /** The maximum size was reached */
+    SIZE,
+    /** The page was older than the time to live */
+    EXPIRED,
+    /** A change may have changed the page */
+    INVALIDATED,
+  }
+
+  private final Duration ttl;
+  private final int maxSize;
+  private final Map<Key, CachedPage> cachedPages;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder puts = new LongAdder();
+  private final Map<EvictionCause, LongAdder> evictions = new EnumMap<>(EvictionCause.class);
+
+  /**
+   * Incremented by each invalidation, guarded by {@link #cachedPages}. A page is only cached if no
+   * invalidation happened while it was read.
+   */
+  private long generation;
+
+  DocumentationUnitOverviewCache(
+    MeterRegistry meterRegistry,
+    @Value("${documentation-unit.overview.cache.ttl:PT10S}") Duration ttl,
+    @Value("${documentation-unit.overview.cache.max-size:500}") int maxSize
+  ) {
+    this.ttl = ttl;
+    this.maxSize = maxSize;
+    this.cachedPages = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, CachedPage> eldest) {
+        if (size() > maxSize) {
+          evictions.get(EvictionCause.SIZE).increment();
+          return true;
+        }
+        return false;
+      }
+    };
+    for (EvictionCause cause : EvictionCause.values()) {
+      LongAdder evicted = new LongAdder();
+      evictions.put(cause, evicted);
+      FunctionCounter.builder("cache.evictions", evicted, LongAdder::sum)
+        .tag("cache", CACHE_NAME)
+        .tag("cause", cause.name().toLowerCase(Locale.ROOT))
+        .register(meterRegistry);
+    }
+    FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+      .tag("cache", CACHE_NAME)
+      .tag("result", "hit")
+      .register(meterRegistry);
+    FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+      .tag("cache", CACHE_NAME)
+      .tag("result", "miss")
+      .register(meterRegistry);
+    FunctionCounter.builder("cache.puts", puts, LongAdder::sum)
+      .tag("cache", CACHE_NAME)
+      .register(meterRegistry);
+    Gauge.builder("cache.hit.ratio", this, DocumentationUnitOverviewCache::hitRatio)
+      .description("Ratio of hits of all gets of the overview cache")
+      .tag("cache", CACHE_NAME)
+      .register(meterRegistry);
+    Gauge.builder("cache.size", this, DocumentationUnitOverviewCache::size)
+      .tag("cache", CACHE_NAME)
+      .register(meterRegistry);
+  }
+
+  /**
+   * Returns the cached page of the given query or reads and caches it with the given loader.
+   *
+   * @param query The normalized query of the current schema
+   * @param queryOptions The options of the query, e.g. the requested page and sort
+   * @param loader Reads the page if it is not cached
+   * @return The page
+   * @param <R> Type of the page elements
+   */
+  @SuppressWarnings("unchecked")
+  <R> Page<R> get(
+    @Nonnull CountKey query,
+    @Nonnull QueryOptions queryOptions,
+    @Nonnull Supplier<Page<R>> loader
+  ) {
+    if (maxSize <= 0) {
+      return loader.get();
+    }
+    Key key = new Key(query, queryOptions);
+    long loadGeneration;
+    synchronized (cachedPages) {
+      CachedPage cachedPage = cachedPages.get(key);
+      if (cachedPage != null && !cachedPage.isExpired(System.nanoTime())) {
+        hits.increment();
+        return (Page<R>) cachedPage.page();
+      }
+      if (cachedPage != null) {
+        cachedPages.remove(key);
+        evictions.get(EvictionCause.EXPIRED).increment();
+      }
+      loadGeneration = generation;
+    }
+    misses.increment();
+    Page<R> page = loader.get();
+    synchronized (cachedPages) {
+      if (generation == loadGeneration) {
+        cachedPages.put(key, new CachedPage(page, System.nanoTime() + ttl.toNanos()));
+        puts.increment();
+      }
+    }
+    return page;
+  }
+
+  /**
+   * Invalidates the pages which may contain the changed documentation unit.
+   *
+   * @param event The change of the documentation unit
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onDocumentationUnitChanged(@Nonnull DocumentationUnitChangedEvent event) {
+    invalidate(
+      event.schema(),
+      event.documentCategory() == null
+        ? Set.of(DocumentCategory.values())
+        : Set.of(event.documentCategory())
+    );
+  }
+
+  /**
+   * Invalidates the pages which may contain documentation units with updated index entries.
+   *
+   * @param event The update of the index
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onIndexUpdated(@Nonnull DocumentationUnitIndexUpdatedEvent event) {
+    invalidate(event.schema(), event.documentCategories());
+  }
+
+  /**
+   * Invalidates the pages of the given schema which may contain documentation units of the given categories:
+   * the pages of overviews of all documentation units of the schema and the pages of overviews of published
+   * documentation units of one of the categories.
+   *
+   * @param schema The schema
+   * @param documentCategories The categories of the changed documentation units
+   */
+  void invalidate(SchemaType schema, @Nonnull Set<DocumentCategory> documentCategories) {
+    synchronized (cachedPages) {
+      generation++;
+      int size = cachedPages.size();
+      cachedPages.keySet().removeIf(key -> key.isAffected(schema, documentCategories));
+      evictions.get(EvictionCause.INVALIDATED).add(size - cachedPages.size());
+    }
+  }
+
+  private double hitRatio() {
+    long gets = hits.sum() + misses.sum();
+    return gets == 0 ? 0.0 : (double) hits.sum() / gets;
+  }
+
+  private int size() {
+    synchronized (cachedPages) {
+      return cachedPages.size();
+    }
+  }
+
+  private record Key(CountKey query, QueryOptions queryOptions) {
+    private boolean isAffected(SchemaType schema, Set<DocumentCategory> documentCategories) {
+      return (
+        Objects.equals(query.schema(), schema) &&
+        (query.publishedCategory() == null ||
+          documentCategories.contains(query.publishedCategory()))
+      );
+    }
+  }
+
+  private record CachedPage(Page<?> page, long expiresAt) {
+    private boolean isExpired(long now) {
+      return now - expiresAt >= 0;
+    }
+  }
+}
@@ -0,0 +1,523 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.page.CountStrategy;
+import jakarta.annotation.Nonnull;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Repository for the overview pages of documentation units. The overviews only select the
+ * {@link DocumentationUnitOverviewRow read model} from {@code documentation_unit} and
+ * {@code documentation_unit_index}, so that the potentially large json and xml columns are never read.
+ * <p>
+ * The total number of elements is determined with a {@link CountStrategy} instead of always counting
+ * exactly. A page which is not counted exactly is read with one element more than requested, so that it is
+ * known whether a next page exists without counting. Counted totals are cached per normalized query for
+ * {@code documentation-unit.overview.count-cache-ttl}.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+class DocumentationUnitOverviewRepository {
+
+  /**
+   * Maximum number of cached counts, expired counts are removed when it is reached.
+   */
+  private static final int MAX_CACHED_COUNTS = 1000;
+
+  private static final String DOCUMENT_NUMBER = "documentNumber";
+  private static final String INDEX_PREFIX = "documentationUnitIndex.";
+
+  /**
+   * Position of the sort key in the selected tuples of keyset queries, after the columns of the read model.
+   */
+  private static final int SORT_KEY = 10;
+
+  private final EntityManager entityManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final DocumentationUnitRepository documentationUnitRepository;
+  private final ObjectMapper objectMapper;
+  private final Map<CountKey, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+  @Value("${documentation-unit.overview.count-cache-ttl:PT30S}")
+  private Duration countCacheTtl;
+
+  @Value("${documentation-unit.export.fetch-size:500}")
+  private int exportFetchSize;
+
+  /**
+   * Reads the requested page of the documentation units matching the given specification and counts them
+   * exactly. The count query is skipped if the total number of elements is known from the page itself.
+   *
+   * @param specification The specification of the documentation units
+   * @param pageable The requested page and its sort, or unpaged
+   * @return Page with the overview rows
+   */
+  Page<DocumentationUnitOverviewRow> findPage(
+    @Nonnull Specification<DocumentationUnitEntity> specification,
+    @Nonnull Pageable pageable
+  ) {
+    List<DocumentationUnitOverviewRow> content = select(
+      specification,
+      pageable.getSort(),
+      null,
+      pageable.isPaged() ? pageable.getOffset() : 0,
+      pageable.isPaged() ? pageable.getPageSize() : null
+    );
+    return PageableExecutionUtils.getPage(content, pageable, () ->
+      documentationUnitRepository.count(specification)
+    );
+  }
+
+  /**
+   * Reads the requested page of the documentation units matching the given specification, without
+   * counting them.
+   *
+   * @param specification The specification of the documentation units
+   * @param pageable The requested page and its sort
+   * @return Slice with the overview rows
+   */
+  Slice<DocumentationUnitOverviewRow> findSlice(
+    @Nonnull Specification<DocumentationUnitEntity> specification,
+    @Nonnull Pageable pageable
+  ) {
+    List<DocumentationUnitOverviewRow> content = select(
+      specification,
+      pageable.getSort(),
+      null,
+      pageable.getOffset(),
+      pageable.getPageSize() + 1
+    );
+    boolean hasNext = content.size() > pageable.getPageSize();
+    return new SliceImpl<>(
+      hasNext ? content.subList(0, pageable.getPageSize()) : content,
+      pageable,
+      hasNext
+    );
+  }
+
+  /**
+   * Reads the documentation units matching the given specification after the given keyset position. The
+   * documentation units are ordered by the given property and by document number, which makes the order
+   * unique. Nulls are ordered like Postgres does by default: last in ascending and first in descending order.
+   *
+   * @param specification The specification of the documentation units
+   * @param sortProperty The property to sort by
+   * @param direction The sort direction
+   * @param position The position to continue after, initial for the first window
+   * @param limit The maximum number of documentation units of the window
+   * @return Window with the overview rows and their keyset positions
+   * @throws ResponseStatusException with status 400 if the position does not match the sort
+   */
+  Window<DocumentationUnitOverviewRow> findWindow(
+    @Nonnull Specification<DocumentationUnitEntity> specification,
+    @Nonnull String sortProperty,
+    @Nonnull Sort.Direction direction,
+    @Nonnull KeysetScrollPosition position,
+    int limit
+  ) {
+    String sortKeyProperty = DOCUMENT_NUMBER.equals(sortProperty) ? null : sortProperty;
+    Sort sort = sortKeyProperty == null
+      ? Sort.by(direction, DOCUMENT_NUMBER)
+      : Sort.by(direction, sortKeyProperty, DOCUMENT_NUMBER);
+    if (!position.isInitial()) {
+      Map<String, Object> keys = position.getKeys();
+      Set<String> sortProperties = sort
+        .stream()
+        .map(Sort.Order::getProperty)
+        .collect(Collectors.toSet());
+      // All sort keys are text, a key of another type can only come from a manipulated cursor
+      Object lastSortKey = sortKeyProperty == null ? null : keys.get(sortKeyProperty);
+      if (
+        !keys.keySet().equals(sortProperties) ||
+        !(keys.get(DOCUMENT_NUMBER) instanceof String lastDocumentNumber) ||
+        (lastSortKey != null && !(lastSortKey instanceof String))
+      ) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+      }
+      specification = specification.and(
+        new KeysetSpecification(
+          sortKeyProperty,
+          (String) lastSortKey,
+          lastDocumentNumber,
+          direction.isAscending()
+        )
+      );
+    }
+    List<Tuple> tuples = createQuery(specification, sort, sortKeyProperty)
+      .setMaxResults(limit + 1)
+      .getResultList();
+    boolean hasNext = tuples.size() > limit;
+    List<Tuple> content = hasNext ? tuples.subList(0, limit) : tuples;
+    return Window.from(
+      content.stream().map(DocumentationUnitOverviewRepository::toRow).toList(),
+      index -> {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (sortKeyProperty != null) {
+          keys.put(sortKeyProperty, content.get(index).get(SORT_KEY));
+        }
+        keys.put(DOCUMENT_NUMBER, content.get(index).get(1, String.class));
+        return ScrollPosition.forward(keys);
+      },
+      hasNext
+    );
+  }
+
+  /**
+   * Streams all documentation units matching the given specification. The rows are fetched from the
+   * database in chunks of {@code documentation-unit.export.fetch-size} rows while the stream is consumed,
+   * so that the memory use does not depend on the number of matching documentation units. Must be called
+   * within a transaction, otherwise the JDBC driver reads all rows at once. The stream must be closed.
+   *
+   * @param specification The specification of the documentation units
+   * @param sort The sort of the documentation units
+   * @return Stream of the overview rows
+   */
+  Stream<DocumentationUnitOverviewRow> stream(
+    @Nonnull Specification<DocumentationUnitEntity> specification,
+    @Nonnull Sort sort
+  ) {
+    return createQuery(specification, sort, null)
+      .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+      .setHint(HibernateHints.HINT_READ_ONLY, true)
+      .getResultStream()
+      .map(DocumentationUnitOverviewRepository::toRow);
+  }
+
+  private List<DocumentationUnitOverviewRow> select(
+    Specification<DocumentationUnitEntity> specification,
+    Sort sort,
+    String sortKeyProperty,
+    long firstResult,
+    Integer maxResults
+  ) {
+    TypedQuery<Tuple> query = createQuery(specification, sort, sortKeyProperty);
+    query.setFirstResult(Math.toIntExact(firstResult));
+    if (maxResults != null) {
+      query.setMaxResults(maxResults);
+    }
+    return query.getResultList().stream().map(DocumentationUnitOverviewRepository::toRow).toList();
+  }
+
+  /**
+   * Creates the query of the read model. The columns are selected by position, see {@link #toRow(Tuple)},
+   * followed by the sort key for keyset pagination, if any.
+   */
+  private TypedQuery<Tuple> createQuery(
+    Specification<DocumentationUnitEntity> specification,
+    Sort sort,
+    String sortKeyProperty
+  ) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<DocumentationUnitEntity> root = query.from(DocumentationUnitEntity.class);
+    query.where(specification.toPredicate(root, query, criteriaBuilder));
+    Join<?, ?> index = FullTextSearchSpecification.documentationUnitIndex(root);
+    Path<?> admIndex = index.get("admIndex");
+    Path<?> literatureIndex = index.get("literatureIndex");
+    List<Selection<?>> selections = new ArrayList<>(
+      List.of(
+        root.get("id"),
+        root.get(DOCUMENT_NUMBER),
+        index.get("id"),
+        index.get("fundstellen"),
+        admIndex.get("langueberschrift"),
+        admIndex.get("zitierdaten"),
+        literatureIndex.get("veroeffentlichungsjahr"),
+        literatureIndex.get("titel"),
+        literatureIndex.get("dokumenttypen"),
+        literatureIndex.get("verfasserList")
+      )
+    );
+    if (sortKeyProperty != null) {
+      selections.add(path(root, sortKeyProperty));
+    }
+    query.multiselect(selections);
+    if (sort.isSorted()) {
+      List<Order> orders = new ArrayList<>();
+      for (Sort.Order order : sort) {
+        Path<Object> path = path(root, order.getProperty());
+        orders.add(order.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path));
+      }
+      query.orderBy(orders);
+    }
+    return entityManager.createQuery(query);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static DocumentationUnitOverviewRow toRow(Tuple tuple) {
+    return new DocumentationUnitOverviewRow(
+      tuple.get(0, UUID.class),
+      tuple.get(1, String.class),
+      tuple.get(2) != null,
+      (List<String>) tuple.get(3),
+      tuple.get(4, String.class),
+      (List<String>) tuple.get(5),
+      tuple.get(6, String.class),
+      tuple.get(7, String.class),
+      (List<String>) tuple.get(8),
+      (List<String>) tuple.get(9)
+    );
+  }
+
+  /**
+   * Resolves the given property of a documentation unit, properties of the index (prefixed with
+   * {@code documentationUnitIndex.}) are resolved on the single join of the index.
+   */
+  private static Path<Object> path(Root<DocumentationUnitEntity> root, String property) {
+    Path<?> parent = root;
+    String relativeProperty = property;
+    if (property.startsWith(INDEX_PREFIX)) {
+      parent = FullTextSearchSpecification.documentationUnitIndex(root);
+      relativeProperty = property.substring(INDEX_PREFIX.length());
+    }
+    Path<Object> path = null;
+    for (String attribute : relativeProperty.split("\\.")) {
+      path = parent.get(attribute);
+      parent = path;
+    }
+    return path;
+  }
+
+  /**
+   * Counts the documentation units matching the given specification with the given strategy.
+   * {@link CountStrategy#ESTIMATED} falls back to {@link CountStrategy#CAPPED} if the query has filters,
+   * because the query planner cannot estimate substring searches reasonably.
+   *
+   * @param specification The specification of the documentation units
+   * @param countStrategy The requested strategy
+   * @param countKey The normalized query
+   * @return The total number of elements and the strategy actually used
+   */
+  Count count(
+    @Nonnull Specification<DocumentationUnitEntity> specification,
+    @Nonnull CountStrategy countStrategy,
+    @Nonnull CountKey countKey
+  ) {
+    return switch (countStrategy) {
+      case EXACT -> new Count(documentationUnitRepository.count(specification), countStrategy);
+      case ESTIMATED -> countKey.isFiltered()
+        ? count(specification, CountStrategy.CAPPED, countKey)
+        : new Count(estimate(countKey), countStrategy);
+      case CAPPED -> new Count(countCapped(specification), countStrategy);
+      case CACHED -> new Count(countCached(specification, countKey), countStrategy);
+    };
+  }
+
+  private long estimate(CountKey countKey) {
+    String plan = countKey.publishedCategory() == null
+      ? jdbcTemplate.queryForObject(
+          "EXPLAIN (FORMAT JSON) SELECT 1 FROM documentation_unit",
+          String.class
+        )
+      : jdbcTemplate.queryForObject(
+          "EXPLAIN (FORMAT JSON) SELECT 1 FROM documentation_unit WHERE documentation_unit_type = ? AND xml IS NOT NULL",
+          String.class,
+          countKey.publishedCategory().name()
+        );
+    return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+  }
+
+  /**
+   * Reads at most {@code CAPPED_LIMIT + 1} ids of matching documentation units, so that the database stops
+   * scanning as soon as the limit is exceeded.
+   */
+  private long countCapped(Specification<DocumentationUnitEntity> specification) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<UUID> query = criteriaBuilder.createQuery(UUID.class);
+    Root<DocumentationUnitEntity> root = query.from(DocumentationUnitEntity.class);
+    query.select(root.<UUID>get("id"));
+    query.where(specification.toPredicate(root, query, criteriaBuilder));
+    // Remove the order a specification might have applied, e.g. the relevance of the full-text search
+    query.orderBy(List.of());
+    return entityManager
+      .createQuery(query)
+      .setMaxResults(CountStrategy.CAPPED_LIMIT + 1)
+      .getResultList()
+      .size();
+  }
+
+  private long countCached(
+    Specification<DocumentationUnitEntity> specification,
+    CountKey countKey
+  ) {
+    long now = System.nanoTime();
+    CachedCount cachedCount = cachedCounts.get(countKey);
+    if (cachedCount != null && !cachedCount.isExpired(now)) {
+      return cachedCount.count();
+    }
+    long count = documentationUnitRepository.count(specification);
+    if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+      cachedCounts.values().removeIf(expiredCount -> expiredCount.isExpired(now));
+      if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+        cachedCounts.clear();
+      }
+    }
+    cachedCounts.put(countKey, new CachedCount(count, now + countCacheTtl.toNanos()));
+    return count;
+  }
+
+  /**
+   * Total number of elements of an overview.
+   *
+   * @param totalElements The (possibly estimated or capped) total number of elements
+   * @param countStrategy The strategy used for determining the total number of elements
+   */
+  record Count(long totalElements, @Nonnull CountStrategy countStrategy) {}
+
+  /**
+   * Normalized query of an overview, the key of cached counts.
+   *
+   * @param schema The schema of the overview
+   * @param publishedCategory Category of the published documentation units listed by the overview,
+   *                          {@code null} if the overview lists all documentation units of the schema
+   * @param filters The normalized filter values, {@code null} for unused filters
+   */
+  record CountKey(SchemaType schema, DocumentCategory publishedCategory, List<String> filters) {
+    /**
+     * Creates the key of an overview query of the current schema. The filter values are trimmed and
+     * converted to lower case, because the searches are case-insensitive.
+     *
+     * @param publishedCategory Category of the published documentation units listed by the overview,
+     *                          {@code null} if the overview lists all documentation units of the schema
+     * @param filters The filter values, strings or collections of strings
+     * @return The key
+     */
+    static CountKey of(DocumentCategory publishedCategory, Object... filters) {
+      return new CountKey(
+        SchemaContextHolder.getSchema(),
+        publishedCategory,
+        Arrays.stream(filters).map(CountKey::normalize).toList()
+      );
+    }
+
+    boolean isFiltered() {
+      return filters.stream().anyMatch(Objects::nonNull);
+    }
+
+    private static String normalize(Object filter) {
+      String value = switch (filter) {
+        case null -> null;
+        case Collection<?> values -> values
+          .stream()
+          .map(String::valueOf)
+          .sorted()
+          .collect(Collectors.joining("\n"));
+        default -> filter.toString();
+      };
+      return StringUtils.lowerCase(StringUtils.trimToNull(value), Locale.ROOT);
+    }
+  }
+
+  private record CachedCount(long count, long expiresAt) {
+    private boolean isExpired(long now) {
+      return now - expiresAt >= 0;
+    }
+  }
+
+  /**
+   * Keyset condition for the documentation units after the given sort key and document number.
+   *
+   * @param sortKeyProperty The sort property, {@code null} if sorted by document number only
+   * @param sortKey The sort key of the last documentation unit
+   * @param documentNumber The document number of the last documentation unit
+   * @param ascending {@code true} if sorted in ascending order
+   */
+  private record KeysetSpecification(
+    String sortKeyProperty,
+    String sortKey,
+    String documentNumber,
+    boolean ascending
+  )
+    implements Specification<DocumentationUnitEntity> {
+    @Override
+    public Predicate toPredicate(
+      @Nonnull Root<DocumentationUnitEntity> root,
+      CriteriaQuery<?> query,
+      @Nonnull CriteriaBuilder criteriaBuilder
+    ) {
+      Predicate afterDocumentNumber = after(
+        criteriaBuilder,
+        root.get(DOCUMENT_NUMBER),
+        documentNumber
+      );
+      if (sortKeyProperty == null) {
+        return afterDocumentNumber;
+      }
+      Path<Object> sortKeyPath = path(root, sortKeyProperty);
+      if (sortKey == null) {
+        // Nulls are last in ascending and first in descending order
+        return ascending
+          ? criteriaBuilder.and(criteriaBuilder.isNull(sortKeyPath), afterDocumentNumber)
+          : criteriaBuilder.or(
+              criteriaBuilder.isNotNull(sortKeyPath),
+              afterDocumentNumber
+            );
+      }
+      Predicate afterSortKey = ascending
+        ? criteriaBuilder.or(
+            after(criteriaBuilder, sortKeyPath, sortKey),
+            criteriaBuilder.isNull(sortKeyPath)
+          )
+        : after(criteriaBuilder, sortKeyPath, sortKey);
+      return criteriaBuilder.or(
+        afterSortKey,
+        criteriaBuilder.and(criteriaBuilder.equal(sortKeyPath, sortKey), afterDocumentNumber)
+      );
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Predicate after(CriteriaBuilder criteriaBuilder, Path<?> path, Object value) {
+      Expression<Comparable> expression = (Expression<Comparable>) path;
+      return ascending
+        ? criteriaBuilder.greaterThan(expression, (Comparable) value)
+        : criteriaBuilder.lessThan(expression, (Comparable) value);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model of a row of the documentation unit overviews: the id and document number of a documentation
+ * unit together with the indexed properties shown in the overviews. It is selected from
+ * {@code documentation_unit} and {@code documentation_unit_index} without the json and xml columns.
+ *
+ * @param id Id of the documentation unit
+ * @param documentNumber Document number of the documentation unit
+ * @param indexed {@code true} if the documentation unit has an index entry, otherwise all indexed
+ *                properties are {@code null}
+ * @param fundstellen Fundstellen
+ * @param langueberschrift Langüberschrift (adm)
+ * @param zitierdaten Zitierdaten (adm)
+ * @param veroeffentlichungsjahr Veröffentlichungsjahr (literature)
+ * @param titel Titel (literature)
+ * @param dokumenttypen Dokumenttypen (literature)
+ * @param verfasser Verfasser (literature)
+ */
+record DocumentationUnitOverviewRow(
+  UUID id,
+  String documentNumber,
+  boolean indexed,
+  List<String> fundstellen,
+  String langueberschrift,
+  List<String> zitierdaten,
+  String veroeffentlichungsjahr,
+  String titel,
+  List<String> dokumenttypen,
+  List<String> verfasser
+) {}
@@ -1,14 +1,15 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
 import de.bund.digitalservice.ris.adm_literature.config.security.UserDocumentDetails;
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.Count;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.CountKey;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitOverviewElement;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentionUnitSpecification;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.AdmIndex;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexEntity;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexOutboxService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.LiteratureIndex;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitOverviewElement;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitSpecification;
@@ -16,30 +17,48 @@ import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.U
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.UliDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.UliDocumentationUnitSpecification;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.notes.NoteService;
+import de.bund.digitalservice.ris.adm_literature.page.ContinuationToken;
+import de.bund.digitalservice.ris.adm_literature.page.CountStrategy;
 import de.bund.digitalservice.ris.adm_literature.page.Page;
 import de.bund.digitalservice.ris.adm_literature.page.PageTransformer;
 import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.StringWriter;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.resilience.annotation.Retryable;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tools.jackson.databind.JsonNode;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.ObjectMapper;
-import tools.jackson.databind.node.ObjectNode;
 
 /**
  * Persistence service for CRUD operations on documentation units
@@ -49,19 +68,27 @@ import tools.jackson.databind.node.ObjectNode;
 @RequiredArgsConstructor
 public class DocumentationUnitPersistenceService {
 
+  private static final String NOTE = "note";
+
   private final DocumentationUnitCreationService documentationUnitCreationService;
+  private final DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
   private final DocumentationUnitIndexService documentationUnitIndexService;
+  private final DocumentationUnitOverviewCache documentationUnitOverviewCache;
+  private final DocumentationUnitOverviewRepository documentationUnitOverviewRepository;
   private final DocumentationUnitRepository documentationUnitRepository;
+  private final DocumentationUnitWriteRepository documentationUnitWriteRepository;
   private final NoteService noteService;
   private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher applicationEventPublisher;
 
   /**
    * Finds a document by its id.
    * @param id The UUID
    * @return An {@link Optional} containing the found {@link DocumentationUnit}, or empty if not found.
    */
+  @Transactional(readOnly = true)
   public Optional<DocumentationUnit> findById(@Nonnull UUID id) {
-    return documentationUnitRepository.findById(id).map(mapDocumentationUnitEntity());
+    return documentationUnitRepository.findWithContentById(id).map(mapDocumentationUnitEntity());
   }
 
   /**
@@ -73,29 +100,113 @@ public class DocumentationUnitPersistenceService {
   @Transactional(readOnly = true)
   public Optional<DocumentationUnit> findByDocumentNumber(@Nonnull String documentNumber) {
     return documentationUnitRepository
-      .findByDocumentNumber(documentNumber)
+      .findWithContentByDocumentNumber(documentNumber)
       .map(mapDocumentationUnitEntity());
   }
 
+  /**
+   * Finds the version of a document by its number, without reading the document.
+   *
+   * @param documentNumber The document number
+   * @return An {@link Optional} containing the version of the found document, or empty if not found.
+   */
+  @Transactional(readOnly = true)
+  public Optional<Long> findVersionByDocumentNumber(@Nonnull String documentNumber) {
+    return documentationUnitRepository.findVersionByDocumentNumber(documentNumber);
+  }
+
+  /**
+   * Finds the documentation units with the given document numbers. The documentation units and their notes
+   * are read with one query each.
+   *
+   * @param documentNumbers The document numbers
+   * @return The found documentation units in the order of the given document numbers, document numbers
+   *         without documentation unit are skipped
+   */
+  @Transactional(readOnly = true)
+  public List<DocumentationUnit> findAllByDocumentNumbers(
+    @Nonnull Collection<String> documentNumbers
+  ) {
+    if (documentNumbers.isEmpty()) {
+      return List.of();
+    }
+    Map<String, DocumentationUnitEntity> documentationUnitEntities = documentationUnitRepository
+      .findAllByDocumentNumberIn(documentNumbers)
+      .stream()
+      .collect(Collectors.toMap(DocumentationUnitEntity::getDocumentNumber, Function.identity()));
+    Map<UUID, String> notes = noteService.findAll(documentationUnitEntities.values());
+    return documentNumbers
+      .stream()
+      .distinct()
+      .map(documentationUnitEntities::get)
+      .filter(Objects::nonNull)
+      .map(documentationUnitEntity ->
+        toDocumentationUnit(documentationUnitEntity, notes.get(documentationUnitEntity.getId()))
+      )
+      .toList();
+  }
+
   @NotNull
   private Function<DocumentationUnitEntity, DocumentationUnit> mapDocumentationUnitEntity() {
-    return documentationUnitEntity -> {
-      String json = documentationUnitEntity.getJson();
-      String note = noteService.find(documentationUnitEntity);
-      if (ObjectUtils.allNotNull(json, note)) {
-        // Notes are only added if we have JSON - reading them for already published documents is not implemented.
-        JsonNode jsonNode = objectMapper.readTree(json);
-        ((ObjectNode) jsonNode).put("note", note);
-        json = objectMapper.writeValueAsString(jsonNode);
+    return documentationUnitEntity ->
+      toDocumentationUnit(documentationUnitEntity, noteService.find(documentationUnitEntity));
+  }
+
+  private DocumentationUnit toDocumentationUnit(
+    DocumentationUnitEntity documentationUnitEntity,
+    String note
+  ) {
+    String json = documentationUnitEntity.getJson();
+    if (ObjectUtils.allNotNull(json, note)) {
+      // Notes are only added if we have JSON - reading them for already published documents is not implemented.
+      json = withNote(json, note);
+    }
+    return new DocumentationUnit(
+      documentationUnitEntity.getDocumentNumber(),
+      documentationUnitEntity.getId(),
+      json,
+      documentationUnitEntity.getXml(),
+      new AdministrativeData(documentationUnitEntity.getDocumentationUnitType(), note),
+      documentationUnitEntity.getVersion()
+    );
+  }
+
+  /**
+   * Returns the given JSON object with the given note as property {@code note}. The JSON is copied token by
+   * token from a parser to a generator instead of reading it into a tree, so that large documentation units
+   * are not held in memory twice. An existing note is replaced at its position, otherwise the note is
+   * appended as last property.
+   */
+  private String withNote(String json, String note) {
+    StringWriter stringWriter = new StringWriter(json.length() + note.length() + 16);
+    try (
+      JsonParser parser = objectMapper.createParser(json);
+      JsonGenerator generator = objectMapper.createGenerator(stringWriter)
+    ) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IllegalStateException("JSON of documentation unit is not an object");
       }
-      return new DocumentationUnit(
-        documentationUnitEntity.getDocumentNumber(),
-        documentationUnitEntity.getId(),
-        json,
-        documentationUnitEntity.getXml(),
-        new AdministrativeData(documentationUnitEntity.getDocumentationUnitType(), note)
-      );
-    };
+      generator.writeStartObject();
+      boolean noteReplaced = false;
+      while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+        String name = parser.currentName();
+        parser.nextToken();
+        generator.writeName(name);
+        if (NOTE.equals(name)) {
+          generator.writeString(note);
+          parser.skipChildren();
+          noteReplaced = true;
+        } else {
+          generator.copyCurrentStructure(parser);
+        }
+      }
+      if (!noteReplaced) {
+        generator.writeName(NOTE);
+        generator.writeString(note);
+      }
+      generator.writeEndObject();
+    }
+    return stringWriter.toString();
   }
 
   /**
@@ -104,21 +215,8 @@ public class DocumentationUnitPersistenceService {
    * @param documentCategory The document category of the documentation unit
    * @return The newly created and persisted {@link DocumentationUnit}.
    */
-  @Retryable(DataIntegrityViolationException.class)
   public DocumentationUnit create(DocumentCategory documentCategory) {
-    // Issue for the very first documentation unit of a new year: If for this year
-    // there is no
-    // document number stored, then concurrent threads can lead to an
-    // DataIntegrityViolationException due to
-    // unique constraint violation (try to persist same document number twice).
-    // In that case the creation process is retried. Note, that even though the
-    // exception is handled, there will
-    // be a warning and an error message logged by Hibernate, which cannot be avoided.
-    // The used retry template can only handle a database exception if the
-    // underlying transaction completes
-    // with a commit; therefore a secondary bean (DocumentationUnitCreationService)
-    // is used to encapsulate
-    // the transaction. This method must not have a @Transactional annotation.
+    // Document numbers are reserved in blocks outside the creating transaction, see DocumentNumberGenerator
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     UserDocumentDetails details = (UserDocumentDetails) authentication.getPrincipal();
     DocumentationUnit documentationUnit = documentationUnitCreationService.create(
@@ -132,6 +230,46 @@ public class DocumentationUnitPersistenceService {
     return documentationUnit;
   }
 
+  /**
+   * Creates documentation units with the given content and new document numbers for the authenticated
+   * user's office within a single transaction. The documentation units, their notes and their index entries
+   * are inserted in JDBC batches, so that an import does not need a request and several statements per
+   * documentation unit.
+   *
+   * @param items The items to import, which must be valid
+   * @return The created documentation units in the order of the items
+   */
+  @Transactional
+  public List<DocumentationUnit> createAll(@Nonnull List<DocumentationUnitImportItem> items) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    UserDocumentDetails details = (UserDocumentDetails) authentication.getPrincipal();
+    List<DocumentationUnitEntity> documentationUnitEntities =
+      documentationUnitCreationService.createAll(details.office(), items);
+    List<String> notes = documentationUnitEntities
+      .stream()
+      .map(documentationUnitEntity -> readNote(documentationUnitEntity.getJson()))
+      .toList();
+    Map<DocumentationUnitEntity, String> notesOfDocumentationUnits = new HashMap<>();
+    for (int i = 0; i < documentationUnitEntities.size(); i++) {
+      notesOfDocumentationUnits.put(documentationUnitEntities.get(i), notes.get(i));
+    }
+    noteService.createAll(notesOfDocumentationUnits);
+    documentationUnitIndexService.updateIndex(documentationUnitEntities);
+    documentationUnitEntities
+      .stream()
+      .map(DocumentationUnitEntity::getDocumentationUnitType)
+      .distinct()
+      .forEach(this::publishChanged);
+    log.info("Imported {} documentation units.", documentationUnitEntities.size());
+    return IntStream.range(0, documentationUnitEntities.size())
+      .mapToObj(i -> toDocumentationUnit(documentationUnitEntities.get(i), notes.get(i)))
+      .toList();
+  }
+
+  private String readNote(String json) {
+    return json == null ? null : objectMapper.readTree(json).path(NOTE).asString(null);
+  }
+
   /**
    * Updates a documentation unit by document number and returns the updated documentation unit.
    *
@@ -142,30 +280,73 @@ public class DocumentationUnitPersistenceService {
    */
   @Transactional
   public DocumentationUnit update(@Nonnull String documentNumber, @Nonnull String json) {
-    return documentationUnitRepository
-      .findByDocumentNumber(documentNumber)
-      .map(documentationUnitEntity -> {
-        documentationUnitEntity.setJson(json);
+    return update(documentNumber, json, null, true);
+  }
+
+  /**
+   * Updates a documentation unit by document number, if its version matches the given {@code If-Match}
+   * header, and returns the updated documentation unit with its new version.
+   * <p>
+   * The documentation unit is not read before: the content and the version are written with a single
+   * {@code UPDATE ... RETURNING} statement, the note with a single upsert or delete (see
+   * {@link DocumentationUnitWriteRepository} and {@link NoteService#save(UUID, String)}). Only if nothing
+   * has been updated the version is read to tell a version mismatch from an unknown document number.
+   * </p>
+   *
+   * @param documentNumber The document number to identify the documentation unit
+   * @param json           The json string to update
+   * @param ifMatch        The entity tags of the expected version, see {@link DocumentationUnitETags},
+   *                       {@code null} to update any version
+   * @param reindex        Whether the index of the documentation unit is to be updated. It can be skipped if
+   *                       it is known that no indexed property has been changed.
+   * @return The updated documentation unit or an empty optional, if there is no documentation unit
+   *         with the given document number
+   * @throws VersionMismatchException if the documentation unit has another version
+   */
+  @Transactional
+  public DocumentationUnit update(
+    @Nonnull String documentNumber,
+    @Nonnull String json,
+    @Nullable String ifMatch,
+    boolean reindex
+  ) {
+    String note = objectMapper.readTree(json).path(NOTE).asString(null);
+    List<Long> expectedVersions = DocumentationUnitETags.versionsOfIfMatch(ifMatch).orElse(null);
+    return documentationUnitWriteRepository
+      .updateJson(documentNumber, json, expectedVersions)
+      .map(updatedDocumentationUnit -> {
         log.info("Updated documentation unit with document number: {}.", documentNumber);
-        String note = objectMapper.readTree(json).path("note").asString(null);
-        noteService.save(documentationUnitEntity, note);
-        documentationUnitIndexService.updateIndex(documentationUnitEntity);
+        noteService.save(updatedDocumentationUnit.id(), note);
+        if (reindex) {
+          documentationUnitIndexOutboxService.enqueue(updatedDocumentationUnit.id());
+          publishChanged(updatedDocumentationUnit.documentationUnitType());
+        }
         return new DocumentationUnit(
           documentNumber,
-          documentationUnitEntity.getId(),
+          updatedDocumentationUnit.id(),
           json,
           null,
-          new AdministrativeData(documentationUnitEntity.getDocumentationUnitType(), note)
+          new AdministrativeData(updatedDocumentationUnit.documentationUnitType(), note),
+          updatedDocumentationUnit.version()
         );
       })
-      .orElse(null);
+      .orElseGet(() -> {
+        // Nothing updated: either the documentation unit does not exist or it has another version
+        documentationUnitRepository
+          .findVersionByDocumentNumber(documentNumber)
+          .ifPresent(version -> {
+            throw new VersionMismatchException(DocumentationUnitETags.of(version));
+          });
+        return null;
+      });
   }
 
   /**
-   * Updates the content of a specific documentation unit and regenerates its search index.
+   * Updates the content of a specific documentation unit and requests an update of its search index.
    * <p>
    * This entire operation is performed within a single database transaction. If the unit is not found,
-   * this method returns {@code null}.
+   * this method returns {@code null}. The search index is updated asynchronously, see
+   * {@link DocumentationUnitIndexOutboxService}.
    *
    * @param documentNumber The unique identifier of the documentation unit to update.
    * @param json           The new JSON content for the unit.
@@ -183,21 +364,31 @@ public class DocumentationUnitPersistenceService {
       .map(documentationUnitEntity -> {
         documentationUnitEntity.setJson(json);
         documentationUnitEntity.setXml(xml);
-        String note = objectMapper.readTree(json).path("note").asString(null);
+        String note = objectMapper.readTree(json).path(NOTE).asString(null);
         noteService.save(documentationUnitEntity, note);
         log.info("Published documentation unit with document number: {}.", documentNumber);
-        documentationUnitIndexService.updateIndex(documentationUnitEntity);
+        documentationUnitIndexOutboxService.enqueue(documentationUnitEntity);
+        publishChanged(documentationUnitEntity.getDocumentationUnitType());
+        // Flush to increment the version, which is returned as entity tag
+        documentationUnitRepository.flush();
         return new DocumentationUnit(
           documentNumber,
           documentationUnitEntity.getId(),
           json,
           xml,
-          new AdministrativeData(documentationUnitEntity.getDocumentationUnitType(), note)
+          new AdministrativeData(documentationUnitEntity.getDocumentationUnitType(), note),
+          documentationUnitEntity.getVersion()
         );
       })
       .orElse(null);
   }
 
+  private void publishChanged(DocumentCategory documentCategory) {
+    applicationEventPublisher.publishEvent(
+      new DocumentationUnitChangedEvent(SchemaContextHolder.getSchema(), documentCategory)
+    );
+  }
+
   /**
    * Returns paginated documentation units overview elements.
    *
@@ -208,43 +399,73 @@ public class DocumentationUnitPersistenceService {
   public Page<AdmDocumentationUnitOverviewElement> findAdmDocumentationUnitOverviewElements(
     @Nonnull AdmDocumentationUnitQuery query
   ) {
-    QueryOptions queryOptions = query.queryOptions();
-    Sort sort = Sort.by(queryOptions.sortDirection(), queryOptions.sortByProperty());
-    Pageable pageable = queryOptions.usePagination()
-      ? PageRequest.of(queryOptions.pageNumber(), queryOptions.pageSize(), sort)
-      : Pageable.unpaged(sort);
-    AdmDocumentionUnitSpecification admDocumentionUnitSpecification =
-      new AdmDocumentionUnitSpecification(
-        query.documentNumber(),
-        query.langueberschrift(),
-        query.fundstellen(),
-        query.zitierdaten()
-      );
-    var documentationUnitsPage = documentationUnitRepository.findAll(
-      admDocumentionUnitSpecification,
-      pageable
+    CountKey countKey = CountKey.of(
+      null,
+      query.documentNumber(),
+      query.langueberschrift(),
+      query.fundstellen(),
+      query.zitierdaten(),
+      query.q()
     );
-    return PageTransformer.transform(documentationUnitsPage, documentationUnit -> {
-      DocumentationUnitIndexEntity index = documentationUnit.getDocumentationUnitIndex();
-
-      if (index == null) {
-        return new AdmDocumentationUnitOverviewElement(
-          documentationUnit.getId(),
-          documentationUnit.getDocumentNumber(),
-          Collections.emptyList(),
-          null,
-          Collections.emptyList()
-        );
-      }
-      AdmIndex admIndex = index.getAdmIndex();
+    return find(
+      admSpecification(query),
+      query.q(),
+      query.queryOptions(),
+      query.readYourWrites(),
+      countKey,
+      DocumentationUnitPersistenceService::toAdmOverviewElement
+    );
+  }
+
+  /**
+   * Streams all ADM documentation units overview elements matching the query, ignoring its pagination, to
+   * the given consumer. The elements are read from the database while they are consumed.
+   *
+   * @param query The query
+   * @param consumer Consumer of the overview elements
+   */
+  @Transactional(readOnly = true)
+  public void exportAdmDocumentationUnitOverviewElements(
+    @Nonnull AdmDocumentationUnitQuery query,
+    @Nonnull Consumer<AdmDocumentationUnitOverviewElement> consumer
+  ) {
+    export(
+      admSpecification(query),
+      query.q(),
+      query.queryOptions(),
+      DocumentationUnitPersistenceService::toAdmOverviewElement,
+      consumer
+    );
+  }
+
+  private static AdmDocumentionUnitSpecification admSpecification(AdmDocumentationUnitQuery query) {
+    return new AdmDocumentionUnitSpecification(
+      query.documentNumber(),
+      query.langueberschrift(),
+      query.fundstellen(),
+      query.zitierdaten()
+    );
+  }
+
+  private static AdmDocumentationUnitOverviewElement toAdmOverviewElement(
+    DocumentationUnitOverviewRow row
+  ) {
+    if (!row.indexed()) {
       return new AdmDocumentationUnitOverviewElement(
-        documentationUnit.getId(),
-        documentationUnit.getDocumentNumber(),
-        admIndex.getZitierdaten(),
-        admIndex.getLangueberschrift(),
-        index.getFundstellen()
+        row.id(),
+        row.documentNumber(),
+        Collections.emptyList(),
+        null,
+        Collections.emptyList()
       );
-    });
+    }
+    return new AdmDocumentationUnitOverviewElement(
+      row.id(),
+      row.documentNumber(),
+      row.zitierdaten(),
+      row.langueberschrift(),
+      row.fundstellen()
+    );
   }
 
   /**
@@ -257,47 +478,80 @@ public class DocumentationUnitPersistenceService {
   public Page<SliDocumentationUnitOverviewElement> findSliDocumentationUnitOverviewElements(
     @Nonnull SliDocumentationUnitQuery query
   ) {
-    QueryOptions queryOptions = query.queryOptions();
-    Sort sort = Sort.by(queryOptions.sortDirection(), queryOptions.sortByProperty());
-    Pageable pageable = queryOptions.usePagination()
-      ? PageRequest.of(queryOptions.pageNumber(), queryOptions.pageSize(), sort)
-      : Pageable.unpaged(sort);
-    SliDocumentationUnitSpecification documentUnitSpecification =
-      new SliDocumentationUnitSpecification(
-        query.documentNumber(),
-        query.veroeffentlichungsjahr(),
-        query.dokumenttypen(),
-        query.titel(),
-        query.verfasser()
-      );
-    var documentationUnitsPage = documentationUnitRepository.findAll(
-      documentUnitSpecification,
-      pageable
+    CountKey countKey = CountKey.of(
+      DocumentCategory.LITERATUR_SELBSTAENDIG,
+      query.documentNumber(),
+      query.veroeffentlichungsjahr(),
+      query.dokumenttypen(),
+      query.titel(),
+      query.verfasser(),
+      query.q()
     );
-    return PageTransformer.transform(documentationUnitsPage, documentationUnit -> {
-      DocumentationUnitIndexEntity index = documentationUnit.getDocumentationUnitIndex();
+    return find(
+      sliSpecification(query),
+      query.q(),
+      query.queryOptions(),
+      query.readYourWrites(),
+      countKey,
+      DocumentationUnitPersistenceService::toSliOverviewElement
+    );
+  }
 
-      if (index == null) {
-        return new SliDocumentationUnitOverviewElement(
-          documentationUnit.getId(),
-          documentationUnit.getDocumentNumber(),
-          null,
-          null,
-          Collections.emptyList(),
-          Collections.emptyList()
-        );
-      }
+  /**
+   * Streams all SLI documentation units overview elements matching the query, ignoring its pagination, to
+   * the given consumer. The elements are read from the database while they are consumed.
+   *
+   * @param query The query
+   * @param consumer Consumer of the overview elements
+   */
+  @Transactional(readOnly = true)
+  public void exportSliDocumentationUnitOverviewElements(
+    @Nonnull SliDocumentationUnitQuery query,
+    @Nonnull Consumer<SliDocumentationUnitOverviewElement> consumer
+  ) {
+    export(
+      sliSpecification(query),
+      query.q(),
+      query.queryOptions(),
+      DocumentationUnitPersistenceService::toSliOverviewElement,
+      consumer
+    );
+  }
+
+  private static SliDocumentationUnitSpecification sliSpecification(
+    SliDocumentationUnitQuery query
+  ) {
+    return new SliDocumentationUnitSpecification(
+      query.documentNumber(),
+      query.veroeffentlichungsjahr(),
+      query.dokumenttypen(),
+      query.titel(),
+      query.verfasser()
+    );
+  }
 
-      LiteratureIndex literatureIndex = index.getLiteratureIndex();
+  private static SliDocumentationUnitOverviewElement toSliOverviewElement(
+    DocumentationUnitOverviewRow row
+  ) {
+    if (!row.indexed()) {
       return new SliDocumentationUnitOverviewElement(
-        documentationUnit.getId(),
-        documentationUnit.getDocumentNumber(),
-        literatureIndex.getVeroeffentlichungsjahr(),
-        literatureIndex.getTitel(),
-        literatureIndex.getDokumenttypen(),
-        literatureIndex.getVerfasserList()
+        row.id(),
+        row.documentNumber(),
+        null,
+        null,
+        Collections.emptyList(),
+        Collections.emptyList()
       );
-    });
+    }
+
+    return new SliDocumentationUnitOverviewElement(
+      row.id(),
+      row.documentNumber(),
+      row.veroeffentlichungsjahr(),
+      row.titel(),
+      row.dokumenttypen(),
+      row.verfasser()
+    );
   }
 
   /**
@@ -310,46 +564,201 @@ public class DocumentationUnitPersistenceService {
   public Page<UliDocumentationUnitOverviewElement> findUliDocumentationUnitOverviewElements(
     @Nonnull UliDocumentationUnitQuery query
   ) {
-    QueryOptions queryOptions = query.queryOptions();
+    CountKey countKey = CountKey.of(
+      DocumentCategory.LITERATUR_UNSELBSTAENDIG,
+      query.documentNumber(),
+      query.periodikum(),
+      query.zitatstelle(),
+      query.dokumenttypen(),
+      query.verfasser(),
+      query.q()
+    );
+    return find(
+      uliSpecification(query),
+      query.q(),
+      query.queryOptions(),
+      query.readYourWrites(),
+      countKey,
+      DocumentationUnitPersistenceService::toUliOverviewElement
+    );
+  }
+
+  /**
+   * Streams all ULI documentation units overview elements matching the query, ignoring its pagination, to
+   * the given consumer. The elements are read from the database while they are consumed.
+   *
+   * @param query The query
+   * @param consumer Consumer of the overview elements
+   */
+  @Transactional(readOnly = true)
+  public void exportUliDocumentationUnitOverviewElements(
+    @Nonnull UliDocumentationUnitQuery query,
+    @Nonnull Consumer<UliDocumentationUnitOverviewElement> consumer
+  ) {
+    export(
+      uliSpecification(query),
+      query.q(),
+      query.queryOptions(),
+      DocumentationUnitPersistenceService::toUliOverviewElement,
+      consumer
+    );
+  }
+
+  private static UliDocumentationUnitSpecification uliSpecification(
+    UliDocumentationUnitQuery query
+  ) {
+    return new UliDocumentationUnitSpecification(
+      query.documentNumber(),
+      query.periodikum(),
+      query.zitatstelle(),
+      query.dokumenttypen(),
+      query.verfasser()
+    );
+  }
+
+  private static UliDocumentationUnitOverviewElement toUliOverviewElement(
+    DocumentationUnitOverviewRow row
+  ) {
+    if (!row.indexed()) {
+      return new UliDocumentationUnitOverviewElement(
+        row.id(),
+        row.documentNumber(),
+        null,
+        null,
+        Collections.emptyList(),
+        Collections.emptyList()
+      );
+    }
+
+    return new UliDocumentationUnitOverviewElement(
+      row.id(),
+      row.documentNumber(),
+      row.titel(),
+      row.fundstellen(),
+      row.dokumenttypen(),
+      row.verfasser()
+    );
+  }
+
+  /**
+   * Streams the documentation units matching the given specification to the given consumer, ordered like the
+   * unpaged overview. The rows are fetched in chunks (see {@link DocumentationUnitOverviewRepository#stream}),
+   * so that the memory use does not depend on the number of documentation units.
+   */
+  private <R> void export(
+    Specification<DocumentationUnitEntity> specification,
+    String q,
+    QueryOptions queryOptions,
+    Function<DocumentationUnitOverviewRow, R> mappingFunction,
+    Consumer<R> consumer
+  ) {
+    Sort sort = Sort.by(queryOptions.sortDirection(), queryOptions.sortByProperty());
+    if (StringUtils.isNotBlank(q)) {
+      specification = specification.and(new FullTextSearchSpecification(q.trim(), sort));
+      sort = Sort.unsorted();
+    }
+    try (
+      Stream<DocumentationUnitOverviewRow> rows = documentationUnitOverviewRepository.stream(
+        specification,
+        sort
+      )
+    ) {
+      rows.map(mappingFunction).forEach(consumer);
+    }
+  }
+
+  /**
+   * Returns the cached overview page of the given query or finds it, see {@link DocumentationUnitOverviewCache}.
+   * Read-your-writes searches bypass the cache, because it does not see changes of other instances.
+   */
+  private <R> Page<R> find(
+    Specification<DocumentationUnitEntity> specification,
+    String q,
+    QueryOptions queryOptions,
+    boolean readYourWrites,
+    CountKey countKey,
+    Function<DocumentationUnitOverviewRow, R> mappingFunction
+  ) {
+    if (readYourWrites) {
+      return findUncached(specification, q, queryOptions, countKey, mappingFunction);
+    }
+    return documentationUnitOverviewCache.get(countKey, queryOptions, () ->
+      findUncached(specification, q, queryOptions, countKey, mappingFunction)
+    );
+  }
+
+  /**
+   * Finds the documentation units matching the given specification as overview rows, which are read without
+   * json and xml. If full-text search terms are given, the documentation units must match them, too, and
+   * are ordered by relevance. The sort of the query
+   * options then only orders documentation units with the same relevance.
+   * <p>
+   * With a cursor, the documentation units are read with keyset pagination instead: the page continues
+   * after the sort key and document number of the last element of the previous page, and no count query is
+   * executed. Keyset pages are always ordered by the sort of the query options, also with full-text search.
+   * </p>
+   * <p>
+   * Offset pages are counted with the count strategy of the query options. Unless counting exactly, the
+   * count is skipped if the page is the last one.
+   * </p>
+   */
+  private <R> Page<R> findUncached(
+    Specification<DocumentationUnitEntity> specification,
+    String q,
+    QueryOptions queryOptions,
+    CountKey countKey,
+    Function<DocumentationUnitOverviewRow, R> mappingFunction
+  ) {
     Sort sort = Sort.by(queryOptions.sortDirection(), queryOptions.sortByProperty());
+    if (StringUtils.isNotBlank(q)) {
+      specification = specification.and(new FullTextSearchSpecification(q.trim(), sort));
+      if (!queryOptions.useKeyset()) {
+        sort = Sort.unsorted();
+      }
+    }
+    if (queryOptions.useKeyset()) {
+      KeysetScrollPosition position = ContinuationToken.decode(queryOptions.cursor());
+      Window<DocumentationUnitOverviewRow> window = documentationUnitOverviewRepository.findWindow(
+        specification,
+        queryOptions.sortByProperty(),
+        queryOptions.sortDirection(),
+        position,
+        queryOptions.pageSize()
+      );
+      return PageTransformer.transform(
+        window,
+        queryOptions.pageSize(),
+        position.isInitial(),
+        mappingFunction
+      );
+    }
     Pageable pageable = queryOptions.usePagination()
       ? PageRequest.of(queryOptions.pageNumber(), queryOptions.pageSize(), sort)
       : Pageable.unpaged(sort);
-    UliDocumentationUnitSpecification documentUnitSpecification =
-      new UliDocumentationUnitSpecification(
-        query.documentNumber(),
-        query.periodikum(),
-        query.zitatstelle(),
-        query.dokumenttypen(),
-        query.verfasser()
+    if (pageable.isUnpaged() || queryOptions.countStrategy() == CountStrategy.EXACT) {
+      return PageTransformer.transform(
+        documentationUnitOverviewRepository.findPage(specification, pageable),
+        mappingFunction
       );
-    var documentationUnitsPage = documentationUnitRepository.findAll(
-      documentUnitSpecification,
+    }
+    Slice<DocumentationUnitOverviewRow> slice = documentationUnitOverviewRepository.findSlice(
+      specification,
       pageable
     );
-    return PageTransformer.transform(documentationUnitsPage, documentationUnit -> {
-      DocumentationUnitIndexEntity index = documentationUnit.getDocumentationUnitIndex();
-
-      if (index == null) {
-        return new UliDocumentationUnitOverviewElement(
-          documentationUnit.getId(),
-          documentationUnit.getDocumentNumber(),
-          null,
-          null,
-          Collections.emptyList(),
-          Collections.emptyList()
-        );
-      }
-
-      LiteratureIndex literatureIndex = index.getLiteratureIndex();
-      return new UliDocumentationUnitOverviewElement(
-        documentationUnit.getId(),
-        documentationUnit.getDocumentNumber(),
-        literatureIndex.getTitel(),
-        index.getFundstellen(),
-        literatureIndex.getDokumenttypen(),
-        literatureIndex.getVerfasserList()
-      );
-    });
+    if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+      // The total number of elements is known without counting
+      return PageTransformer.transform(slice, 0, CountStrategy.EXACT, mappingFunction);
+    }
+    Count count = documentationUnitOverviewRepository.count(
+      specification,
+      queryOptions.countStrategy(),
+      countKey
+    );
+    return PageTransformer.transform(
+      slice,
+      count.totalElements(),
+      count.countStrategy(),
+      mappingFunction
+    );
   }
 }
@@ -1,13 +1,18 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 
 import jakarta.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * JPA repository for documentation unit entities.
@@ -16,13 +21,92 @@ public interface DocumentationUnitRepository
   extends
     JpaRepository<DocumentationUnitEntity, UUID>,
     JpaSpecificationExecutor<DocumentationUnitEntity> {
+  /**
+   * Returns the documentation unit with the given document number including its index, but without its
+   * lazily loaded content.
+   *
+   * @param documentNumber The document number
+   * @return The found documentation unit
+   */
   @EntityGraph(attributePaths = "documentationUnitIndex")
   Optional<DocumentationUnitEntity> findByDocumentNumber(@Nonnull String documentNumber);
 
-  @EntityGraph(attributePaths = "documentationUnitIndex")
-  Slice<DocumentationUnitEntity> findByDocumentationUnitIndexIsNullOrderByDocumentNumberDesc(
-    Pageable pageable
+  /**
+   * Returns the version of the documentation unit with the given document number, without reading the
+   * documentation unit itself.
+   *
+   * @param documentNumber The document number
+   * @return The version of the found documentation unit
+   */
+  @Query("select d.version from DocumentationUnitEntity d where d.documentNumber = :documentNumber")
+  Optional<Long> findVersionByDocumentNumber(
+    @Nonnull @Param("documentNumber") String documentNumber
   );
 
+  /**
+   * Returns the documentation unit with the given document number including its index and content.
+   *
+   * @param documentNumber The document number
+   * @return The found documentation unit
+   */
+  @EntityGraph(attributePaths = { "documentationUnitIndex", "json", "xml" })
+  Optional<DocumentationUnitEntity> findWithContentByDocumentNumber(@Nonnull String documentNumber);
+
+  /**
+   * Returns the documentation unit with the given id including its index and content.
+   *
+   * @param id The id
+   * @return The found documentation unit
+   */
+  @EntityGraph(attributePaths = { "documentationUnitIndex", "json", "xml" })
+  Optional<DocumentationUnitEntity> findWithContentById(@Nonnull UUID id);
+
+  /**
+   * Returns the documentation units with the given document numbers including their index and content.
+   *
+   * @param documentNumbers The document numbers of the documentation units
+   * @return List of found documentation units, in no particular order
+   */
+  @EntityGraph(attributePaths = { "documentationUnitIndex", "json", "xml" })
+  List<DocumentationUnitEntity> findAllByDocumentNumberIn(Collection<String> documentNumbers);
+
+  /**
+   * Scrolls through all documentation units without index, ordered by document number descending.
+   * Using a keyset position the query does not need to skip already read rows. The content is fetched for
+   * indexing.
+   *
+   * @param position The keyset position to continue from, {@link ScrollPosition#keyset()} for the first window
+   * @param limit The maximum number of documentation units in the returned window
+   * @return Window of documentation units without index
+   */
+  @EntityGraph(attributePaths = { "documentationUnitIndex", "json", "xml" })
+  Window<DocumentationUnitEntity> findByDocumentationUnitIndexIsNullOrderByDocumentNumberDesc(
+    ScrollPosition position,
+    Limit limit
+  );
+
+  /**
+   * Scrolls through all documentation units, ordered by document number descending. The content is fetched
+   * for indexing.
+   *
+   * @param position The keyset position to continue from, {@link ScrollPosition#keyset()} for the first window
+   * @param limit The maximum number of documentation units in the returned window
+   * @return Window of documentation units
+   */
+  @EntityGraph(attributePaths = { "documentationUnitIndex", "json", "xml" })
+  Window<DocumentationUnitEntity> findAllByOrderByDocumentNumberDesc(
+    ScrollPosition position,
+    Limit limit
+  );
+
+  /**
+   * Returns the documentation units with the given ids including their index and content.
+   *
+   * @param ids The ids of the documentation units
+   * @return List of found documentation units
+   */
+  @EntityGraph(attributePaths = { "documentationUnitIndex", "json", "xml" })
+  List<DocumentationUnitEntity> findAllByIdIn(Collection<UUID> ids);
+
   long countByDocumentationUnitIndexIsNull();
 }
@@ -1,11 +1,14 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaPropagatingExecutor;
 import de.bund.digitalservice.ris.adm_literature.config.security.UserDocumentDetails;
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitOverviewElement;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.converter.LdmlToObjectConverterService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.converter.ObjectToLdmlConverterService;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexOutboxService;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitContent;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitOverviewElement;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitQuery;
@@ -17,14 +20,34 @@ import de.bund.digitalservice.ris.adm_literature.documentation_unit.reference.Do
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.reference.PassiveReferenceService;
 import de.bund.digitalservice.ris.adm_literature.page.Page;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 /**
@@ -35,6 +58,17 @@ import tools.jackson.databind.ObjectMapper;
 @RequiredArgsConstructor
 public class DocumentationUnitService {
 
+  /**
+   * Maximum number of document numbers of a batch request, see {@link #findAllByDocumentNumbers(List)}.
+   */
+  public static final int MAX_BATCH_SIZE = 100;
+
+  /**
+   * Error of the items of an import batch which could not be created, the cause is only logged.
+   */
+  static final String IMPORT_BATCH_FAILED =
+    "Import failed, no documentation unit of the batch has been created";
+
   private final DocumentationUnitPersistenceService documentationUnitPersistenceService;
   private final LdmlToObjectConverterService ldmlToObjectConverterService;
   private final ObjectToLdmlConverterService objectToLdmlConverterService;
@@ -42,6 +76,11 @@ public class DocumentationUnitService {
   private final Publisher publisher;
   private final ActiveReferenceService referenceService;
   private final PassiveReferenceService passiveReferenceService;
+  private final DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+  private final SchemaPropagatingExecutor ldmlConverterExecutor;
+
+  @Value("${documentation-unit.import.batch-size:100}")
+  private int importBatchSize;
 
   /**
    * Finds a DocumentationUnit by its document number.
@@ -61,12 +100,66 @@ public class DocumentationUnitService {
     ) {
       // For an existing documentation unit without JSON but existing xml needs to be converted
 
-      return convertLdml(optionalDocumentationUnit.get());
+      return Optional.of(convertLdml(optionalDocumentationUnit.get()));
     }
     return optionalDocumentationUnit;
   }
 
-  private Optional<DocumentationUnit> convertLdml(DocumentationUnit documentationUnit) {
+  /**
+   * Finds the DocumentationUnits with the given document numbers. The documentation units and their notes are
+   * read with one query each. Found units with XML but no JSON are converted in parallel.
+   *
+   * @param documentNumbers The document numbers to search for, at most {@link #MAX_BATCH_SIZE}
+   * @return The found DocumentationUnits in the order of the given document numbers, document numbers
+   *         without documentation unit are skipped
+   * @throws ResponseStatusException with status 400 if more than {@link #MAX_BATCH_SIZE} document numbers
+   *                                 are given
+   */
+  public List<DocumentationUnit> findAllByDocumentNumbers(@Nonnull List<String> documentNumbers) {
+    if (documentNumbers.size() > MAX_BATCH_SIZE) {
+      throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "At most " + MAX_BATCH_SIZE + " document numbers can be requested at once"
+      );
+    }
+    List<DocumentationUnit> documentationUnits =
+      documentationUnitPersistenceService.findAllByDocumentNumbers(documentNumbers);
+    int numberOfConversions = (int) documentationUnits
+      .stream()
+      .filter(DocumentationUnitService::needsConversion)
+      .count();
+    if (numberOfConversions <= 1) {
+      return documentationUnits
+        .stream()
+        .map(documentationUnit ->
+          needsConversion(documentationUnit) ? convertLdml(documentationUnit) : documentationUnit
+        )
+        .toList();
+    }
+    return documentationUnits
+      .stream()
+      .map(documentationUnit ->
+        needsConversion(documentationUnit)
+          ? CompletableFuture.supplyAsync(
+              () -> convertLdml(documentationUnit),
+              ldmlConverterExecutor
+            )
+          : CompletableFuture.completedFuture(documentationUnit)
+      )
+      .toList()
+      .stream()
+      .map(CompletableFuture::join)
+      .toList();
+  }
+
+  /**
+   * Returns whether the documentation unit exists with XML but without JSON, which needs to be converted.
+   */
+  private static boolean needsConversion(DocumentationUnit documentationUnit) {
+    return documentationUnit.json() == null && documentationUnit.xml() != null;
+  }
+
+  private DocumentationUnit convertLdml(DocumentationUnit documentationUnit) {
     Class<? extends DocumentationUnitContent> documentationUnitContentClass =
       DocumentationUnitContent.getDocumentationUnitContentClass(
         documentationUnit.administrativeData().documentCategory()
@@ -76,7 +169,7 @@ public class DocumentationUnitService {
       documentationUnitContentClass
     );
     String json = convertToJson(documentationUnitContent);
-    return Optional.of(new DocumentationUnit(documentationUnit, json));
+    return new DocumentationUnit(documentationUnit, json);
   }
 
   private String convertToJson(DocumentationUnitContent documentationUnitContent) {
@@ -92,7 +185,100 @@ public class DocumentationUnitService {
   }
 
   public Optional<DocumentationUnit> update(@Nonnull String documentNumber, @Nonnull String json) {
-    return Optional.ofNullable(documentationUnitPersistenceService.update(documentNumber, json));
+    return update(documentNumber, json, null);
+  }
+
+  /**
+   * Updates a DocumentationUnit, if its version matches the given {@code If-Match} header.
+   *
+   * @param documentNumber The document number of the documentation unit to update
+   * @param json           The new JSON of the documentation unit
+   * @param ifMatch        The entity tags of the expected version, see {@link DocumentationUnitETags},
+   *                       {@code null} to update any version
+   * @return An {@link Optional} with the updated unit, or empty if the document number was not found.
+   * @throws VersionMismatchException if the documentation unit has another version
+   */
+  public Optional<DocumentationUnit> update(
+    @Nonnull String documentNumber,
+    @Nonnull String json,
+    @Nullable String ifMatch
+  ) {
+    return Optional.ofNullable(
+      documentationUnitPersistenceService.update(documentNumber, json, ifMatch, true)
+    );
+  }
+
+  /**
+   * Applies a JSON merge patch (RFC 7386) to the JSON of a DocumentationUnit, if its version matches the
+   * given {@code If-Match} header. A documentation unit with XML but no JSON is converted before. The index
+   * is only updated if the patch changes an indexed property.
+   *
+   * @param documentNumber The document number of the documentation unit to update
+   * @param mergePatch     The merge patch, which must be a JSON object
+   * @param ifMatch        The entity tags of the expected version, see {@link DocumentationUnitETags},
+   *                       {@code null} to update any version
+   * @return An {@link Optional} with the updated unit, or empty if the document number was not found.
+   * @throws ResponseStatusException with status 400 if the merge patch is not a JSON object
+   * @throws VersionMismatchException if the documentation unit has another version
+   */
+  @Transactional
+  public Optional<DocumentationUnit> patch(
+    @Nonnull String documentNumber,
+    @Nonnull JsonNode mergePatch,
+    @Nullable String ifMatch
+  ) {
+    if (!mergePatch.isObject()) {
+      throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "The merge patch of a documentation unit must be a JSON object"
+      );
+    }
+    var optionalDocumentationUnit = documentationUnitPersistenceService.findByDocumentNumber(
+      documentNumber
+    );
+    if (optionalDocumentationUnit.isEmpty()) {
+      return Optional.empty();
+    }
+    DocumentationUnit documentationUnit = optionalDocumentationUnit.get();
+    long version = documentationUnit.version();
+    DocumentationUnitETags.checkIfMatch(ifMatch, version);
+    // Without stored json (new or published documentation units) the index has not been created from json
+    boolean withoutJson = documentationUnit.json() == null;
+    if (needsConversion(documentationUnit)) {
+      documentationUnit = convertLdml(documentationUnit);
+    }
+    JsonNode json = documentationUnit.json() == null
+      ? objectMapper.createObjectNode()
+      : objectMapper.readTree(documentationUnit.json());
+    JsonNode patchedJson = JsonMergePatch.apply(json, mergePatch);
+    boolean reindex =
+      withoutJson ||
+      mergePatch
+        .properties()
+        .stream()
+        .map(Map.Entry::getKey)
+        .filter(DocumentationUnitIndexService::isIndexedProperty)
+        .anyMatch(property -> !Objects.equals(json.get(property), patchedJson.get(property)));
+    // The version read before is expected, so that a concurrent change is not overwritten
+    return Optional.ofNullable(
+      documentationUnitPersistenceService.update(
+        documentNumber,
+        patchedJson.toString(),
+        DocumentationUnitETags.of(version),
+        reindex
+      )
+    );
+  }
+
+  /**
+   * Finds the version of a DocumentationUnit by its document number. Only the version is read, so that
+   * conditional requests can be answered without reading and converting the documentation unit.
+   *
+   * @param documentNumber The document number to search for.
+   * @return An {@link Optional} containing the version, or an empty Optional if not found.
+   */
+  public Optional<Long> findVersion(@Nonnull String documentNumber) {
+    return documentationUnitPersistenceService.findVersionByDocumentNumber(documentNumber);
   }
 
   /**
@@ -111,6 +297,26 @@ public class DocumentationUnitService {
   public Optional<DocumentationUnit> publish(
     @Nonnull String documentNumber,
     @Nonnull DocumentationUnitContent documentationUnitContent
+  ) {
+    return publish(documentNumber, documentationUnitContent, null);
+  }
+
+  /**
+   * Updates and publishes a DocumentationUnit with new content, if its version matches the given
+   * {@code If-Match} header. The version is checked before the content is converted and published.
+   *
+   * @param documentNumber           The identifier of the documentation unit to publish.
+   * @param documentationUnitContent The new content for the unit.
+   * @param ifMatch                  The entity tags of the expected version, see
+   *                                 {@link DocumentationUnitETags}, {@code null} to publish any version
+   * @return An {@link Optional} with the updated unit, or empty if the document number was not found.
+   * @throws VersionMismatchException if the documentation unit has another version
+   */
+  @Transactional
+  public Optional<DocumentationUnit> publish(
+    @Nonnull String documentNumber,
+    @Nonnull DocumentationUnitContent documentationUnitContent,
+    @Nullable String ifMatch
   ) {
     var optionalDocumentationUnit = documentationUnitPersistenceService.findByDocumentNumber(
       documentNumber
@@ -119,6 +325,7 @@ public class DocumentationUnitService {
       return Optional.empty();
     }
     DocumentationUnit documentationUnit = optionalDocumentationUnit.get();
+    DocumentationUnitETags.checkIfMatch(ifMatch, documentationUnit.version());
     List<DocumentReference> referencedByList = passiveReferenceService.findByTarget(
       documentationUnit.id(),
       documentationUnitContent.documentCategory()
@@ -170,7 +377,7 @@ public class DocumentationUnitService {
     DocumentCategory documentCategory = documentationUnitContent.documentCategory();
     var publishOptions = new Publisher.PublicationDetails(documentNumber, xml, documentCategory);
     publisher.publish(publishOptions);
-    return convertLdml(publishedDocumentationUnit);
+    return Optional.of(convertLdml(publishedDocumentationUnit));
   }
 
   /**
@@ -213,6 +420,7 @@ public class DocumentationUnitService {
 
   /**
    * Retrieves a paginated list of AdmDocumentationUnitOverviewElements based on the specified query options.
+   * The index is updated before, if it lags behind too much or if {@code readYourWrites} is requested.
    *
    * @param queryOptions The query parameters to filter and paginate the results. Must not be null.
    * @return A paginated {@link Page} containing the matching AdmDocumentationUnitOverviewElements.
@@ -220,6 +428,7 @@ public class DocumentationUnitService {
   public Page<AdmDocumentationUnitOverviewElement> findAdmDocumentationUnitOverviewElements(
     @Nonnull AdmDocumentationUnitQuery queryOptions
   ) {
+    documentationUnitIndexOutboxService.awaitIndex(queryOptions.readYourWrites());
     return documentationUnitPersistenceService.findAdmDocumentationUnitOverviewElements(
       queryOptions
     );
@@ -227,6 +436,7 @@ public class DocumentationUnitService {
 
   /**
    * Retrieves a paginated list of SliDocumentationUnitOverviewElements based on the specified query options.
+   * The index is updated before, if it lags behind too much or if {@code readYourWrites} is requested.
    *
    * @param queryOptions The query parameters to filter and paginate the results. Must not be null.
    * @return A paginated {@link Page} containing the matching SliDocumentationUnitOverviewElements.
@@ -234,6 +444,7 @@ public class DocumentationUnitService {
   public Page<SliDocumentationUnitOverviewElement> findSliDocumentationUnitOverviewElements(
     @Nonnull SliDocumentationUnitQuery queryOptions
   ) {
+    documentationUnitIndexOutboxService.awaitIndex(queryOptions.readYourWrites());
     return documentationUnitPersistenceService.findSliDocumentationUnitOverviewElements(
       queryOptions
     );
@@ -241,6 +452,7 @@ public class DocumentationUnitService {
 
   /**
    * Retrieves a paginated list of UliDocumentationUnitOverviewElements based on the specified query options.
+   * The index is updated before, if it lags behind too much or if {@code readYourWrites} is requested.
    *
    * @param queryOptions The query parameters to filter and paginate the results. Must not be null.
    * @return A paginated {@link Page} containing the matching UliDocumentationUnitOverviewElements.
@@ -248,8 +460,208 @@ public class DocumentationUnitService {
   public Page<UliDocumentationUnitOverviewElement> findUliDocumentationUnitOverviewElements(
     @Nonnull UliDocumentationUnitQuery queryOptions
   ) {
+    documentationUnitIndexOutboxService.awaitIndex(queryOptions.readYourWrites());
     return documentationUnitPersistenceService.findUliDocumentationUnitOverviewElements(
       queryOptions
     );
   }
+
+  /**
+   * Writes all AdmDocumentationUnitOverviewElements matching the query, ignoring its pagination, in the given
+   * format to the output stream. The elements are written while they are read from the database, see
+   * {@link OverviewExportWriter}. The index is updated before, if it lags behind too much or if
+   * {@code readYourWrites} is requested.
+   *
+   * @param queryOptions The query parameters to filter and sort the results. Must not be null.
+   * @param exportFormat The format of the export
+   * @param outputStream The output stream to write to, it is flushed but not closed
+   */
+  public void exportAdmDocumentationUnitOverviewElements(
+    @Nonnull AdmDocumentationUnitQuery queryOptions,
+    @Nonnull ExportFormat exportFormat,
+    @Nonnull OutputStream outputStream
+  ) {
+    documentationUnitIndexOutboxService.awaitIndex(queryOptions.readYourWrites());
+    var writer = new OverviewExportWriter<>(
+      AdmDocumentationUnitOverviewElement.class,
+      exportFormat,
+      objectMapper,
+      outputStream
+    );
+    documentationUnitPersistenceService.exportAdmDocumentationUnitOverviewElements(
+      queryOptions,
+      writer
+    );
+    writer.flush();
+  }
+
+  /**
+   * Writes all SliDocumentationUnitOverviewElements matching the query, ignoring its pagination, in the given
+   * format to the output stream. The elements are written while they are read from the database, see
+   * {@link OverviewExportWriter}. The index is updated before, if it lags behind too much or if
+   * {@code readYourWrites} is requested.
+   *
+   * @param queryOptions The query parameters to filter and sort the results. Must not be null.
+   * @param exportFormat The format of the export
+   * @param outputStream The output stream to write to, it is flushed but not closed
+   */
+  public void exportSliDocumentationUnitOverviewElements(
+    @Nonnull SliDocumentationUnitQuery queryOptions,
+    @Nonnull ExportFormat exportFormat,
+    @Nonnull OutputStream outputStream
+  ) {
+    documentationUnitIndexOutboxService.awaitIndex(queryOptions.readYourWrites());
+    var writer = new OverviewExportWriter<>(
+      SliDocumentationUnitOverviewElement.class,
+      exportFormat,
+      objectMapper,
+      outputStream
+    );
+    documentationUnitPersistenceService.exportSliDocumentationUnitOverviewElements(
+      queryOptions,
+      writer
+    );
+    writer.flush();
+  }
+
+  /**
+   * Writes all UliDocumentationUnitOverviewElements matching the query, ignoring its pagination, in the given
+   * format to the output stream. The elements are written while they are read from the database, see
+   * {@link OverviewExportWriter}. The index is updated before, if it lags behind too much or if
+   * {@code readYourWrites} is requested.
+   *
+   * @param queryOptions The query parameters to filter and sort the results. Must not be null.
+   * @param exportFormat The format of the export
+   * @param outputStream The output stream to write to, it is flushed but not closed
+   */
+  public void exportUliDocumentationUnitOverviewElements(
+    @Nonnull UliDocumentationUnitQuery queryOptions,
+    @Nonnull ExportFormat exportFormat,
+    @Nonnull OutputStream outputStream
+  ) {
+    documentationUnitIndexOutboxService.awaitIndex(queryOptions.readYourWrites());
+    var writer = new OverviewExportWriter<>(
+      UliDocumentationUnitOverviewElement.class,
+      exportFormat,
+      objectMapper,
+      outputStream
+    );
+    documentationUnitPersistenceService.exportUliDocumentationUnitOverviewElements(
+      queryOptions,
+      writer
+    );
+    writer.flush();
+  }
+
+  /**
+   * Imports documentation units from the given NDJSON input stream, one {@link DocumentationUnitImportItem}
+   * per line, and writes one {@link DocumentationUnitImportResult} per item as NDJSON to the output stream.
+   * The items are created in batches of {@code documentation-unit.import.batch-size}, each batch within its
+   * own transaction, see {@link DocumentationUnitPersistenceService#createAll(List)}. The results of a batch
+   * are written and flushed after its commit, thus neither the items nor the results are held in memory.
+   * Invalid items and the items of a failed batch are reported as errors, the other items are imported
+   * nevertheless.
+   *
+   * @param documentCategories The document categories which can be imported
+   * @param inputStream        The NDJSON items to import, it is not closed
+   * @param outputStream       The output stream to write the results to, it is flushed but not closed
+   */
+  public void importDocumentationUnits(
+    @Nonnull Set<DocumentCategory> documentCategories,
+    @Nonnull InputStream inputStream,
+    @Nonnull OutputStream outputStream
+  ) {
+    var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    List<ImportEntry> batch = new ArrayList<>(importBatchSize);
+    try {
+      int lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        batch.add(readImportEntry(lineNumber, line, documentCategories));
+        if (batch.size() == importBatchSize) {
+          importBatch(batch, writer);
+          batch.clear();
+        }
+      }
+      importBatch(batch, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * A line of an import, either a valid item or the reason why it is invalid.
+   */
+  private record ImportEntry(int line, DocumentationUnitImportItem item, String error) {}
+
+  private ImportEntry readImportEntry(
+    int lineNumber,
+    String line,
+    Set<DocumentCategory> documentCategories
+  ) {
+    DocumentationUnitImportItem item;
+    try {
+      item = objectMapper.readValue(line, DocumentationUnitImportItem.class);
+    } catch (JacksonException e) {
+      return new ImportEntry(lineNumber, null, "Invalid item: " + e.getOriginalMessage());
+    }
+    JsonNode json = item.json() == null || item.json().isNull() ? null : item.json();
+    String error = null;
+    if (item.category() == null || !documentCategories.contains(item.category())) {
+      error = "Document category %s cannot be imported, expected one of %s".formatted(
+        item.category(),
+        documentCategories
+      );
+    } else if ((json == null) == (item.xml() == null)) {
+      error = "Either json or xml must be given";
+    } else if (json != null && !json.isObject()) {
+      error = "The json must be an object";
+    }
+    if (error != null) {
+      return new ImportEntry(lineNumber, null, error);
+    }
+    return new ImportEntry(
+      lineNumber,
+      new DocumentationUnitImportItem(item.category(), json, item.xml()),
+      null
+    );
+  }
+
+  private void importBatch(List<ImportEntry> batch, Writer writer) throws IOException {
+    List<DocumentationUnitImportItem> items = batch
+      .stream()
+      .map(ImportEntry::item)
+      .filter(Objects::nonNull)
+      .toList();
+    List<DocumentationUnit> created = List.of();
+    String batchError = null;
+    if (!items.isEmpty()) {
+      try {
+        created = documentationUnitPersistenceService.createAll(items);
+      } catch (RuntimeException e) {
+        // The exception may contain SQL and constraint names, thus it is only logged
+        log.warn("Import of {} documentation units failed.", items.size(), e);
+        batchError = IMPORT_BATCH_FAILED;
+      }
+    }
+    int index = 0;
+    for (ImportEntry entry : batch) {
+      DocumentationUnitImportResult result;
+      if (entry.item() == null) {
+        result = DocumentationUnitImportResult.failed(entry.line(), entry.error());
+      } else if (batchError != null) {
+        result = DocumentationUnitImportResult.failed(entry.line(), batchError);
+      } else {
+        result = DocumentationUnitImportResult.created(entry.line(), created.get(index++));
+      }
+      writer.write(objectMapper.writeValueAsString(result));
+      writer.write('\n');
+    }
+    writer.flush();
+  }
 }
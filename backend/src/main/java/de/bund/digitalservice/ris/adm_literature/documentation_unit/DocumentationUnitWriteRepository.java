@@ -0,0 +1,88 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for updating the content of documentation units with a single statement.
+ * <p>
+ * Other than an update through {@link DocumentationUnitRepository} the documentation unit is neither read
+ * before nor dirty-checked, the check of the expected version and the increment of the version are part of
+ * the {@code UPDATE} statement. The statement bypasses the persistence context, therefore pending changes
+ * are flushed before and an entity of the documentation unit which has been loaded before in the same
+ * transaction is detached after the update, so that it is read again when needed.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+class DocumentationUnitWriteRepository {
+
+  private final EntityManager entityManager;
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * The documentation unit after an update.
+   *
+   * @param id                    The id of the documentation unit
+   * @param documentationUnitType The document category of the documentation unit
+   * @param version               The new version of the documentation unit
+   */
+  record UpdatedDocumentationUnit(UUID id, DocumentCategory documentationUnitType, long version) {}
+
+  /**
+   * Sets the json of the documentation unit with the given document number and increments its version, if
+   * its version is one of the expected versions.
+   *
+   * @param documentNumber   The document number of the documentation unit
+   * @param json             The json to set
+   * @param expectedVersions The expected versions, {@code null} to update any version
+   * @return The updated documentation unit or an empty optional, if there is no documentation unit with the
+   *         given document number and an expected version
+   */
+  Optional<UpdatedDocumentationUnit> updateJson(
+    @Nonnull String documentNumber,
+    @Nonnull String json,
+    @Nullable List<Long> expectedVersions
+  ) {
+    entityManager.flush();
+    Object[] versions = Objects.requireNonNullElse(expectedVersions, List.of()).toArray();
+    Optional<UpdatedDocumentationUnit> updatedDocumentationUnit = jdbcTemplate
+      .query(
+        """
+        UPDATE documentation_unit SET json = ?, version = version + 1
+        WHERE document_number = ? AND (? OR version = ANY (?))
+        RETURNING id, documentation_unit_type, version
+        """,
+        ps -> {
+          ps.setString(1, json);
+          ps.setString(2, documentNumber);
+          ps.setBoolean(3, expectedVersions == null);
+          ps.setArray(4, ps.getConnection().createArrayOf("bigint", versions));
+        },
+        (rs, _) ->
+          new UpdatedDocumentationUnit(
+            rs.getObject("id", UUID.class),
+            DocumentCategory.valueOf(rs.getString("documentation_unit_type")),
+            rs.getLong("version")
+          )
+      )
+      .stream()
+      .findFirst();
+    // Neither reads nor writes: the reference is the entity of the persistence context or a new proxy
+    updatedDocumentationUnit.ifPresent(documentationUnit ->
+      entityManager.detach(
+        entityManager.getReference(DocumentationUnitEntity.class, documentationUnit.id())
+      )
+    );
+    return updatedDocumentationUnit;
+  }
+}
@@ -0,0 +1,19 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Formats of the export of documentation units overview elements.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+  /** Newline delimited JSON, one overview element per line */
+  NDJSON("application/x-ndjson", "ndjson"),
+  /** Comma separated values with a header line, list values are joined with semicolons */
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String fileExtension;
+}
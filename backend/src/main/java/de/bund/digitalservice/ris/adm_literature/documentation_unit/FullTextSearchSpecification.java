@@ -0,0 +1,66 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import jakarta.annotation.Nonnull;
+import jakarta.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Specification for the German full-text search on the documentation unit index, see
+ * {@code search_vector} of {@code documentation_unit_index}. The matching documentation units are ordered
+ * by relevance ({@code ts_rank}), so the query must not be sorted by the pageable.
+ * <p>
+ * Combined with another specification, it must be added last, so that it reuses the join of the
+ * documentation unit index.
+ * </p>
+ *
+ * @param q The search terms, in the syntax of web search engines (e.g. {@code "Bundesministerium -Finanzen"})
+ * @param tieBreaker Sort of documentation units with the same relevance
+ */
+public record FullTextSearchSpecification(String q, @Nonnull Sort tieBreaker)
+  implements Specification<DocumentationUnitEntity> {
+  @Override
+  public Predicate toPredicate(
+    @Nonnull Root<DocumentationUnitEntity> root,
+    CriteriaQuery<?> query,
+    @Nonnull CriteriaBuilder criteriaBuilder
+  ) {
+    if (!StringUtils.hasText(q)) {
+      return criteriaBuilder.and();
+    }
+    Expression<String> searchVector = documentationUnitIndex(root).<String>get("searchVector");
+    Expression<String> searchTerms = criteriaBuilder.literal(q);
+    if (query != null) {
+      List<Order> orders = new ArrayList<>();
+      orders.add(
+        criteriaBuilder.desc(
+          criteriaBuilder.function("fts_rank", Float.class, searchVector, searchTerms)
+        )
+      );
+      orders.addAll(QueryUtils.toOrders(tieBreaker, root, criteriaBuilder));
+      query.orderBy(orders);
+    }
+    return criteriaBuilder.isTrue(
+      criteriaBuilder.function("fts_match", Boolean.class, searchVector, searchTerms)
+    );
+  }
+
+  /**
+   * Returns the join of the documentation unit index, which is created if the query has none yet.
+   *
+   * @param root The documentation unit root of the query
+   * @return The join of the documentation unit index
+   */
+  static Join<?, ?> documentationUnitIndex(Root<DocumentationUnitEntity> root) {
+    return root
+      .getJoins()
+      .stream()
+      .filter(join -> join.getAttribute().getName().equals("documentationUnitIndex"))
+      .findFirst()
+      .orElseGet(() -> root.join("documentationUnitIndex", JoinType.LEFT));
+  }
+}
@@ -0,0 +1,47 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * JSON Merge Patch as defined by RFC 7386. A merge patch is a JSON document describing the changes of a
+ * target document: members with value {@code null} are removed, objects are merged recursively and all
+ * other values replace the value of the target.
+ */
+public final class JsonMergePatch {
+
+  /**
+   * Media type of JSON merge patch documents.
+   */
+  public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+  private JsonMergePatch() {}
+
+  /**
+   * Applies the merge patch to the target. The target is not modified.
+   *
+   * @param target The target document, {@code null} if there is no target
+   * @param patch  The merge patch
+   * @return The patched document
+   */
+  public static JsonNode apply(@Nullable JsonNode target, @Nonnull JsonNode patch) {
+    if (!patch.isObject()) {
+      return patch;
+    }
+    ObjectNode result = target != null && target.isObject()
+      ? ((ObjectNode) target).deepCopy()
+      : JsonNodeFactory.instance.objectNode();
+    for (Map.Entry<String, JsonNode> property : patch.properties()) {
+      if (property.getValue().isNull()) {
+        result.remove(property.getKey());
+      } else {
+        result.set(property.getKey(), apply(result.get(property.getKey()), property.getValue()));
+      }
+    }
+    return result;
+  }
+}
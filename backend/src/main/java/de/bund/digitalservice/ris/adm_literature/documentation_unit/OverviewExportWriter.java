@@ -0,0 +1,113 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import jakarta.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes overview elements one by one in the given {@link ExportFormat} to an output stream, so that an
+ * export does not hold more than the current element in memory. The output is buffered and must be flushed
+ * after the last element with {@link #flush()}.
+ * <p>
+ * The CSV columns are the components of the overview element record. Lists are joined with {@code "; "},
+ * values are quoted as described in RFC 4180 if necessary.
+ * </p>
+ *
+ * @param <T> Type of the overview elements
+ */
+class OverviewExportWriter<T extends Record> implements Consumer<T> {
+
+  private static final String LIST_SEPARATOR = "; ";
+
+  private final ExportFormat exportFormat;
+  private final ObjectMapper objectMapper;
+  private final RecordComponent[] recordComponents;
+  private final Writer writer;
+
+  OverviewExportWriter(
+    @Nonnull Class<T> elementClass,
+    @Nonnull ExportFormat exportFormat,
+    @Nonnull ObjectMapper objectMapper,
+    @Nonnull OutputStream outputStream
+  ) {
+    this.exportFormat = exportFormat;
+    this.objectMapper = objectMapper;
+    this.recordComponents = elementClass.getRecordComponents();
+    this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    if (exportFormat == ExportFormat.CSV) {
+      writeLine(
+        Arrays.stream(recordComponents)
+          .map(RecordComponent::getName)
+          .collect(Collectors.joining(","))
+      );
+    }
+  }
+
+  @Override
+  public void accept(T element) {
+    if (exportFormat == ExportFormat.NDJSON) {
+      writeLine(objectMapper.writeValueAsString(element));
+    } else {
+      writeLine(
+        Arrays.stream(recordComponents)
+          .map(recordComponent -> toCsvValue(value(recordComponent, element)))
+          .collect(Collectors.joining(","))
+      );
+    }
+  }
+
+  /**
+   * Writes the buffered output to the output stream.
+   */
+  void flush() {
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeLine(String line) {
+    try {
+      writer.write(line);
+      writer.write(exportFormat == ExportFormat.CSV ? "\r\n" : "\n");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Object value(RecordComponent recordComponent, Record element) {
+    try {
+      return recordComponent.getAccessor().invoke(element);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toCsvValue(Object value) {
+    String string = switch (value) {
+      case null -> "";
+      case Collection<?> collection -> collection
+        .stream()
+        .map(String::valueOf)
+        .collect(Collectors.joining(LIST_SEPARATOR));
+      default -> value.toString();
+    };
+    if (StringUtils.containsAny(string, ',', '"', '\r', '\n')) {
+      return '"' + string.replace("\"", "\"\"") + '"';
+    }
+    return string;
+  }
+}
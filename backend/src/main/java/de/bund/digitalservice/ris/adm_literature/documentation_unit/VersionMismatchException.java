@@ -0,0 +1,27 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+/**
+ * Exception thrown when a documentation unit is changed with an {@code If-Match} header, which does not
+ * match its current version, i.e. the client would overwrite changes it has not seen.
+ * <p>
+ * Automatically results in an HTTP 412 response with a standardized
+ * {@link ProblemDetail} body and the current entity tag.
+ */
+public class VersionMismatchException extends ErrorResponseException {
+
+  public VersionMismatchException(String currentETag) {
+    super(
+      HttpStatus.PRECONDITION_FAILED,
+      ProblemDetail.forStatusAndDetail(
+        HttpStatus.PRECONDITION_FAILED,
+        "The documentation unit has been changed in the meantime"
+      ),
+      null
+    );
+    getHeaders().setETag(currentETag);
+  }
+}
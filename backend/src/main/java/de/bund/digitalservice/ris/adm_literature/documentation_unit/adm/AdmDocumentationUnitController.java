@@ -2,20 +2,31 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.adm;
 
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnit;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitETags;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitsOverviewResponse;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.ExportFormat;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.JsonMergePatch;
+import de.bund.digitalservice.ris.adm_literature.page.CountStrategy;
 import de.bund.digitalservice.ris.adm_literature.page.PageResponse;
 import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +39,9 @@ import tools.jackson.databind.JsonNode;
 @RequiredArgsConstructor
 public class AdmDocumentationUnitController {
 
+  /**
+   * Sortable properties of the overview, which are sorted by the sort keys of the index.
+   */
   private static final Set<String> INDEX_ALIASES = Set.of(
     "langueberschrift",
     "fundstellen",
@@ -49,6 +63,11 @@ public class AdmDocumentationUnitController {
    * @param sortByProperty   Sort by what property?
    * @param sortDirection    Sort ascending or descending?
    * @param usePagination    Search with pagination?
+   * @param readYourWrites   Update the index with all committed changes before searching?
+   * @param q                Full-text search terms, the results are ordered by relevance if set.
+   * @param cursor           Continuation token of keyset pagination, empty for the first page. Without
+   *                         cursor, the page is selected by pageNumber.
+   * @param countStrategy    How to determine the total number of elements of an offset page?
    * @return Paginated list of document units
    */
   @GetMapping("api/adm/documentation-units")
@@ -63,10 +82,14 @@ public class AdmDocumentationUnitController {
     @RequestParam(defaultValue = "10") int pageSize,
     @RequestParam(defaultValue = "documentNumber") String sortByProperty,
     @RequestParam(defaultValue = "DESC") Sort.Direction sortDirection,
-    @RequestParam(defaultValue = "true") boolean usePagination
+    @RequestParam(defaultValue = "true") boolean usePagination,
+    @RequestParam(defaultValue = "false") boolean readYourWrites,
+    @RequestParam(required = false) String q,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "EXACT") CountStrategy countStrategy
   ) {
     String resolvedSortByProperty = INDEX_ALIASES.contains(sortByProperty)
-      ? "documentationUnitIndex." + sortByProperty
+      ? "documentationUnitIndex.sortKeys." + sortByProperty
       : sortByProperty;
 
     QueryOptions queryOptions = new QueryOptions(
@@ -74,7 +97,9 @@ public class AdmDocumentationUnitController {
       pageSize,
       resolvedSortByProperty,
       sortDirection,
-      usePagination
+      usePagination,
+      cursor,
+      countStrategy
     );
 
     var paginatedDocumentationUnits =
@@ -84,7 +109,9 @@ public class AdmDocumentationUnitController {
           StringUtils.trimToNull(langueberschrift),
           StringUtils.trimToNull(fundstellen),
           StringUtils.trimToNull(zitierdaten),
-          queryOptions
+          queryOptions,
+          readYourWrites,
+          StringUtils.trimToNull(q)
         )
       );
     return ResponseEntity.ok(
@@ -96,16 +123,112 @@ public class AdmDocumentationUnitController {
   }
 
   /**
-   * Returns a single documentation unit by its document number
+   * Exports all documentation units matching the filters as overview elements. The elements are written to
+   * the response while they are read from the database, so that the export of any number of documentation
+   * units needs constant memory.
+   *
+   * @param documentNumber   Filter by documentNumber.
+   * @param langueberschrift Filter by langueberschrift.
+   * @param fundstellen      Filter by fundstellen.
+   * @param zitierdaten      Filter by zitierdaten.
+   * @param sortByProperty   Sort by what property?
+   * @param sortDirection    Sort ascending or descending?
+   * @param readYourWrites   Update the index with all committed changes before searching?
+   * @param q                Full-text search terms, the results are ordered by relevance if set.
+   * @param format           The format of the export
+   * @param response         The response to write the export to
+   * @throws IOException if the response cannot be written
+   */
+  @GetMapping("api/adm/documentation-units/export")
+  public void export(
+    @RequestParam(value = "documentNumber", required = false) String documentNumber,
+    @RequestParam(value = "langueberschrift", required = false) String langueberschrift,
+    @RequestParam(value = "fundstellen", required = false) String fundstellen,
+    @RequestParam(value = "zitierdaten", required = false) String zitierdaten,
+    @RequestParam(defaultValue = "documentNumber") String sortByProperty,
+    @RequestParam(defaultValue = "DESC") Sort.Direction sortDirection,
+    @RequestParam(defaultValue = "false") boolean readYourWrites,
+    @RequestParam(required = false) String q,
+    @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+    HttpServletResponse response
+  ) throws IOException {
+    String resolvedSortByProperty = INDEX_ALIASES.contains(sortByProperty)
+      ? "documentationUnitIndex.sortKeys." + sortByProperty
+      : sortByProperty;
+
+    QueryOptions queryOptions = new QueryOptions(
+      0,
+      0,
+      resolvedSortByProperty,
+      sortDirection,
+      false
+    );
+
+    response.setContentType(format.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8);
+    response.setHeader(
+      HttpHeaders.CONTENT_DISPOSITION,
+      ContentDisposition.attachment()
+        .filename("adm-documentation-units." + format.getFileExtension())
+        .build()
+        .toString()
+    );
+    documentationUnitService.exportAdmDocumentationUnitOverviewElements(
+      new AdmDocumentationUnitQuery(
+        StringUtils.trimToNull(documentNumber),
+        StringUtils.trimToNull(langueberschrift),
+        StringUtils.trimToNull(fundstellen),
+        StringUtils.trimToNull(zitierdaten),
+        queryOptions,
+        readYourWrites,
+        StringUtils.trimToNull(q)
+      ),
+      format,
+      response.getOutputStream()
+    );
+  }
+
+  /**
+   * Returns the documentation units with the given document numbers. The documentation units are read with
+   * a single query instead of one request per documentation unit.
+   *
+   * @param documentNumbers The document numbers of the documentation units to be returned, at most
+   *                        {@value DocumentationUnitService#MAX_BATCH_SIZE}
+   * @return The found documentation units in the order of the given document numbers, unknown document
+   *         numbers are skipped, or HTTP 400 if too many document numbers are given
+   */
+  @GetMapping("api/adm/documentation-units/batch")
+  public List<DocumentationUnit> findAll(@RequestParam List<String> documentNumbers) {
+    return documentationUnitService.findAllByDocumentNumbers(documentNumbers);
+  }
+
+  /**
+   * Returns a single documentation unit by its document number. The version of the documentation unit is
+   * returned as entity tag. If the {@code If-None-Match} header matches the current version, only the
+   * version is read and the documentation unit is neither read nor converted.
    *
    * @param documentNumber The document number of the document unit to be returned
-   * @return The document unit or HTTP 404 if not found
+   * @param ifNoneMatch    The entity tags of the versions known by the client
+   * @return The document unit, HTTP 304 if the client has the current version or HTTP 404 if not found
    */
   @GetMapping("api/adm/documentation-units/{documentNumber}")
-  public ResponseEntity<DocumentationUnit> find(@PathVariable String documentNumber) {
+  public ResponseEntity<DocumentationUnit> find(
+    @PathVariable String documentNumber,
+    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+  ) {
+    if (ifNoneMatch != null) {
+      Optional<Long> currentVersion = documentationUnitService
+        .findVersion(documentNumber)
+        .filter(version -> DocumentationUnitETags.matchesIfNoneMatch(ifNoneMatch, version));
+      if (currentVersion.isPresent()) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(DocumentationUnitETags.of(currentVersion.get()))
+          .build();
+      }
+    }
     return documentationUnitService
       .findByDocumentNumber(documentNumber)
-      .map(ResponseEntity::ok)
+      .map(AdmDocumentationUnitController::withETag)
       .orElse(ResponseEntity.notFound().build());
   }
 
@@ -121,21 +244,73 @@ public class AdmDocumentationUnitController {
     return documentationUnitService.create(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
   }
 
+  /**
+   * Imports documentation units from an NDJSON body, one item with the {@code category} and either the
+   * {@code json} or the {@code xml} of a documentation unit per line. Only
+   * {@code VERWALTUNGSVORSCHRIFTEN} can be imported. The items are created in batches, a result with the
+   * line and the new document number or the error is streamed as NDJSON for each item once its batch is
+   * committed.
+   *
+   * @param request  The request to read the items from
+   * @param response The response to write the results to
+   * @throws IOException if the request cannot be read or the response cannot be written
+   */
+  @PostMapping(value = "api/adm/documentation-units/import", consumes = "application/x-ndjson")
+  public void importDocumentationUnits(HttpServletRequest request, HttpServletResponse response)
+    throws IOException {
+    response.setContentType(ExportFormat.NDJSON.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8);
+    documentationUnitService.importDocumentationUnits(
+      Set.of(DocumentCategory.VERWALTUNGSVORSCHRIFTEN),
+      request.getInputStream(),
+      response.getOutputStream()
+    );
+  }
+
   /**
    * Updates a documentation unit
    *
    * @param documentNumber    The document number of the document to update
    * @param documentationUnit The JSON of the documentation unit to update
-   * @return The updated documentation unit or HTTP 404 if not found
+   * @param ifMatch           The entity tags of the version to update, optional
+   * @return The updated documentation unit, HTTP 404 if not found or HTTP 412 if the documentation unit
+   *         has been changed after the version given in the {@code If-Match} header
    */
   @PutMapping("api/adm/documentation-units/{documentNumber}")
   public ResponseEntity<DocumentationUnit> update(
     @PathVariable String documentNumber,
-    @RequestBody JsonNode documentationUnit
+    @RequestBody JsonNode documentationUnit,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     return documentationUnitService
-      .update(documentNumber, documentationUnit.toString())
-      .map(ResponseEntity::ok)
+      .update(documentNumber, documentationUnit.toString(), ifMatch)
+      .map(AdmDocumentationUnitController::withETag)
+      .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Updates a documentation unit with a JSON merge patch (RFC 7386), which only contains the changed
+   * properties, e.g. for an autosave. Only changes of indexed properties update the index.
+   *
+   * @param documentNumber The document number of the document to update
+   * @param mergePatch     The merge patch of the JSON of the documentation unit
+   * @param ifMatch        The entity tags of the version to update, optional
+   * @return The updated documentation unit, HTTP 400 if the merge patch is not a JSON object, HTTP 404 if
+   *         not found or HTTP 412 if the documentation unit has been changed after the version given in the
+   *         {@code If-Match} header
+   */
+  @PatchMapping(
+    value = "api/adm/documentation-units/{documentNumber}",
+    consumes = JsonMergePatch.MEDIA_TYPE
+  )
+  public ResponseEntity<DocumentationUnit> patch(
+    @PathVariable String documentNumber,
+    @RequestBody JsonNode mergePatch,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+  ) {
+    return documentationUnitService
+      .patch(documentNumber, mergePatch, ifMatch)
+      .map(AdmDocumentationUnitController::withETag)
       .orElse(ResponseEntity.notFound().build());
   }
 
@@ -144,9 +319,11 @@ public class AdmDocumentationUnitController {
    *
    * @param documentNumber           The document number of the document to publish
    * @param admDocumentationUnitContent The documentation unit content to publish
+   * @param ifMatch                  The entity tags of the version to publish, optional
    * @return The published documentation unit or
    *         <br>- HTTP 400 if input not valid
    *         <br>- HTTP 404 if not found
+   *         <br>- HTTP 412 if the documentation unit has been changed after the version given in If-Match
    *         <br>- HTTP 503 if the external publishing service is unavailable
    */
   @ApiResponses(
@@ -171,6 +348,11 @@ public class AdmDocumentationUnitController {
         description = "Documentation unit with the given number was not found",
         content = @Content
       ),
+      @ApiResponse(
+        responseCode = "412",
+        description = "The documentation unit has been changed after the version given in If-Match",
+        content = @Content
+      ),
       @ApiResponse(
         responseCode = "503",
         description = "The external publishing service is unavailable",
@@ -181,14 +363,22 @@ public class AdmDocumentationUnitController {
   @PutMapping("api/adm/documentation-units/{documentNumber}/publish")
   public ResponseEntity<DocumentationUnit> publish(
     @PathVariable String documentNumber,
-    @RequestBody @Valid AdmDocumentationUnitContent admDocumentationUnitContent
+    @RequestBody @Valid AdmDocumentationUnitContent admDocumentationUnitContent,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     Optional<DocumentationUnit> optionalDocumentationUnit = documentationUnitService.publish(
       documentNumber,
-      admDocumentationUnitContent
+      admDocumentationUnitContent,
+      ifMatch
     );
     return optionalDocumentationUnit
-      .map(ResponseEntity::ok)
+      .map(AdmDocumentationUnitController::withETag)
       .orElse(ResponseEntity.notFound().build());
   }
+
+  private static ResponseEntity<DocumentationUnit> withETag(DocumentationUnit documentationUnit) {
+    return ResponseEntity.ok()
+      .eTag(DocumentationUnitETags.of(documentationUnit.version()))
+      .body(documentationUnit);
+  }
 }
@@ -11,11 +11,63 @@ import jakarta.annotation.Nonnull;
  * @param fundstellen Fundstellen to search for
  * @param zitierdaten Zitierdaten to search for
  * @param queryOptions Page query options
+ * @param readYourWrites {@code true} if the index must contain all committed changes
+ * @param q Full-text search terms, the results are ordered by relevance if set
  */
 public record AdmDocumentationUnitQuery(
   String documentNumber,
   String langueberschrift,
   String fundstellen,
   String zitierdaten,
-  @Nonnull QueryOptions queryOptions
-) {}
+  @Nonnull QueryOptions queryOptions,
+  boolean readYourWrites,
+  String q
+) {
+  /**
+   * Creates a query without full-text search.
+   *
+   * @param documentNumber DocumentNumber to search for
+   * @param langueberschrift Langueberschrift to search for
+   * @param fundstellen Fundstellen to search for
+   * @param zitierdaten Zitierdaten to search for
+   * @param queryOptions Page query options
+   * @param readYourWrites {@code true} if the index must contain all committed changes
+   */
+  public AdmDocumentationUnitQuery(
+    String documentNumber,
+    String langueberschrift,
+    String fundstellen,
+    String zitierdaten,
+    @Nonnull QueryOptions queryOptions,
+    boolean readYourWrites
+  ) {
+    this(
+      documentNumber,
+      langueberschrift,
+      fundstellen,
+      zitierdaten,
+      queryOptions,
+      readYourWrites,
+      null
+    );
+  }
+
+  /**
+   * Creates a query on the possibly lagging index.
+   *
+   * @param documentNumber DocumentNumber to search for
+   * @param langueberschrift Langueberschrift to search for
+   * @param fundstellen Fundstellen to search for
+   * @param zitierdaten Zitierdaten to search for
+   * @param queryOptions Page query options
+   */
+  public AdmDocumentationUnitQuery(
+    String documentNumber,
+    String langueberschrift,
+    String fundstellen,
+    String zitierdaten,
+    @Nonnull QueryOptions queryOptions
+  ) {
+    this(documentNumber, langueberschrift, fundstellen, zitierdaten, queryOptions, false);
+  }
+}
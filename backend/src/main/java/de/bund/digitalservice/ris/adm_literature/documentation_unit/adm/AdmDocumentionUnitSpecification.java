@@ -10,6 +10,10 @@ import org.springframework.util.StringUtils;
 
 /**
  * JPA specification for querying documentation units by documentNumber, langueberschrift and fundstellen.
+ * <p>
+ * The substring searches compare {@code lower(column)}, which matches the trigram indexes of the searched
+ * columns.
+ * </p>
  */
 @RequiredArgsConstructor
 public class AdmDocumentionUnitSpecification implements Specification<DocumentationUnitEntity> {
@@ -34,19 +38,23 @@ public class AdmDocumentionUnitSpecification implements Specification<Documentat
         )
       );
     }
-    if (StringUtils.hasText(fundstellen)) {
+    if (
+      StringUtils.hasText(fundstellen) ||
+      StringUtils.hasText(langueberschrift) ||
+      StringUtils.hasText(zitierdaten)
+    ) {
+      // A single join, so that the index conditions are evaluated on one row of documentation_unit_index
       var index = root.join("documentationUnitIndex", JoinType.LEFT);
+      var admIndex = index.get("admIndex");
 
-      predicates.add(
-        criteriaBuilder.like(
-          criteriaBuilder.lower(index.get("fundstellenCombined")),
-          sqlContains(fundstellen)
-        )
-      );
-    }
-    if (StringUtils.hasText(langueberschrift) || StringUtils.hasText(zitierdaten)) {
-      var admIndex = root.join("documentationUnitIndex", JoinType.LEFT).get("admIndex");
-
+      if (StringUtils.hasText(fundstellen)) {
+        predicates.add(
+          criteriaBuilder.like(
+            criteriaBuilder.lower(index.get("fundstellenCombined")),
+            sqlContains(fundstellen)
+          )
+        );
+      }
       if (StringUtils.hasText(langueberschrift)) {
         predicates.add(
           criteriaBuilder.like(
@@ -0,0 +1,38 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Checkpoint of an index job run, which allows a crashed or redeployed instance to resume the run.
+ *
+ * @param startedAt                 The timestamp the run started
+ * @param lastDocumentNumber        Document number of the last documentation unit whose index entry is
+ *                                  saved, all documentation units before are saved, too. {@code null} if no
+ *                                  batch is saved yet
+ * @param lastDocumentationUnitId   Id of the last documentation unit whose index entry is saved
+ * @param processed                 Number of processed documentation units
+ */
+record DocumentationUnitIndexCheckpoint(
+  LocalDateTime startedAt,
+  String lastDocumentNumber,
+  UUID lastDocumentationUnitId,
+  long processed
+) {
+  /**
+   * Returns the keyset position to continue scrolling through the documentation units ordered by document
+   * number.
+   *
+   * @return The keyset position after the last saved documentation unit
+   */
+  ScrollPosition position() {
+    if (lastDocumentNumber == null) {
+      return ScrollPosition.keyset();
+    }
+    return ScrollPosition.forward(
+      Map.of("documentNumber", lastDocumentNumber, "id", lastDocumentationUnitId)
+    );
+  }
+}
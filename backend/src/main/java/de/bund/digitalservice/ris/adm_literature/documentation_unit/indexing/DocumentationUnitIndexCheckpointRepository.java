@@ -0,0 +1,103 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import jakarta.annotation.Nonnull;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the table {@code documentation_unit_index_checkpoint}, which holds the checkpoint of
+ * a running index job per job name. The checkpoint is deleted when the run is finished.
+ */
+@Repository
+@RequiredArgsConstructor
+class DocumentationUnitIndexCheckpointRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns the checkpoint of an unfinished run of the given job.
+   *
+   * @param job The name of the job
+   * @return The checkpoint or empty if there is no unfinished run
+   */
+  Optional<DocumentationUnitIndexCheckpoint> find(@Nonnull String job) {
+    return jdbcTemplate
+      .query(
+        """
+        SELECT started_at, last_document_number, last_documentation_unit_id, processed
+        FROM documentation_unit_index_checkpoint
+        WHERE job = ?
+        """,
+        (rs, _) ->
+          new DocumentationUnitIndexCheckpoint(
+            rs.getTimestamp("started_at").toLocalDateTime(),
+            rs.getString("last_document_number"),
+            rs.getObject("last_documentation_unit_id", UUID.class),
+            rs.getLong("processed")
+          ),
+        job
+      )
+      .stream()
+      .findFirst();
+  }
+
+  /**
+   * Starts a new run of the given job, replacing the checkpoint of an unfinished run.
+   *
+   * @param job The name of the job
+   * @param startedAt The timestamp the run started
+   */
+  void start(@Nonnull String job, @Nonnull LocalDateTime startedAt) {
+    jdbcTemplate.update(
+      """
+      INSERT INTO documentation_unit_index_checkpoint (job, started_at) VALUES (?, ?)
+      ON CONFLICT (job) DO UPDATE SET started_at = excluded.started_at,
+        last_document_number = NULL, last_documentation_unit_id = NULL, processed = 0, updated_at = now()
+      """,
+      job,
+      Timestamp.valueOf(startedAt)
+    );
+  }
+
+  /**
+   * Moves the checkpoint of the given job forward.
+   *
+   * @param job The name of the job
+   * @param lastDocumentNumber Document number of the last saved documentation unit
+   * @param lastDocumentationUnitId Id of the last saved documentation unit
+   * @param processed Number of additionally processed documentation units
+   */
+  void advance(
+    @Nonnull String job,
+    @Nonnull String lastDocumentNumber,
+    @Nonnull UUID lastDocumentationUnitId,
+    long processed
+  ) {
+    jdbcTemplate.update(
+      """
+      UPDATE documentation_unit_index_checkpoint
+      SET last_document_number = ?, last_documentation_unit_id = ?, processed = processed + ?,
+        updated_at = now()
+      WHERE job = ?
+      """,
+      lastDocumentNumber,
+      lastDocumentationUnitId,
+      processed,
+      job
+    );
+  }
+
+  /**
+   * Deletes the checkpoint of the given job after the run is finished.
+   *
+   * @param job The name of the job
+   */
+  void delete(@Nonnull String job) {
+    jdbcTemplate.update("DELETE FROM documentation_unit_index_checkpoint WHERE job = ?", job);
+  }
+}
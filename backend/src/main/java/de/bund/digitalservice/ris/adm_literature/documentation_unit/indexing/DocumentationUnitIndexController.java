@@ -0,0 +1,30 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for information on the documentation unit index.
+ */
+@RestController
+@RequiredArgsConstructor
+public class DocumentationUnitIndexController {
+
+  private final DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+
+  /**
+   * Returns the lag of the documentation unit index behind the saved documentation units. The schema is
+   * determined by the request path.
+   *
+   * @return Number of documentation units waiting for an index update, the age of the oldest waiting
+   *         index update and the guaranteed maximum staleness of overview searches
+   */
+  @GetMapping(
+    { "api/adm/documentation-units-index/lag", "api/literature/documentation-units-index/lag" }
+  )
+  public ResponseEntity<DocumentationUnitIndexLag> getLag() {
+    return ResponseEntity.ok(documentationUnitIndexOutboxService.getLag());
+  }
+}
@@ -3,16 +3,20 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /**
  * Documentation unit index JPA entity.
  */
 @Entity
+@EntityListeners(AuditingEntityListener.class)
 @Data
 @EqualsAndHashCode(exclude = "documentationUnit")
 @ToString(exclude = "documentationUnit")
@@ -38,6 +42,30 @@ public class DocumentationUnitIndexEntity {
   @Embedded
   private LiteratureIndex literatureIndex;
 
+  @Embedded
+  private SortKeys sortKeys;
+
+  /**
+   * Timestamp of the last update of this index entry. A full index rebuild keeps entries which were
+   * updated after the rebuild started.
+   */
+  @LastModifiedDate
+  private LocalDateTime updatedAt;
+
+  /**
+   * Fingerprint of the indexed properties of the json content, used for skipping updates of the index if
+   * no indexed property changed. {@code null} if the index is not created from json.
+   */
+  @Basic
+  private String contentHash;
+
+  /**
+   * German full-text search vector of Langüberschrift, Titel, Fundstellen, Zitierdaten and Verfasser. The
+   * column is generated by the database, so it is never written and not refreshed after saving.
+   */
+  @Column(columnDefinition = "tsvector", insertable = false, updatable = false)
+  private String searchVector;
+
   /**
    * Returns an instance of {@link AdmIndex}. If the current instance is {@code null} then
    * a new instance is created, assigned and returned.
@@ -63,4 +91,17 @@ public class DocumentationUnitIndexEntity {
     }
     return literatureIndex;
   }
+
+  /**
+   * Returns an instance of {@link SortKeys}. If the current instance is {@code null} then
+   * a new instance is created, assigned and returned.
+   * @return Instance of {@code SortKeys}
+   */
+  @Nonnull
+  public SortKeys getSortKeys() {
+    if (sortKeys == null) {
+      sortKeys = new SortKeys();
+    }
+    return sortKeys;
+  }
 }
@@ -1,7 +1,10 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
 
 import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.config.scheduling.ClusterJobLock;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -10,32 +13,60 @@ import org.springframework.util.StopWatch;
 
 /**
  * Cron job for executing indexing of documentation units.
+ * <p>
+ * Each database schema is a shard of the jobs: if several instances start a job at the same time, each
+ * schema is indexed by exactly one of them.
+ * </p>
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentationUnitIndexJob {
 
+  private static final List<SchemaType> SCHEMAS = List.of(SchemaType.ADM, SchemaType.LITERATURE);
+
   private final DocumentationUnitIndexService documentationUnitIndexService;
+  private final ClusterJobLock clusterJobLock;
 
   /**
-   * Execute indexing of all documentation units without documentation unit index.
+   * Execute indexing of all documentation units without documentation unit index. Afterward, a pending
+   * rebuild of the index is executed, e.g. one requested by a migration which added an index column.
    */
   @Scheduled(cron = "${cronjob.DocumentationUnitIndexJob:-}", zone = "Europe/Berlin")
   public void indexAll() {
-    indexSchema(SchemaType.ADM);
-    indexSchema(SchemaType.LITERATURE);
+    clusterJobLock.runSharded("DocumentationUnitIndexJob", SCHEMAS, schemaType -> {
+      indexSchema(schemaType, "Indexing", documentationUnitIndexService::updateIndex);
+      if (documentationUnitIndexService.isRebuildPending(schemaType)) {
+        indexSchema(schemaType, "Rebuilding index of", documentationUnitIndexService::rebuildIndex);
+      }
+    });
+  }
+
+  /**
+   * Execute a full rebuild of the index of all documentation units. The job is disabled by default and is
+   * meant to be enabled once after the index shape changed.
+   */
+  @Scheduled(cron = "${cronjob.DocumentationUnitIndexRebuildJob:-}", zone = "Europe/Berlin")
+  public void rebuildAll() {
+    clusterJobLock.runSharded("DocumentationUnitIndexRebuildJob", SCHEMAS, schemaType ->
+      indexSchema(schemaType, "Rebuilding index of", documentationUnitIndexService::rebuildIndex)
+    );
   }
 
-  private void indexSchema(SchemaType schemaType) {
+  private void indexSchema(
+    SchemaType schemaType,
+    String action,
+    ToLongFunction<SchemaType> indexFunction
+  ) {
     StopWatch stopWatch = new StopWatch(
-      String.format("Index documentation units in database schema %s.", schemaType)
+      String.format("%s documentation units in database schema %s.", action, schemaType)
     );
     stopWatch.start();
-    long totalNumberOfElements = documentationUnitIndexService.updateIndex(schemaType);
+    long totalNumberOfElements = indexFunction.applyAsLong(schemaType);
     stopWatch.stop();
     log.info(
-      "Indexing {} documentation units in database schema {} finished. \n{}",
+      "{} {} documentation units in database schema {} finished. \n{}",
+      action,
       totalNumberOfElements,
       schemaType,
       stopWatch.prettyPrint(TimeUnit.SECONDS)
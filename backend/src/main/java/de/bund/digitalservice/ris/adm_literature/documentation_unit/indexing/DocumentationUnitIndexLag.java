@@ -0,0 +1,17 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import java.time.Duration;
+
+/**
+ * Lag of the documentation unit index behind the saved documentation units.
+ *
+ * @param pendingDocumentationUnits Number of documentation units waiting for an index update
+ * @param lag                       Age of the oldest waiting index update, zero if there is none
+ * @param maxStaleness              Maximum age of a waiting index update, before overview searches update
+ *                                  the index themselves
+ */
+public record DocumentationUnitIndexLag(
+  long pendingDocumentationUnits,
+  Duration lag,
+  Duration maxStaleness
+) {}
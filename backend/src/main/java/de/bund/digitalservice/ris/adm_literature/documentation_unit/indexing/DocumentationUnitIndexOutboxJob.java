@@ -0,0 +1,34 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cron job for processing the index outbox, i.e. updating the index of saved documentation units.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentationUnitIndexOutboxJob {
+
+  private final DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+
+  /**
+   * Execute index updates requested by saving documentation units.
+   */
+  @Scheduled(cron = "${cronjob.DocumentationUnitIndexOutboxJob:-}", zone = "Europe/Berlin")
+  public void processAll() {
+    processSchema(SchemaType.ADM);
+    processSchema(SchemaType.LITERATURE);
+  }
+
+  private void processSchema(SchemaType schemaType) {
+    long processed = documentationUnitIndexOutboxService.processOutbox(schemaType);
+    if (processed > 0) {
+      log.info("Updated {} index entries in database schema {}.", processed, schemaType);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the outbox table {@code documentation_unit_index_outbox}, which holds the documentation
+ * units waiting for an update of their index.
+ * <p>
+ * There is at most one entry per documentation unit: saving a documentation unit several times before its
+ * index is updated results in a single index update.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+class DocumentationUnitIndexOutboxRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Adds the documentation unit with the given id to the outbox. If it is already in the outbox, the
+   * existing entry is kept, but the statement waits until an index update in progress for this entry is
+   * committed, so that the change is not lost.
+   *
+   * @param documentationUnitId The id of the documentation unit
+   */
+  void enqueue(@Nonnull UUID documentationUnitId) {
+    jdbcTemplate.update(
+      """
+      INSERT INTO documentation_unit_index_outbox (documentation_unit_id) VALUES (?)
+      ON CONFLICT (documentation_unit_id) DO UPDATE SET updated_at = now()
+      """,
+      documentationUnitId
+    );
+  }
+
+  /**
+   * Locks the oldest entries of the outbox until the end of the current transaction.
+   *
+   * @param limit Maximum number of entries to lock
+   * @param skipLocked {@code true} to skip entries locked by another transaction, {@code false} to wait
+   *                   until the other transaction is finished
+   * @return The ids of the documentation units of the locked entries
+   */
+  List<UUID> lock(int limit, boolean skipLocked) {
+    return jdbcTemplate.queryForList(
+      """
+      SELECT documentation_unit_id FROM documentation_unit_index_outbox
+      ORDER BY created_at
+      LIMIT ?
+      FOR UPDATE
+      """ +
+        (skipLocked ? " SKIP LOCKED" : ""),
+      UUID.class,
+      limit
+    );
+  }
+
+  /**
+   * Returns the current timestamp of the database, comparable to the creation time of the entries.
+   *
+   * @return The current timestamp of the database
+   */
+  LocalDateTime currentTimestamp() {
+    return jdbcTemplate.queryForObject("SELECT localtimestamp", LocalDateTime.class);
+  }
+
+  /**
+   * Checks whether the outbox holds entries created until the given timestamp, including entries which are
+   * locked by another transaction.
+   *
+   * @param timestamp The timestamp, see {@link #currentTimestamp()}
+   * @return {@code true} if there is at least one such entry
+   */
+  boolean existsCreatedUntil(@Nonnull LocalDateTime timestamp) {
+    return Boolean.TRUE.equals(
+      jdbcTemplate.queryForObject(
+        "SELECT EXISTS (SELECT 1 FROM documentation_unit_index_outbox WHERE created_at <= ?)",
+        Boolean.class,
+        timestamp
+      )
+    );
+  }
+
+  /**
+   * Deletes the entries of the given documentation units from the outbox.
+   *
+   * @param documentationUnitIds The ids of the documentation units
+   */
+  void delete(@Nonnull List<UUID> documentationUnitIds) {
+    jdbcTemplate.update(
+      "DELETE FROM documentation_unit_index_outbox WHERE documentation_unit_id = ANY (?)",
+      ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", documentationUnitIds.toArray()))
+    );
+  }
+
+  /**
+   * Returns the number of entries and the age of the oldest entry of the outbox.
+   *
+   * @param maxStaleness The configured maximum staleness, passed through to the result
+   * @return The lag of the index
+   */
+  DocumentationUnitIndexLag findLag(@Nonnull Duration maxStaleness) {
+    return jdbcTemplate.queryForObject(
+      """
+      SELECT count(*) AS pending,
+             coalesce(extract(EPOCH FROM localtimestamp - min(created_at)) * 1000, 0)::bigint AS lag
+      FROM documentation_unit_index_outbox
+      """,
+      (rs, _) ->
+        new DocumentationUnitIndexLag(
+          rs.getLong("pending"),
+          Duration.ofMillis(Math.max(0, rs.getLong("lag"))),
+          maxStaleness
+        )
+    );
+  }
+}
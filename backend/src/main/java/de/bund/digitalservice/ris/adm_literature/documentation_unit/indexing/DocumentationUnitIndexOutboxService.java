@@ -0,0 +1,143 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitRepository;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for updating the documentation unit index asynchronously via a transactional outbox.
+ * <p>
+ * Saving a documentation unit only adds an entry to the outbox within the same transaction. The
+ * {@link DocumentationUnitIndexOutboxJob} processes the outbox in batches afterward. Thus, the index may lag
+ * behind the saved documentation units. The lag is bounded by {@code indexing.outbox.max-staleness}: if the
+ * oldest entry of the outbox is older, overview searches process the outbox themselves before searching.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentationUnitIndexOutboxService {
+
+  private final DocumentationUnitIndexOutboxRepository documentationUnitIndexOutboxRepository;
+  private final DocumentationUnitRepository documentationUnitRepository;
+  private final DocumentationUnitIndexService documentationUnitIndexService;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${indexing.outbox.batch-size:100}")
+  private int batchSize;
+
+  @Value("${indexing.outbox.max-staleness:PT10S}")
+  private Duration maxStaleness;
+
+  /**
+   * Requests an index update for the given documentation unit. The request is committed together with
+   * the documentation unit.
+   *
+   * @param documentationUnitEntity The documentation unit entity for which the index is to be updated
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueue(@Nonnull DocumentationUnitEntity documentationUnitEntity) {
+    documentationUnitIndexOutboxRepository.enqueue(documentationUnitEntity.getId());
+    log.debug(
+      "Requested index update for documentation unit with document number: {}.",
+      documentationUnitEntity.getDocumentNumber()
+    );
+  }
+
+  /**
+   * Requests an index update for the documentation unit with the given id. The request is committed together
+   * with the documentation unit.
+   *
+   * @param documentationUnitId The id of the documentation unit for which the index is to be updated
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueue(@Nonnull UUID documentationUnitId) {
+    documentationUnitIndexOutboxRepository.enqueue(documentationUnitId);
+    log.debug("Requested index update for documentation unit with id: {}.", documentationUnitId);
+  }
+
+  /**
+   * Processes all entries of the outbox of the given schema. Entries which are processed concurrently by
+   * another instance are skipped.
+   *
+   * @param schemaType The schema to use
+   * @return Number of updated index entries
+   */
+  public long processOutbox(@NonNull SchemaType schemaType) {
+    return SchemaContextHolder.callInSchema(schemaType, () -> drainOutbox(true));
+  }
+
+  /**
+   * Ensures that overview searches of the current schema see an up-to-date index: the outbox is processed
+   * if {@code readYourWrites} is set or if the index lags behind more than the configured maximum staleness.
+   * Entries which are processed concurrently by the {@link DocumentationUnitIndexOutboxJob} are waited for.
+   *
+   * @param readYourWrites {@code true} if all changes committed before must be visible in the index
+   */
+  public void awaitIndex(boolean readYourWrites) {
+    if (readYourWrites || getLag().lag().compareTo(maxStaleness) > 0) {
+      long processed = drainOutbox(false);
+      log.info("Updated {} index entries before searching.", processed);
+    }
+  }
+
+  /**
+   * Returns the lag of the index of the current schema.
+   *
+   * @return The lag of the index
+   */
+  public DocumentationUnitIndexLag getLag() {
+    return documentationUnitIndexOutboxRepository.findLag(maxStaleness);
+  }
+
+  /**
+   * Processes batches until no entry is left. A short batch does not mean that the outbox is drained: entries
+   * which are deleted by a concurrent drain while waiting for their locks are missing in a batch. Therefore,
+   * when waiting for locked entries, the outbox is drained until no entry created before the start is left.
+   */
+  private long drainOutbox(boolean skipLocked) {
+    LocalDateTime startedAt = skipLocked
+      ? null
+      : documentationUnitIndexOutboxRepository.currentTimestamp();
+    long totalNumberOfElements = 0;
+    int numberOfElements;
+    do {
+      Integer processed = transactionTemplate.execute(_ -> processBatch(skipLocked));
+      numberOfElements = processed == null ? 0 : processed;
+      totalNumberOfElements += numberOfElements;
+    } while (
+      numberOfElements > 0 ||
+      (startedAt != null && documentationUnitIndexOutboxRepository.existsCreatedUntil(startedAt))
+    );
+    return totalNumberOfElements;
+  }
+
+  private int processBatch(boolean skipLocked) {
+    List<UUID> documentationUnitIds = documentationUnitIndexOutboxRepository.lock(
+      batchSize,
+      skipLocked
+    );
+    if (documentationUnitIds.isEmpty()) {
+      return 0;
+    }
+    documentationUnitIndexService.updateIndex(
+      documentationUnitRepository.findAllByIdIn(documentationUnitIds)
+    );
+    documentationUnitIndexOutboxRepository.delete(documentationUnitIds);
+    return documentationUnitIds.size();
+  }
+}
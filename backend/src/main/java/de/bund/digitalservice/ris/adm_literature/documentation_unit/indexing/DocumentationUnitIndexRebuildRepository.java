@@ -0,0 +1,263 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the shadow table {@code documentation_unit_index_rebuild}, which is filled during a
+ * full rebuild of the documentation unit index and merged into {@code documentation_unit_index} afterward.
+ * <p>
+ * The shadow table is created with the same columns as {@code documentation_unit_index}, but without
+ * indexes and unlogged, and it is filled with {@code COPY}, so that filling it is cheap. The live table itself is never renamed or dropped,
+ * because the views in schema {@code references_schema} depend on it.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+class DocumentationUnitIndexRebuildRepository {
+
+  /**
+   * All columns except the generated ones, which cannot be written.
+   */
+  private static final String COLUMNS = """
+    id, documentation_unit_id, fundstellen_combined, fundstellen,
+    langueberschrift, inkrafttretedatum, zitierdaten_combined, zitierdaten,
+    normgeber_list_combined, normgeber_list, aktenzeichen_list_combined, aktenzeichen_list, dokumenttyp,
+    titel, veroeffentlichungsjahr, dokumenttypen, dokumenttypen_combined,
+    verfasser_list, verfasser_list_combined, updated_at, content_hash,
+    sort_key_langueberschrift, sort_key_fundstellen, sort_key_zitierdaten, sort_key_titel,
+    sort_key_veroeffentlichungsjahr, sort_key_dokumenttypen, sort_key_verfasser
+    """;
+
+  private static final String COPY_SQL =
+    "COPY documentation_unit_index_rebuild (" + COLUMNS + ") FROM STDIN";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Creates an empty shadow table. A shadow table left over from an aborted rebuild is dropped before.
+   */
+  void createShadowTable() {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS documentation_unit_index_rebuild");
+    jdbcTemplate.execute(
+      "CREATE UNLOGGED TABLE documentation_unit_index_rebuild (LIKE documentation_unit_index INCLUDING DEFAULTS INCLUDING GENERATED)"
+    );
+  }
+
+  /**
+   * Checks whether a filled shadow table of an aborted rebuild exists. An unlogged table survives a restart
+   * of the application, but is emptied after a crash of the database.
+   *
+   * @return {@code true} if the shadow table exists and is not empty
+   */
+  boolean isShadowTableFilled() {
+    Boolean exists = jdbcTemplate.queryForObject(
+      "SELECT to_regclass('documentation_unit_index_rebuild') IS NOT NULL",
+      Boolean.class
+    );
+    return (
+      Boolean.TRUE.equals(exists) &&
+      Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+          "SELECT EXISTS (SELECT 1 FROM documentation_unit_index_rebuild)",
+          Boolean.class
+        )
+      )
+    );
+  }
+
+  /**
+   * Deletes the entries of the shadow table which were saved after the given checkpoint of an aborted
+   * rebuild, i.e. of the documentation units with a lower document number. These documentation units are
+   * indexed again when the rebuild is resumed.
+   *
+   * @param lastDocumentNumber Document number of the last documentation unit of the checkpoint
+   */
+  void deleteFromShadowTableAfter(@Nonnull String lastDocumentNumber) {
+    jdbcTemplate.update(
+      """
+      DELETE FROM documentation_unit_index_rebuild r
+      USING documentation_unit d
+      WHERE d.id = r.documentation_unit_id AND d.document_number < ?
+      """,
+      lastDocumentNumber
+    );
+  }
+
+  /**
+   * Inserts the given index entries into the shadow table with a single {@code COPY} statement, which is
+   * considerably faster than inserting row by row, even with JDBC batching.
+   *
+   * @param documentationUnitIndexEntities The index entries to insert, the ids are generated
+   * @return Number of inserted rows
+   */
+  long insertIntoShadowTable(
+    @Nonnull List<DocumentationUnitIndexEntity> documentationUnitIndexEntities
+  ) {
+    String updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).toString();
+    StringBuilder rows = new StringBuilder();
+    for (DocumentationUnitIndexEntity entity : documentationUnitIndexEntities) {
+      AdmIndex admIndex = entity.getAdmIndex();
+      LiteratureIndex literatureIndex = entity.getLiteratureIndex();
+      SortKeys sortKeys = entity.getSortKeys();
+      CopyRow row = new CopyRow(rows);
+      row.add(UUID.randomUUID().toString());
+      row.add(entity.getDocumentationUnit().getId().toString());
+      row.add(entity.getFundstellenCombined());
+      row.add(entity.getFundstellen());
+      row.add(admIndex.getLangueberschrift());
+      row.add(admIndex.getInkrafttretedatum());
+      row.add(admIndex.getZitierdatenCombined());
+      row.add(admIndex.getZitierdaten());
+      row.add(admIndex.getNormgeberListCombined());
+      row.add(admIndex.getNormgeberList());
+      row.add(admIndex.getAktenzeichenListCombined());
+      row.add(admIndex.getAktenzeichenList());
+      row.add(admIndex.getDokumenttyp());
+      row.add(literatureIndex.getTitel());
+      row.add(literatureIndex.getVeroeffentlichungsjahr());
+      row.add(literatureIndex.getDokumenttypen());
+      row.add(literatureIndex.getDokumenttypenCombined());
+      row.add(literatureIndex.getVerfasserList());
+      row.add(literatureIndex.getVerfasserListCombined());
+      row.add(updatedAt);
+      row.add(entity.getContentHash());
+      row.add(sortKeys.getLangueberschrift());
+      row.add(sortKeys.getFundstellen());
+      row.add(sortKeys.getZitierdaten());
+      row.add(sortKeys.getTitel());
+      row.add(sortKeys.getVeroeffentlichungsjahr());
+      row.add(sortKeys.getDokumenttypen());
+      row.add(sortKeys.getVerfasser());
+      row.end();
+    }
+    Long inserted = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+      try {
+        return connection
+          .unwrap(PGConnection.class)
+          .getCopyAPI()
+          .copyIn(COPY_SQL, new StringReader(rows.toString()));
+      } catch (IOException e) {
+        throw new SQLException("Could not copy into shadow table", e);
+      }
+    });
+    return inserted == null ? 0 : inserted;
+  }
+
+  /**
+   * Merges the shadow table into {@code documentation_unit_index} and drops the shadow table. Must be called
+   * within a transaction, so that concurrent readers see the old index until the transaction commits.
+   * <p>
+   * Concurrent writers are blocked while merging. Index entries which were updated after the rebuild started
+   * (by editing a documentation unit) are newer than the rebuilt ones and are kept. All other entries are
+   * replaced with set-based statements.
+   * </p>
+   *
+   * @param rebuildStartedAt The timestamp the rebuild started
+   * @return Number of index entries taken from the shadow table
+   */
+  int mergeShadowTable(@Nonnull LocalDateTime rebuildStartedAt) {
+    jdbcTemplate.execute("LOCK TABLE documentation_unit_index IN SHARE ROW EXCLUSIVE MODE");
+    jdbcTemplate.update(
+      """
+      DELETE FROM documentation_unit_index_rebuild r
+      USING documentation_unit_index i
+      WHERE i.documentation_unit_id = r.documentation_unit_id AND i.updated_at >= ?
+      """,
+      Timestamp.valueOf(rebuildStartedAt)
+    );
+    jdbcTemplate.update(
+      """
+      DELETE FROM documentation_unit_index i
+      USING documentation_unit_index_rebuild r
+      WHERE i.documentation_unit_id = r.documentation_unit_id
+      """
+    );
+    int merged = jdbcTemplate.update(
+      "INSERT INTO documentation_unit_index (" +
+      COLUMNS +
+      ") SELECT " +
+      COLUMNS +
+      " FROM documentation_unit_index_rebuild"
+    );
+    jdbcTemplate.execute("DROP TABLE documentation_unit_index_rebuild");
+    return merged;
+  }
+
+  /**
+   * A row in the text format of {@code COPY}: columns are separated by tabs, {@code \N} is {@code null}
+   * and backslashes, tabs and line breaks within values are escaped.
+   */
+  private static final class CopyRow {
+
+    private final StringBuilder rows;
+    private boolean first = true;
+
+    private CopyRow(StringBuilder rows) {
+      this.rows = rows;
+    }
+
+    private void add(String value) {
+      if (!first) {
+        rows.append('\t');
+      }
+      first = false;
+      if (value == null) {
+        rows.append("\\N");
+        return;
+      }
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '\\' -> rows.append("\\\\");
+          case '\t' -> rows.append("\\t");
+          case '\n' -> rows.append("\\n");
+          case '\r' -> rows.append("\\r");
+          default -> rows.append(c);
+        }
+      }
+    }
+
+    /**
+     * Adds a {@code text[]} value as array literal, e.g. {@code {"a","b"}}.
+     */
+    private void add(List<String> values) {
+      if (values == null) {
+        add((String) null);
+        return;
+      }
+      StringBuilder literal = new StringBuilder("{");
+      for (int i = 0; i < values.size(); i++) {
+        if (i > 0) {
+          literal.append(',');
+        }
+        String value = values.get(i);
+        if (value == null) {
+          literal.append("NULL");
+        } else {
+          literal
+            .append('"')
+            .append(value.replace("\\", "\\\\").replace("\"", "\\\""))
+            .append('"');
+        }
+      }
+      add(literal.append('}').toString());
+    }
+
+    private void end() {
+      rows.append('\n');
+    }
+  }
+}
@@ -2,30 +2,49 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
 
 import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
 import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnit;
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitContent;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitRepository;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitContent;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.Fundstelle;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.Normgeber;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.converter.LdmlToObjectConverterService;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.IndexingMetrics.Phase;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.LiteratureDocumentationUnitContent;
 import de.bund.digitalservice.ris.adm_literature.lookup_tables.document_type.DocumentType;
 import jakarta.annotation.Nonnull;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Slice;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
 
 /**
  * Documentation unit index service for building an index for documentation units.
@@ -35,80 +54,383 @@ import tools.jackson.databind.ObjectMapper;
 @Slf4j
 public class DocumentationUnitIndexService {
 
-  private static final int INDEX_BATCH_SIZE = 500;
   private static final String SEPARATOR = " ";
 
+  private static final String REBUILD_JOB = "rebuild";
+
+  /**
+   * Json properties of {@link AdmDocumentationUnitContent} and {@link LiteratureDocumentationUnitContent}
+   * which are read for creating the index. Changes of other properties do not change the index.
+   */
+  private static final List<String> INDEXED_PROPERTIES = List.of(
+    "langueberschrift",
+    "fundstellen",
+    "zitierdaten",
+    "inkrafttretedatum",
+    "normgeberList",
+    "aktenzeichen",
+    "dokumenttyp",
+    "hauptsachtitel",
+    "dokumentarischerTitel",
+    "veroeffentlichungsjahr",
+    "dokumenttypen"
+  );
+
   private final DocumentationUnitRepository documentationUnitRepository;
   private final DocumentationUnitIndexRepository documentationUnitIndexRepository;
   private final ObjectMapper objectMapper;
-  private final LdmlToObjectConverterService ldmlToObjectConverterService;
+  private final LdmlIndexExtractor ldmlIndexExtractor;
+  private final IndexingPipeline indexingPipeline;
+  private final DocumentationUnitIndexRebuildRepository documentationUnitIndexRebuildRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final IndexingMetrics indexingMetrics;
+  private final DocumentationUnitIndexCheckpointRepository documentationUnitIndexCheckpointRepository;
+  private final ApplicationEventPublisher applicationEventPublisher;
 
   /**
-   * Updates the index for the given documentation unit entity.
+   * Updates the index for the given documentation unit entity. The update is skipped if none of the indexed
+   * json properties changed since the last update, e.g. on autosave after editing the Kurzreferat.
    *
    * @param documentationUnitEntity The documentation unit entity for which the index is to be updated
    */
   @Transactional(propagation = Propagation.MANDATORY)
   public void updateIndex(DocumentationUnitEntity documentationUnitEntity) {
-    documentationUnitIndexRepository.save(
-      mapDocumentationUnitIndex(createIndex(documentationUnitEntity))
+    if (isIndexUpToDate(documentationUnitEntity)) {
+      log.info(
+        "Index of documentation unit with document number {} is up to date.",
+        documentationUnitEntity.getDocumentNumber()
+      );
+      return;
+    }
+    documentationUnitEntity.setDocumentationUnitIndex(
+      documentationUnitIndexRepository.save(
+        mapDocumentationUnitIndex(createIndex(documentationUnitEntity))
+      )
     );
+    publishIndexUpdated(List.of(documentationUnitEntity));
     log.info(
       "Re-indexed documentation unit with document number: {}.",
       documentationUnitEntity.getDocumentNumber()
     );
   }
 
+  /**
+   * Updates the index for the given documentation unit entities, e.g. requested via the index outbox. Like
+   * {@link #updateIndex(DocumentationUnitEntity)} entities with unchanged indexed properties are skipped.
+   * Exceptions during the extraction are ignored, so that a single broken documentation unit does not block
+   * the others.
+   * Listeners of {@link DocumentationUnitIndexUpdatedEvent} are notified about the re-indexed documentation
+   * units after the commit.
+   *
+   * @param documentationUnitEntities The documentation unit entities for which the index is to be updated
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void updateIndex(@Nonnull Collection<DocumentationUnitEntity> documentationUnitEntities) {
+    List<DocumentationUnitEntity> outdatedDocumentationUnitEntities = documentationUnitEntities
+      .stream()
+      .filter(documentationUnitEntity -> !isIndexUpToDate(documentationUnitEntity))
+      .toList();
+    List<DocumentationUnitIndexEntity> outdatedDocumentationUnitIndexEntities =
+      outdatedDocumentationUnitEntities
+        .stream()
+        .map(documentationUnitEntity ->
+          mapDocumentationUnitIndex(createIndexSafely(documentationUnitEntity))
+        )
+        .toList();
+    List<DocumentationUnitIndexEntity> documentationUnitIndexEntities = indexingMetrics.record(
+      Phase.PERSIST,
+      () -> documentationUnitIndexRepository.saveAll(outdatedDocumentationUnitIndexEntities)
+    );
+    indexingMetrics.indexed(documentationUnitIndexEntities.size());
+    documentationUnitIndexEntities.forEach(documentationUnitIndexEntity ->
+      documentationUnitIndexEntity
+        .getDocumentationUnit()
+        .setDocumentationUnitIndex(documentationUnitIndexEntity)
+    );
+    publishIndexUpdated(outdatedDocumentationUnitEntities);
+    log.info(
+      "Re-indexed {} of {} documentation units.",
+      outdatedDocumentationUnitEntities.size(),
+      documentationUnitEntities.size()
+    );
+  }
+
   /**
    * Execute indexing of all documentation units without documentation unit index.
    * <p>
-   * The method selects all documentation units which are unindexed in batches and extracts
-   * the needed data for the index in parallel. Exceptions during the extraction
-   * are ignored. After extraction a new instance of {@link DocumentationUnitIndexEntity} is
-   * created and saved.
+   * The method scrolls with a keyset cursor through all documentation units which are unindexed and passes
+   * them in batches to the {@link IndexingPipeline}, which extracts the needed data for the index in parallel
+   * and saves the new {@link DocumentationUnitIndexEntity} instances while the next batches are read.
+   * Exceptions during the extraction are ignored.
    * </p>
    * <p>
    * <b>NOTE:</b>This method guarantees that an index is created for each documentation unit
-   * without an index before calling this method.
+   * without an index before calling this method. An aborted run needs no checkpoint: the next run continues
+   * with the documentation units which are still without index.
    * </p>
    *
    * @param schemaType The schema to use
    * @return Number of indexed documents
    */
   public long updateIndex(@NonNull SchemaType schemaType) {
-    SchemaContextHolder.setSchema(schemaType);
+    return SchemaContextHolder.callInSchema(schemaType, () -> updateUnindexed(schemaType));
+  }
+
+  private long updateUnindexed(SchemaType schemaType) {
+    long unindexed = documentationUnitRepository.countByDocumentationUnitIndexIsNull();
+    log.info("Found {} documentation units without index.", unindexed);
+    indexingMetrics.startProgress(schemaType, unindexed, 0);
+    AtomicLong savedNumberOfElements = new AtomicLong();
+    long indexed = indexingPipeline.run(
+      documentationUnits(
+        documentationUnitRepository::findByDocumentationUnitIndexIsNullOrderByDocumentNumberDesc,
+        ScrollPosition.keyset()
+      ),
+      documentationUnitEntity ->
+        mapDocumentationUnitIndex(createIndexSafely(documentationUnitEntity)),
+      documentationUnitIndexEntities -> {
+        indexingMetrics.record(Phase.PERSIST, () ->
+          documentationUnitIndexRepository.saveAll(documentationUnitIndexEntities)
+        );
+        indexingMetrics.indexed(documentationUnitIndexEntities.size());
+        indexingMetrics.advanceProgress(schemaType, documentationUnitIndexEntities.size());
+        log.info(
+          "Indexing {} documentation units. Sum: {}.",
+          documentationUnitIndexEntities.size(),
+          savedNumberOfElements.addAndGet(documentationUnitIndexEntities.size())
+        );
+      }
+    );
+    applicationEventPublisher.publishEvent(DocumentationUnitIndexUpdatedEvent.ofSchema(schemaType));
+    return indexed;
+  }
+
+  /**
+   * Rebuilds the index of all documentation units, regardless of whether they have an index or not. Used
+   * after the index shape changed, e.g. a new index column or a changed formatting of indexed values.
+   * <p>
+   * The new index entries are created in parallel batches with the {@link IndexingPipeline} into a shadow
+   * table, while overview searches keep using the current index. Afterward, the shadow table is merged into
+   * the index within a single transaction (see {@link DocumentationUnitIndexRebuildRepository#mergeShadowTable}).
+   * </p>
+   * <p>
+   * After each saved batch a checkpoint is written. If the rebuild is aborted, e.g. by a crash or a
+   * redeployment, the next call resumes after the checkpoint instead of starting over.
+   * </p>
+   *
+   * @param schemaType The schema to use
+   * @return Number of rebuilt index entries, including the ones of an aborted run which is resumed
+   */
+  public long rebuildIndex(@NonNull SchemaType schemaType) {
+    return SchemaContextHolder.callInSchema(schemaType, () -> rebuildAll(schemaType));
+  }
+
+  /**
+   * Returns whether a rebuild of the index is pending, i.e. there is a checkpoint of an aborted rebuild or a
+   * migration requested a rebuild with a checkpoint without position, e.g. after adding an index column.
+   *
+   * @param schemaType The schema to use
+   * @return {@code true} if {@link #rebuildIndex(SchemaType)} is to be called
+   */
+  public boolean isRebuildPending(@NonNull SchemaType schemaType) {
+    return SchemaContextHolder.callInSchema(schemaType, () ->
+      documentationUnitIndexCheckpointRepository.find(REBUILD_JOB).isPresent()
+    );
+  }
+
+  private long rebuildAll(SchemaType schemaType) {
+    DocumentationUnitIndexCheckpoint checkpoint = startOrResumeRebuild();
+    indexingMetrics.startProgress(
+      schemaType,
+      documentationUnitRepository.count(),
+      checkpoint.processed()
+    );
+    AtomicLong savedNumberOfElements = new AtomicLong(checkpoint.processed());
+    long totalNumberOfElements =
+      checkpoint.processed() +
+      indexingPipeline.run(
+        documentationUnits(
+          documentationUnitRepository::findAllByOrderByDocumentNumberDesc,
+          checkpoint.position()
+        ),
+        documentationUnitEntity ->
+          mapDocumentationUnitIndex(
+            createIndexSafely(documentationUnitEntity),
+            newDocumentationUnitIndexEntity(documentationUnitEntity)
+          ),
+        documentationUnitIndexEntities -> {
+          indexingMetrics.record(Phase.PERSIST, () ->
+            transactionTemplate.executeWithoutResult(_ ->
+              documentationUnitIndexRebuildRepository.insertIntoShadowTable(
+                documentationUnitIndexEntities
+              )
+            )
+          );
+          indexingMetrics.indexed(documentationUnitIndexEntities.size());
+          log.info(
+            "Rebuilt index of {} documentation units. Sum: {}.",
+            documentationUnitIndexEntities.size(),
+            savedNumberOfElements.addAndGet(documentationUnitIndexEntities.size())
+          );
+        },
+        documentationUnitEntities -> {
+          DocumentationUnitEntity last = documentationUnitEntities.getLast();
+          documentationUnitIndexCheckpointRepository.advance(
+            REBUILD_JOB,
+            last.getDocumentNumber(),
+            last.getId(),
+            documentationUnitEntities.size()
+          );
+          indexingMetrics.advanceProgress(schemaType, documentationUnitEntities.size());
+        }
+      );
+    Integer merged = transactionTemplate.execute(_ -> {
+      int mergedEntries = documentationUnitIndexRebuildRepository.mergeShadowTable(
+        checkpoint.startedAt()
+      );
+      documentationUnitIndexCheckpointRepository.delete(REBUILD_JOB);
+      return mergedEntries;
+    });
     log.info(
-      "Found {} documentation units without index.",
-      documentationUnitRepository.countByDocumentationUnitIndexIsNull()
+      "Merged {} of {} rebuilt index entries into the index of database schema {}.",
+      merged,
+      totalNumberOfElements,
+      schemaType
     );
-    PageRequest pageable = PageRequest.of(0, INDEX_BATCH_SIZE);
-    long totalNumberOfElements = 0;
-    int pageNumber = 0;
-    Slice<DocumentationUnitEntity> documentationUnitEntities;
-    do {
-      // Note that we always select the first page (0) because the algorithm is changing the selection result
-      // and breaks linear paging.
-      documentationUnitEntities =
-        documentationUnitRepository.findByDocumentationUnitIndexIsNullOrderByDocumentNumberDesc(
-          pageable
-        );
-      List<DocumentationUnitIndexEntity> documentationUnitIndexEntities = documentationUnitEntities
-        .stream()
-        .unordered()
-        .parallel()
-        .map(this::createIndexSafely)
-        .map(this::mapDocumentationUnitIndex)
-        .toList();
-      documentationUnitIndexRepository.saveAll(documentationUnitIndexEntities);
-      totalNumberOfElements += documentationUnitEntities.getNumberOfElements();
+    applicationEventPublisher.publishEvent(DocumentationUnitIndexUpdatedEvent.ofSchema(schemaType));
+    return totalNumberOfElements;
+  }
+
+  /**
+   * Resumes an aborted rebuild if there is a checkpoint and its shadow table still holds the saved entries.
+   * Entries saved after the checkpoint are discarded, because they are created again. Otherwise, a new
+   * rebuild is started with an empty shadow table.
+   */
+  private DocumentationUnitIndexCheckpoint startOrResumeRebuild() {
+    Optional<DocumentationUnitIndexCheckpoint> checkpoint = documentationUnitIndexCheckpointRepository
+      .find(REBUILD_JOB)
+      .filter(
+        abortedRun ->
+          abortedRun.lastDocumentNumber() != null &&
+          documentationUnitIndexRebuildRepository.isShadowTableFilled()
+      );
+    if (checkpoint.isPresent()) {
+      documentationUnitIndexRebuildRepository.deleteFromShadowTableAfter(
+        checkpoint.get().lastDocumentNumber()
+      );
       log.info(
-        "Indexing {} documentation units, page {}. Sum: {}.",
-        documentationUnitEntities.getNumberOfElements(),
-        pageNumber++,
-        totalNumberOfElements
+        "Resuming index rebuild started at {} after document number {} ({} already rebuilt).",
+        checkpoint.get().startedAt(),
+        checkpoint.get().lastDocumentNumber(),
+        checkpoint.get().processed()
       );
-    } while (documentationUnitEntities.hasNext());
-    return totalNumberOfElements;
+      return checkpoint.get();
+    }
+    LocalDateTime rebuildStartedAt = LocalDateTime.now();
+    documentationUnitIndexRebuildRepository.createShadowTable();
+    documentationUnitIndexCheckpointRepository.start(REBUILD_JOB, rebuildStartedAt);
+    return new DocumentationUnitIndexCheckpoint(rebuildStartedAt, null, null, 0);
+  }
+
+  /**
+   * Returns a reader for the {@link IndexingPipeline} which continues reading documentation units after the
+   * last document number of the previous batch. Documentation units indexed in the meantime do not shift the
+   * following batches, as it would be the case with offset paging.
+   */
+  private IntFunction<List<DocumentationUnitEntity>> documentationUnits(
+    BiFunction<ScrollPosition, Limit, Window<DocumentationUnitEntity>> query,
+    ScrollPosition initialPosition
+  ) {
+    AtomicReference<ScrollPosition> position = new AtomicReference<>(initialPosition);
+    return batchSize -> {
+      if (position.get() == null) {
+        return List.of();
+      }
+      Window<DocumentationUnitEntity> window = indexingMetrics.record(Phase.FETCH, () ->
+        query.apply(position.get(), Limit.of(batchSize))
+      );
+      position.set(window.hasNext() ? window.positionAt(window.size() - 1) : null);
+      return window.getContent();
+    };
+  }
+
+  private void publishIndexUpdated(List<DocumentationUnitEntity> documentationUnitEntities) {
+    if (documentationUnitEntities.isEmpty()) {
+      return;
+    }
+    Set<DocumentCategory> documentCategories = documentationUnitEntities
+      .stream()
+      .map(DocumentationUnitEntity::getDocumentationUnitType)
+      .filter(Objects::nonNull)
+      .collect(Collectors.toUnmodifiableSet());
+    applicationEventPublisher.publishEvent(
+      new DocumentationUnitIndexUpdatedEvent(SchemaContextHolder.getSchema(), documentCategories)
+    );
+  }
+
+  /**
+   * Returns whether the given top level json property is read for creating the index, i.e. whether its
+   * changes can change the index.
+   *
+   * @param property The name of the json property
+   * @return {@code true} if the property is indexed, {@code false} otherwise
+   */
+  public static boolean isIndexedProperty(@Nonnull String property) {
+    return INDEXED_PROPERTIES.contains(property);
+  }
+
+  private boolean isIndexUpToDate(DocumentationUnitEntity documentationUnitEntity) {
+    DocumentationUnitIndexEntity documentationUnitIndexEntity =
+      documentationUnitEntity.getDocumentationUnitIndex();
+    if (
+      documentationUnitIndexEntity == null ||
+      documentationUnitIndexEntity.getContentHash() == null ||
+      documentationUnitEntity.getJson() == null
+    ) {
+      return false;
+    }
+    try {
+      return documentationUnitIndexEntity
+        .getContentHash()
+        .equals(createContentHash(documentationUnitEntity.getJson()));
+    } catch (IllegalStateException _) {
+      // Not parsable json, the index is created again and the exception is handled there
+      return false;
+    }
+  }
+
+  /**
+   * Creates a SHA-256 fingerprint of the indexed json properties. The properties are read in the order of
+   * {@link #INDEXED_PROPERTIES}, so that the order in the given json does not matter. The json is read with
+   * a streaming parser, which skips the other properties instead of reading the whole json into a tree.
+   */
+  private String createContentHash(@Nonnull String json) {
+    ObjectNode indexedProperties = objectMapper.createObjectNode();
+    INDEXED_PROPERTIES.forEach(indexedProperties::putNull);
+    try (JsonParser parser = objectMapper.createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IllegalStateException("Json is not an object: " + json);
+      }
+      while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+        String property = parser.currentName();
+        parser.nextToken();
+        if (isIndexedProperty(property)) {
+          indexedProperties.set(property, objectMapper.readTree(parser));
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } catch (JacksonException e) {
+      throw new IllegalStateException("Exception during transforming json: " + json, e);
+    }
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(
+        messageDigest.digest(objectMapper.writeValueAsBytes(indexedProperties))
+      );
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
   }
 
   private DocumentationUnitIndex createIndexSafely(
@@ -123,6 +445,7 @@ public class DocumentationUnitIndexService {
         e.getMessage()
       );
       log.debug("Stacktrace:", e);
+      indexingMetrics.failed(e);
     }
     // We save an empty entry so the document still appears on overview page
     // Content fields (langueberschrift, etc.) remain null as intended on error
@@ -139,36 +462,29 @@ public class DocumentationUnitIndexService {
       // We save an empty entry so the document still appears on overview page
       return documentationUnitIndex;
     }
-    Class<? extends DocumentationUnitContent> documentationUnitContentClass =
-      DocumentationUnitContent.getDocumentationUnitContentClass(
-        documentationUnitEntity.getDocumentationUnitType()
-      );
     if (documentationUnitEntity.getJson() == null && documentationUnitEntity.getXml() != null) {
-      // Published documentation unit, there is only xml
-      var documentationUnitContent = ldmlToObjectConverterService.convertToBusinessModel(
-        new DocumentationUnit(
-          documentationUnitEntity.getDocumentNumber(),
-          documentationUnitEntity.getId(),
-          null,
-          documentationUnitEntity.getXml(),
-          null
-        ),
-        documentationUnitContentClass
-      );
-      documentationUnitIndex = createDocumentationUnitIndex(
-        documentationUnitEntity,
-        documentationUnitContent
+      // Published documentation unit, there is only xml, which is parsed and transformed in a single pass
+      documentationUnitIndex = indexingMetrics.record(Phase.PARSE, () ->
+        ldmlIndexExtractor.extract(documentationUnitEntity)
       );
     } else if (documentationUnitEntity.getJson() != null) {
       // Draft documentation unit, there is json
-      DocumentationUnitContent documentationUnitContent = transformJson(
-        documentationUnitEntity.getJson(),
-        documentationUnitContentClass
-      );
-      documentationUnitIndex = createDocumentationUnitIndex(
-        documentationUnitEntity,
-        documentationUnitContent
+      DocumentationUnitContent documentationUnitContent = indexingMetrics.record(Phase.PARSE, () ->
+        transformJson(
+          documentationUnitEntity.getJson(),
+          DocumentationUnitContent.getDocumentationUnitContentClass(
+            documentationUnitEntity.getDocumentationUnitType()
+          )
+        )
       );
+      documentationUnitIndex = indexingMetrics.record(Phase.TRANSFORM, () -> {
+        DocumentationUnitIndex transformed = createDocumentationUnitIndex(
+          documentationUnitEntity,
+          documentationUnitContent
+        );
+        transformed.setContentHash(createContentHash(documentationUnitEntity.getJson()));
+        return transformed;
+      });
     }
     return documentationUnitIndex;
   }
@@ -239,11 +555,25 @@ public class DocumentationUnitIndexService {
       documentationUnitIndex.documentationUnitEntity.getDocumentationUnitIndex();
     if (documentationUnitIndexEntity == null) {
       // New entry for created or imported documents
-      documentationUnitIndexEntity = new DocumentationUnitIndexEntity();
-      documentationUnitIndexEntity.setDocumentationUnit(
+      documentationUnitIndexEntity = newDocumentationUnitIndexEntity(
         documentationUnitIndex.documentationUnitEntity
       );
     }
+    return mapDocumentationUnitIndex(documentationUnitIndex, documentationUnitIndexEntity);
+  }
+
+  private DocumentationUnitIndexEntity newDocumentationUnitIndexEntity(
+    DocumentationUnitEntity documentationUnitEntity
+  ) {
+    DocumentationUnitIndexEntity documentationUnitIndexEntity = new DocumentationUnitIndexEntity();
+    documentationUnitIndexEntity.setDocumentationUnit(documentationUnitEntity);
+    return documentationUnitIndexEntity;
+  }
+
+  private DocumentationUnitIndexEntity mapDocumentationUnitIndex(
+    DocumentationUnitIndex documentationUnitIndex,
+    DocumentationUnitIndexEntity documentationUnitIndexEntity
+  ) {
     documentationUnitIndex.getAdmIndexData().update(documentationUnitIndexEntity.getAdmIndex());
     documentationUnitIndex
       .getLiteratureIndexData()
@@ -252,6 +582,8 @@ public class DocumentationUnitIndexService {
     documentationUnitIndexEntity.setFundstellenCombined(
       documentationUnitIndex.getFundstellenCombined()
     );
+    documentationUnitIndexEntity.setContentHash(documentationUnitIndex.getContentHash());
+    documentationUnitIndexEntity.getSortKeys().update(documentationUnitIndexEntity);
     return documentationUnitIndexEntity;
   }
 
@@ -268,17 +600,18 @@ public class DocumentationUnitIndexService {
 
   @Data
   @RequiredArgsConstructor
-  private static class DocumentationUnitIndex {
+  static class DocumentationUnitIndex {
 
     private final DocumentationUnitEntity documentationUnitEntity;
     private final AdmIndexData admIndexData = new AdmIndexData();
     private final LiteratureIndexData literatureIndexData = new LiteratureIndexData();
     private String fundstellenCombined;
     private List<String> fundstellen;
+    private String contentHash;
   }
 
   @Data
-  private static class AdmIndexData {
+  static class AdmIndexData {
 
     private String langueberschrift;
     private List<String> fundstellen;
@@ -302,7 +635,7 @@ public class DocumentationUnitIndexService {
   }
 
   @Data
-  private static class LiteratureIndexData {
+  static class LiteratureIndexData {
 
     private String titel;
     private String veroeffentlichungsjahr;
@@ -0,0 +1,35 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import jakarta.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Application event published after index entries of documentation units have been saved. If the index is
+ * updated within a transaction, transactional listeners receive the event after the commit.
+ *
+ * @param schema The schema of the updated index entries
+ * @param documentCategories The categories of the documentation units with updated index entries
+ */
+public record DocumentationUnitIndexUpdatedEvent(
+  @Nonnull SchemaType schema,
+  @Nonnull Set<DocumentCategory> documentCategories
+) {
+  /**
+   * Creates the event for an update of the index of all documentation units of the given schema.
+   *
+   * @param schema The schema
+   * @return The event with all categories of the schema
+   */
+  static DocumentationUnitIndexUpdatedEvent ofSchema(@Nonnull SchemaType schema) {
+    return new DocumentationUnitIndexUpdatedEvent(
+      schema,
+      Arrays.stream(DocumentCategory.values())
+        .filter(documentCategory -> documentCategory.getSchemaType() == schema)
+        .collect(Collectors.toUnmodifiableSet())
+    );
+  }
+}
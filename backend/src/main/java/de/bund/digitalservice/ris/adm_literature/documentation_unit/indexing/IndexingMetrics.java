@@ -0,0 +1,154 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer metrics of the documentation unit indexing, exposed via the actuator endpoint {@code metrics}.
+ * All metrics are tagged with the database schema of the current thread.
+ * <ul>
+ *   <li>{@code indexing.phase}: timer per {@link Phase}</li>
+ *   <li>{@code indexing.documents}: counter of indexed documentation units</li>
+ *   <li>{@code indexing.failures}: counter of failed documentation units, tagged by exception type</li>
+ *   <li>{@code indexing.progress}: gauge with the ratio of processed documentation units of the current
+ *   index job run</li>
+ * </ul>
+ */
+@Component
+class IndexingMetrics {
+
+  /**
+   * Phases of indexing a documentation unit.
+   */
+  enum Phase {
+    /** Reading documentation units from the database */
+    FETCH,
+    /** Reading the json or xml of a documentation unit */
+    PARSE,
+    /** Mapping the parsed content to an index entry */
+    TRANSFORM,
+    /** Saving index entries */
+    PERSIST,
+  }
+
+  private final MeterRegistry meterRegistry;
+  private final Map<SchemaType, Progress> progressBySchema = new ConcurrentHashMap<>();
+
+  IndexingMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Executes the given supplier and records its duration as the given phase.
+   *
+   * @param phase The phase
+   * @param supplier The work of the phase
+   * @return The result of the supplier
+   * @param <T> Type of the result
+   */
+  <T> T record(@Nonnull Phase phase, @Nonnull Supplier<T> supplier) {
+    return Timer.builder("indexing.phase")
+      .tag("schema", tag(SchemaContextHolder.getSchema()))
+      .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+      .register(meterRegistry)
+      .record(supplier);
+  }
+
+  /**
+   * Executes the given runnable and records its duration as the given phase.
+   *
+   * @param phase The phase
+   * @param runnable The work of the phase
+   */
+  void record(@Nonnull Phase phase, @Nonnull Runnable runnable) {
+    record(phase, () -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  /**
+   * Counts indexed documentation units.
+   *
+   * @param count Number of indexed documentation units
+   */
+  void indexed(long count) {
+    Counter.builder("indexing.documents")
+      .tag("schema", tag(SchemaContextHolder.getSchema()))
+      .register(meterRegistry)
+      .increment(count);
+  }
+
+  /**
+   * Counts a documentation unit which could not be indexed.
+   *
+   * @param exception The cause
+   */
+  void failed(@Nonnull Exception exception) {
+    Counter.builder("indexing.failures")
+      .tag("schema", tag(SchemaContextHolder.getSchema()))
+      .tag("exception", exception.getClass().getSimpleName())
+      .register(meterRegistry)
+      .increment();
+  }
+
+  /**
+   * Starts tracking the progress of an index job run.
+   *
+   * @param schemaType The schema of the run
+   * @param total Number of documentation units to process
+   * @param processed Number of documentation units already processed, e.g. by an aborted run
+   */
+  void startProgress(@Nonnull SchemaType schemaType, long total, long processed) {
+    Progress progress = progressBySchema.computeIfAbsent(schemaType, this::registerProgress);
+    progress.total.set(total);
+    progress.processed.set(processed);
+  }
+
+  /**
+   * Advances the progress of the current index job run.
+   *
+   * @param schemaType The schema of the run
+   * @param processed Number of additionally processed documentation units
+   */
+  void advanceProgress(@Nonnull SchemaType schemaType, long processed) {
+    progressBySchema
+      .computeIfAbsent(schemaType, this::registerProgress)
+      .processed.addAndGet(processed);
+  }
+
+  private Progress registerProgress(SchemaType schemaType) {
+    Progress progress = new Progress();
+    Gauge.builder("indexing.progress", progress, Progress::ratio)
+      .description("Ratio of processed documentation units of the current index job run")
+      .tag("schema", tag(schemaType))
+      .register(meterRegistry);
+    return progress;
+  }
+
+  private static String tag(SchemaType schemaType) {
+    return schemaType == null ? "none" : schemaType.name().toLowerCase(Locale.ROOT);
+  }
+
+  private static final class Progress {
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+
+    private double ratio() {
+      long currentTotal = total.get();
+      return currentTotal == 0 ? 1.0 : Math.min(1.0, (double) processed.get() / currentTotal);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaPropagatingExecutor;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded producer/consumer pipeline for bulk indexing.
+ * <p>
+ * Batches are read by the calling thread (a keyset cursor is sequential by nature), extracted on a
+ * dedicated pool of extractor threads and saved on a dedicated pool of writer threads, so that reading,
+ * extracting and saving overlap. The number of batches which are read but not yet saved is limited by
+ * {@code indexing.pipeline.queue-capacity}: if the limit is reached, the reader waits for the oldest batch.
+ * </p>
+ * <p>
+ * If the calling thread takes part in a transaction, batches are saved on the calling thread, so that
+ * uncommitted data of this transaction stays visible for the writes.
+ * </p>
+ * <p>
+ * The schema of the calling thread is propagated to the extractor and writer threads.
+ * </p>
+ */
+@Component
+@Slf4j
+class IndexingPipeline {
+
+  @Value("${indexing.pipeline.batch-size:500}")
+  private int batchSize;
+
+  @Value("${indexing.pipeline.extractor-threads:4}")
+  private int extractorThreads;
+
+  @Value("${indexing.pipeline.writer-threads:2}")
+  private int writerThreads;
+
+  @Value("${indexing.pipeline.queue-capacity:8}")
+  private int queueCapacity;
+
+  /**
+   * Runs the pipeline until the reader returns an empty batch.
+   *
+   * @param reader Reads the next batch with the given maximum size, returns an empty list if there is no more data
+   * @param extractor Extracts a single element, executed on an extractor thread
+   * @param writer Saves a batch of extracted elements, executed on a writer thread
+   * @return Number of read elements
+   * @param <T> Type of the read elements
+   * @param <R> Type of the extracted elements
+   */
+  <T, R> long run(
+    @Nonnull IntFunction<List<T>> reader,
+    @Nonnull Function<T, R> extractor,
+    @Nonnull Consumer<List<R>> writer
+  ) {
+    return run(reader, extractor, writer, _ -> {});
+  }
+
+  /**
+   * Runs the pipeline until the reader returns an empty batch and reports each saved batch.
+   * <p>
+   * Batches are saved in parallel, but reported on the calling thread in the order they were read. When a
+   * batch is reported, all batches read before are saved, too. Thus, the last element of a reported batch
+   * can be used as checkpoint for resuming an aborted run.
+   * </p>
+   *
+   * @param reader Reads the next batch with the given maximum size, returns an empty list if there is no more data
+   * @param extractor Extracts a single element, executed on an extractor thread
+   * @param writer Saves a batch of extracted elements, executed on a writer thread
+   * @param onBatchWritten Called with the read elements of each saved batch, in the order of reading
+   * @return Number of read elements
+   * @param <T> Type of the read elements
+   * @param <R> Type of the extracted elements
+   */
+  <T, R> long run(
+    @Nonnull IntFunction<List<T>> reader,
+    @Nonnull Function<T, R> extractor,
+    @Nonnull Consumer<List<R>> writer,
+    @Nonnull Consumer<List<T>> onBatchWritten
+  ) {
+    boolean writeOnCallingThread = TransactionSynchronizationManager.isActualTransactionActive();
+    ExecutorService extractorPool = newPool("index-extractor-", extractorThreads);
+    ExecutorService writerPool = writeOnCallingThread
+      ? null
+      : newPool("index-writer-", writerThreads);
+    Executor extractorExecutor = new SchemaPropagatingExecutor(extractorPool);
+    Executor writerExecutor = writerPool == null ? null : new SchemaPropagatingExecutor(writerPool);
+    Deque<InFlightBatch<T, R>> inFlightBatches = new ArrayDeque<>();
+    long totalNumberOfElements = 0;
+    try {
+      List<T> batch = reader.apply(batchSize);
+      while (!batch.isEmpty()) {
+        List<T> currentBatch = batch;
+        CompletableFuture<List<R>> extracted = CompletableFuture.supplyAsync(
+          () -> currentBatch.stream().map(extractor).toList(),
+          extractorExecutor
+        );
+        CompletableFuture<Void> written = writerExecutor == null
+          ? null
+          : extracted.thenAcceptAsync(writer, writerExecutor);
+        inFlightBatches.add(new InFlightBatch<>(currentBatch, extracted, written));
+        totalNumberOfElements += currentBatch.size();
+        while (inFlightBatches.size() >= queueCapacity) {
+          inFlightBatches.poll().await(writer, onBatchWritten);
+        }
+        batch = reader.apply(batchSize);
+      }
+      while (!inFlightBatches.isEmpty()) {
+        inFlightBatches.poll().await(writer, onBatchWritten);
+      }
+    } finally {
+      extractorPool.shutdownNow();
+      if (writerPool != null) {
+        writerPool.shutdownNow();
+      }
+    }
+    return totalNumberOfElements;
+  }
+
+  private static ExecutorService newPool(String namePrefix, int threads) {
+    return Executors.newFixedThreadPool(
+      Math.max(1, threads),
+      Thread.ofPlatform().name(namePrefix, 0).daemon().factory()
+    );
+  }
+
+  private record InFlightBatch<T, R>(
+    List<T> read,
+    CompletableFuture<List<R>> extracted,
+    CompletableFuture<Void> written
+  ) {
+    void await(Consumer<List<R>> writer, Consumer<List<T>> onBatchWritten) {
+      if (written == null) {
+        writer.accept(extracted.join());
+      } else {
+        written.join();
+      }
+      onBatchWritten.accept(read);
+    }
+  }
+}
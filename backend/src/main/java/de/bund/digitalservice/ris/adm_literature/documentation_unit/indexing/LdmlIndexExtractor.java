@@ -0,0 +1,262 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService.AdmIndexData;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService.DocumentationUnitIndex;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService.LiteratureIndexData;
+import jakarta.annotation.Nonnull;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Extracts the indexed properties of published documentation units directly from their LDML.
+ * <p>
+ * Unlike the conversion to the business model, the LDML is read in a single pass with StAX and only the
+ * indexed properties are extracted. Lookup tables are not used: Indexed values like the abbreviation of the
+ * legal periodical, the normgeber or the document type are formatted from the values in the LDML.
+ * </p>
+ */
+@Component
+@Slf4j
+class LdmlIndexExtractor {
+
+  private static final String SEPARATOR = " ";
+
+  private final XMLInputFactory xmlInputFactory;
+
+  LdmlIndexExtractor() {
+    xmlInputFactory = XMLInputFactory.newInstance();
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  /**
+   * Extracts the index from the xml of the given documentation unit.
+   *
+   * @param documentationUnitEntity The documentation unit entity with xml
+   * @return The documentation unit index
+   * @throws IllegalStateException If the xml is not parsable
+   */
+  DocumentationUnitIndex extract(@Nonnull DocumentationUnitEntity documentationUnitEntity) {
+    DocumentationUnitIndex documentationUnitIndex = new DocumentationUnitIndex(
+      documentationUnitEntity
+    );
+    try {
+      XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(
+        new StringReader(documentationUnitEntity.getXml())
+      );
+      try {
+        switch (documentationUnitEntity.getDocumentationUnitType()) {
+          case VERWALTUNGSVORSCHRIFTEN -> extractAdm(reader, documentationUnitIndex);
+          case LITERATUR_SELBSTAENDIG, LITERATUR_UNSELBSTAENDIG -> extractLiterature(
+            reader,
+            documentationUnitIndex.getLiteratureIndexData()
+          );
+          default -> log.debug(
+            "Indexing document category {} is not supported.",
+            documentationUnitEntity.getDocumentationUnitType()
+          );
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Exception during reading xml", e);
+    }
+    return documentationUnitIndex;
+  }
+
+  private void extractAdm(XMLStreamReader reader, DocumentationUnitIndex documentationUnitIndex)
+    throws XMLStreamException {
+    AdmIndexData admIndexData = documentationUnitIndex.getAdmIndexData();
+    List<String> fundstellen = new ArrayList<>();
+    List<String> zitierdaten = new ArrayList<>();
+    List<String> normgeberList = new ArrayList<>();
+    List<String> aktenzeichenList = new ArrayList<>();
+    Deque<String> path = new ArrayDeque<>();
+    ImplicitReference implicitReference = null;
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        if ("implicitReference".equals(path.pop()) && implicitReference != null) {
+          if (implicitReference.fundstelle) {
+            fundstellen.add(implicitReference.format());
+          }
+          implicitReference = null;
+        }
+        continue;
+      }
+      if (event != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      String parent = path.peek();
+      String name = reader.getLocalName();
+      switch (name) {
+        case "implicitReference" -> {
+          if ("otherReferences".equals(parent)) {
+            implicitReference = new ImplicitReference(
+              reader.getAttributeValue(null, "shortForm"),
+              reader.getAttributeValue(null, "showAs")
+            );
+          }
+        }
+        case "normReference", "caselawReference", "referenz" -> {
+          if (implicitReference != null && "implicitReference".equals(parent)) {
+            implicitReference.fundstelle = false;
+          }
+        }
+        case "normgeber" -> {
+          String staat = reader.getAttributeValue(null, "staat");
+          String organ = reader.getAttributeValue(null, "organ");
+          normgeberList.add(organ != null ? staat + SEPARATOR + organ : staat);
+        }
+        case "documentType" -> admIndexData.setDokumenttyp(
+          reader.getAttributeValue(null, "category")
+        );
+        case "entryIntoEffectDate" -> {
+          admIndexData.setInkrafttretedatum(reader.getElementText());
+          continue;
+        }
+        case "dateToQuoteEntry" -> {
+          zitierdaten.add(reader.getElementText());
+          continue;
+        }
+        case "referenceNumber" -> {
+          aktenzeichenList.add(reader.getElementText());
+          continue;
+        }
+        case "block" -> {
+          if ("longTitle".equals(parent) && admIndexData.getLangueberschrift() == null) {
+            admIndexData.setLangueberschrift(readText(reader));
+            continue;
+          }
+        }
+        default -> {
+          // Not indexed
+        }
+      }
+      path.push(name);
+    }
+    documentationUnitIndex.setFundstellen(fundstellen);
+    documentationUnitIndex.setFundstellenCombined(StringUtils.join(fundstellen, SEPARATOR));
+    admIndexData.setZitierdaten(zitierdaten);
+    admIndexData.setNormgeberList(normgeberList);
+    admIndexData.setAktenzeichenList(aktenzeichenList);
+  }
+
+  private void extractLiterature(XMLStreamReader reader, LiteratureIndexData literatureIndexData)
+    throws XMLStreamException {
+    List<String> haupttitel = new ArrayList<>();
+    String dokumentarischerTitel = null;
+    List<String> veroeffentlichungsjahre = new ArrayList<>();
+    List<String> dokumenttypen = new ArrayList<>();
+    Deque<String> path = new ArrayDeque<>();
+    boolean inDokumenttypen = false;
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        if ("classification".equals(path.pop())) {
+          inDokumenttypen = false;
+        }
+        continue;
+      }
+      if (event != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      String parent = path.peek();
+      String name = reader.getLocalName();
+      switch (name) {
+        case "FRBRalias" -> {
+          if ("FRBRWork".equals(parent)) {
+            String aliasName = reader.getAttributeValue(null, "name");
+            if ("haupttitel".equals(aliasName)) {
+              haupttitel.add(reader.getAttributeValue(null, "value"));
+            } else if ("dokumentarischerTitel".equals(aliasName)) {
+              dokumentarischerTitel = reader.getAttributeValue(null, "value");
+            }
+          }
+        }
+        case "classification" -> inDokumenttypen = "doktyp".equals(
+          reader.getAttributeValue(null, "source")
+        );
+        case "keyword" -> {
+          if (inDokumenttypen) {
+            dokumenttypen.add(reader.getAttributeValue(null, "value"));
+          }
+        }
+        case "veroeffentlichungsJahr" -> {
+          if ("veroeffentlichungsJahre".equals(parent)) {
+            veroeffentlichungsjahre.add(readText(reader));
+            continue;
+          }
+        }
+        default -> {
+          // Not indexed
+        }
+      }
+      path.push(name);
+    }
+    String hauptsachtitel = StringUtils.join(haupttitel, SEPARATOR).trim();
+    literatureIndexData.setTitel(
+      hauptsachtitel.isEmpty() ? dokumentarischerTitel : hauptsachtitel
+    );
+    literatureIndexData.setVeroeffentlichungsjahr(
+      StringUtils.join(veroeffentlichungsjahre, SEPARATOR).trim()
+    );
+    literatureIndexData.setDokumenttypen(dokumenttypen);
+    literatureIndexData.setVerfasserList(null);
+  }
+
+  /**
+   * Reads the text content of the current element including the text of nested elements. Afterward, the
+   * reader is positioned at the end element of the current element.
+   */
+  private static String readText(XMLStreamReader reader) throws XMLStreamException {
+    StringBuilder text = new StringBuilder();
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      switch (event) {
+        case XMLStreamConstants.START_ELEMENT -> depth++;
+        case XMLStreamConstants.END_ELEMENT -> depth--;
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text.append(
+          reader.getText()
+        );
+        default -> {
+          // Ignore comments and processing instructions
+        }
+      }
+    }
+    return text.toString().trim();
+  }
+
+  private static final class ImplicitReference {
+
+    private final String shortForm;
+    private final String showAs;
+    private boolean fundstelle = true;
+
+    private ImplicitReference(String shortForm, String showAs) {
+      this.shortForm = shortForm;
+      this.showAs = showAs;
+    }
+
+    /**
+     * Formats like {@code Fundstelle#toFormattedString()}: the abbreviation of the legal periodical is
+     * the short form, the citation is the rest of the displayed text.
+     */
+    private String format() {
+      return shortForm + SEPARATOR + StringUtils.substringAfter(showAs, shortForm).trim();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.util.List;
+import java.util.Locale;
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Sort keys of the sortable properties of the overviews. The keys are normalized for a German sort order
+ * like DIN 5007-1: lower case, without diacritics (ä sorts like a, ß like ss) and with collapsed
+ * whitespace. Lists are sorted by their elements joined with blanks.
+ * <p>
+ * The columns use the collation {@code C}, so that their btree indexes order by the normalized keys
+ * independent of the locale of the database and overview pages sorted by them are read in index order.
+ * </p>
+ */
+@Embeddable
+@Data
+public class SortKeys {
+
+  @Column(name = "sort_key_langueberschrift")
+  private String langueberschrift;
+
+  @Column(name = "sort_key_fundstellen")
+  private String fundstellen;
+
+  @Column(name = "sort_key_zitierdaten")
+  private String zitierdaten;
+
+  @Column(name = "sort_key_titel")
+  private String titel;
+
+  @Column(name = "sort_key_veroeffentlichungsjahr")
+  private String veroeffentlichungsjahr;
+
+  @Column(name = "sort_key_dokumenttypen")
+  private String dokumenttypen;
+
+  @Column(name = "sort_key_verfasser")
+  private String verfasser;
+
+  /**
+   * Updates the sort keys from the indexed properties of the given index entry.
+   *
+   * @param documentationUnitIndexEntity The index entry
+   */
+  void update(DocumentationUnitIndexEntity documentationUnitIndexEntity) {
+    AdmIndex admIndex = documentationUnitIndexEntity.getAdmIndex();
+    LiteratureIndex literatureIndex = documentationUnitIndexEntity.getLiteratureIndex();
+    langueberschrift = normalize(admIndex.getLangueberschrift());
+    fundstellen = normalize(documentationUnitIndexEntity.getFundstellen());
+    zitierdaten = normalize(admIndex.getZitierdaten());
+    titel = normalize(literatureIndex.getTitel());
+    veroeffentlichungsjahr = normalize(literatureIndex.getVeroeffentlichungsjahr());
+    dokumenttypen = normalize(literatureIndex.getDokumenttypen());
+    verfasser = normalize(literatureIndex.getVerfasserList());
+  }
+
+  /**
+   * Normalizes the given value to a sort key.
+   *
+   * @param value The value
+   * @return The sort key, {@code null} if the value is {@code null} or blank
+   */
+  static String normalize(String value) {
+    if (value == null) {
+      return null;
+    }
+    String lowerCase = value.toLowerCase(Locale.ROOT).replace("ß", "ss");
+    return StringUtils.trimToNull(StringUtils.normalizeSpace(StringUtils.stripAccents(lowerCase)));
+  }
+
+  private static String normalize(List<String> values) {
+    return normalize(StringUtils.join(values, " "));
+  }
+}
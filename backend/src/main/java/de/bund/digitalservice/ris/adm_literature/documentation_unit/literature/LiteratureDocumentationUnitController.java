@@ -2,22 +2,32 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.literature;
 
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnit;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitETags;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitsOverviewResponse;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.ExportFormat;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.JsonMergePatch;
 import de.bund.digitalservice.ris.adm_literature.lookup_tables.document_type.DocumentType;
+import de.bund.digitalservice.ris.adm_literature.page.CountStrategy;
 import de.bund.digitalservice.ris.adm_literature.page.PageResponse;
 import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,26 +40,60 @@ import tools.jackson.databind.JsonNode;
 @RequiredArgsConstructor
 public class LiteratureDocumentationUnitController {
 
+  /**
+   * Sortable properties of the SLI and ULI overviews, which are sorted by the sort keys of the index.
+   */
   private static final Set<String> INDEX_ALIASES = Set.of(
     "veroeffentlichungsjahr",
     "dokumenttypen",
     "titel",
-    "verfasser"
+    "verfasser",
+    "fundstellen"
   );
 
   private final DocumentationUnitService documentationUnitService;
 
   /**
-   * Returns a single documentation unit by its document number
+   * Returns the documentation units with the given document numbers. The documentation units are read with
+   * a single query instead of one request per documentation unit.
+   *
+   * @param documentNumbers The document numbers of the documentation units to be returned, at most
+   *                        {@value DocumentationUnitService#MAX_BATCH_SIZE}
+   * @return The found documentation units in the order of the given document numbers, unknown document
+   *         numbers are skipped, or HTTP 400 if too many document numbers are given
+   */
+  @GetMapping("api/literature/documentation-units/batch")
+  public List<DocumentationUnit> findAll(@RequestParam List<String> documentNumbers) {
+    return documentationUnitService.findAllByDocumentNumbers(documentNumbers);
+  }
+
+  /**
+   * Returns a single documentation unit by its document number. The version of the documentation unit is
+   * returned as entity tag. If the {@code If-None-Match} header matches the current version, only the
+   * version is read and the documentation unit is neither read nor converted.
    *
    * @param documentNumber The document number of the document unit to be returned
-   * @return The document unit or HTTP 404 if not found
+   * @param ifNoneMatch    The entity tags of the versions known by the client
+   * @return The document unit, HTTP 304 if the client has the current version or HTTP 404 if not found
    */
   @GetMapping("api/literature/documentation-units/{documentNumber}")
-  public ResponseEntity<DocumentationUnit> find(@PathVariable String documentNumber) {
+  public ResponseEntity<DocumentationUnit> find(
+    @PathVariable String documentNumber,
+    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+  ) {
+    if (ifNoneMatch != null) {
+      Optional<Long> currentVersion = documentationUnitService
+        .findVersion(documentNumber)
+        .filter(version -> DocumentationUnitETags.matchesIfNoneMatch(ifNoneMatch, version));
+      if (currentVersion.isPresent()) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(DocumentationUnitETags.of(currentVersion.get()))
+          .build();
+      }
+    }
     return documentationUnitService
       .findByDocumentNumber(documentNumber)
-      .map(ResponseEntity::ok)
+      .map(LiteratureDocumentationUnitController::withETag)
       .orElse(ResponseEntity.notFound().build());
   }
 
@@ -65,6 +109,11 @@ public class LiteratureDocumentationUnitController {
    * @param sortByProperty The property to sort by.
    * @param sortDirection The sort direction.
    * @param usePagination Whether to use pagination or not.
+   * @param readYourWrites Whether to update the index with all committed changes before searching.
+   * @param q Full-text search terms, the results are ordered by relevance if set.
+   * @param cursor Continuation token of keyset pagination, empty for the first page. Without cursor, the
+   *               page is selected by pageNumber.
+   * @param countStrategy How to determine the total number of elements of an offset page?
    *
    *
    * @return Document unit (should be multiple in the future)
@@ -82,10 +131,14 @@ public class LiteratureDocumentationUnitController {
     @RequestParam(defaultValue = "15") int pageSize,
     @RequestParam(defaultValue = "documentNumber") String sortByProperty,
     @RequestParam(defaultValue = "DESC") Sort.Direction sortDirection,
-    @RequestParam(defaultValue = "true") boolean usePagination
+    @RequestParam(defaultValue = "true") boolean usePagination,
+    @RequestParam(defaultValue = "false") boolean readYourWrites,
+    @RequestParam(required = false) String q,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "EXACT") CountStrategy countStrategy
   ) {
     String resolvedSortByProperty = INDEX_ALIASES.contains(sortByProperty)
-      ? "documentationUnitIndex." + sortByProperty
+      ? "documentationUnitIndex.sortKeys." + sortByProperty
       : sortByProperty;
 
     QueryOptions queryOptions = new QueryOptions(
@@ -93,7 +146,9 @@ public class LiteratureDocumentationUnitController {
       pageSize,
       resolvedSortByProperty,
       sortDirection,
-      usePagination
+      usePagination,
+      cursor,
+      countStrategy
     );
 
     var paginatedDocumentationUnits =
@@ -104,7 +159,9 @@ public class LiteratureDocumentationUnitController {
           dokumenttypen,
           StringUtils.trimToNull(titel),
           verfasser,
-          queryOptions
+          queryOptions,
+          readYourWrites,
+          StringUtils.trimToNull(q)
         )
       );
     return ResponseEntity.ok(
@@ -141,21 +198,76 @@ public class LiteratureDocumentationUnitController {
     return documentationUnitService.create(DocumentCategory.LITERATUR_SELBSTAENDIG);
   }
 
+  /**
+   * Imports documentation units from an NDJSON body, one item with the {@code category} and either the
+   * {@code json} or the {@code xml} of a documentation unit per line. Only
+   * {@code LITERATUR_SELBSTAENDIG} and {@code LITERATUR_UNSELBSTAENDIG} can be imported. The items are
+   * created in batches, a result with the line and the new document number or the error is streamed as
+   * NDJSON for each item once its batch is committed.
+   *
+   * @param request  The request to read the items from
+   * @param response The response to write the results to
+   * @throws IOException if the request cannot be read or the response cannot be written
+   */
+  @PostMapping(
+    value = "api/literature/documentation-units/import",
+    consumes = "application/x-ndjson"
+  )
+  public void importDocumentationUnits(HttpServletRequest request, HttpServletResponse response)
+    throws IOException {
+    response.setContentType(ExportFormat.NDJSON.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8);
+    documentationUnitService.importDocumentationUnits(
+      Set.of(DocumentCategory.LITERATUR_SELBSTAENDIG, DocumentCategory.LITERATUR_UNSELBSTAENDIG),
+      request.getInputStream(),
+      response.getOutputStream()
+    );
+  }
+
   /**
    * Updates a documentation unit
    *
    * @param documentNumber    The document number of the document to update
    * @param documentationUnit The JSON of the documentation unit to update
-   * @return The updated documentation unit or HTTP 404 if not found
+   * @param ifMatch           The entity tags of the version to update, optional
+   * @return The updated documentation unit, HTTP 404 if not found or HTTP 412 if the documentation unit
+   *         has been changed after the version given in the {@code If-Match} header
    */
   @PutMapping("api/literature/documentation-units/{documentNumber}")
   public ResponseEntity<DocumentationUnit> update(
     @PathVariable String documentNumber,
-    @RequestBody JsonNode documentationUnit
+    @RequestBody JsonNode documentationUnit,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+  ) {
+    return documentationUnitService
+      .update(documentNumber, documentationUnit.toString(), ifMatch)
+      .map(LiteratureDocumentationUnitController::withETag)
+      .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Updates a documentation unit with a JSON merge patch (RFC 7386), which only contains the changed
+   * properties, e.g. for an autosave. Only changes of indexed properties update the index.
+   *
+   * @param documentNumber The document number of the document to update
+   * @param mergePatch     The merge patch of the JSON of the documentation unit
+   * @param ifMatch        The entity tags of the version to update, optional
+   * @return The updated documentation unit, HTTP 400 if the merge patch is not a JSON object, HTTP 404 if
+   *         not found or HTTP 412 if the documentation unit has been changed after the version given in the
+   *         {@code If-Match} header
+   */
+  @PatchMapping(
+    value = "api/literature/documentation-units/{documentNumber}",
+    consumes = JsonMergePatch.MEDIA_TYPE
+  )
+  public ResponseEntity<DocumentationUnit> patch(
+    @PathVariable String documentNumber,
+    @RequestBody JsonNode mergePatch,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     return documentationUnitService
-      .update(documentNumber, documentationUnit.toString())
-      .map(ResponseEntity::ok)
+      .patch(documentNumber, mergePatch, ifMatch)
+      .map(LiteratureDocumentationUnitController::withETag)
       .orElse(ResponseEntity.notFound().build());
   }
 
@@ -165,12 +277,15 @@ public class LiteratureDocumentationUnitController {
    * @param documentNumber           The document number of the document to
    *                                 publish
    * @param documentationUnitContent The documentation unit content to publish
+   * @param ifMatch                  The entity tags of the version to publish, optional
    * @return The published documentation unit or
    *         <br>
    *         - HTTP 400 if input not valid
    *         <br>
    *         - HTTP 404 if not found
    *         <br>
+   *         - HTTP 412 if the documentation unit has been changed after the version given in If-Match
+   *         <br>
    *         - HTTP 503 if the external publishing service is unavailable
    */
   @ApiResponses(
@@ -195,6 +310,11 @@ public class LiteratureDocumentationUnitController {
         description = "Documentation unit with the given number was not found",
         content = @Content
       ),
+      @ApiResponse(
+        responseCode = "412",
+        description = "The documentation unit has been changed after the version given in If-Match",
+        content = @Content
+      ),
       @ApiResponse(
         responseCode = "503",
         description = "The external publishing service is unavailable",
@@ -210,14 +330,16 @@ public class LiteratureDocumentationUnitController {
   )
   public ResponseEntity<DocumentationUnit> publishUli(
     @PathVariable String documentNumber,
-    @RequestBody @Valid UliDocumentationUnitContent documentationUnitContent
+    @RequestBody @Valid UliDocumentationUnitContent documentationUnitContent,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     Optional<DocumentationUnit> optionalDocumentationUnit = documentationUnitService.publish(
       documentNumber,
-      documentationUnitContent
+      documentationUnitContent,
+      ifMatch
     );
     return optionalDocumentationUnit
-      .map(ResponseEntity::ok)
+      .map(LiteratureDocumentationUnitController::withETag)
       .orElse(ResponseEntity.notFound().build());
   }
 
@@ -227,12 +349,15 @@ public class LiteratureDocumentationUnitController {
    * @param documentNumber           The document number of the document to
    *                                 publish
    * @param documentationUnitContent The documentation unit content to publish
+   * @param ifMatch                  The entity tags of the version to publish, optional
    * @return The published documentation unit or
    *         <br>
    *         - HTTP 400 if input not valid
    *         <br>
    *         - HTTP 404 if not found
    *         <br>
+   *         - HTTP 412 if the documentation unit has been changed after the version given in If-Match
+   *         <br>
    *         - HTTP 503 if the external publishing service is unavailable
    */
   @ApiResponses(
@@ -257,6 +382,11 @@ public class LiteratureDocumentationUnitController {
         description = "Documentation unit with the given number was not found",
         content = @Content
       ),
+      @ApiResponse(
+        responseCode = "412",
+        description = "The documentation unit has been changed after the version given in If-Match",
+        content = @Content
+      ),
       @ApiResponse(
         responseCode = "503",
         description = "The external publishing service is unavailable",
@@ -267,14 +397,16 @@ public class LiteratureDocumentationUnitController {
   @PutMapping("api/literature/sli/documentation-units/{documentNumber}/publish")
   public ResponseEntity<DocumentationUnit> publishSli(
     @PathVariable String documentNumber,
-    @RequestBody @Valid SliDocumentationUnitContent documentationUnitContent
+    @RequestBody @Valid SliDocumentationUnitContent documentationUnitContent,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     Optional<DocumentationUnit> optionalDocumentationUnit = documentationUnitService.publish(
       documentNumber,
-      documentationUnitContent
+      documentationUnitContent,
+      ifMatch
     );
     return optionalDocumentationUnit
-      .map(ResponseEntity::ok)
+      .map(LiteratureDocumentationUnitController::withETag)
       .orElse(ResponseEntity.notFound().build());
   }
 
@@ -290,6 +422,11 @@ public class LiteratureDocumentationUnitController {
    * @param sortByProperty     The property to sort by.
    * @param sortDirection      The sort direction.
    * @param usePagination      Whether to use pagination or not.
+   * @param readYourWrites     Whether to update the index with all committed changes before searching.
+   * @param q                  Full-text search terms, the results are ordered by relevance if set.
+   * @param cursor             Continuation token of keyset pagination, empty for the first page. Without
+   *                           cursor, the page is selected by pageNumber.
+   * @param countStrategy      How to determine the total number of elements of an offset page?
    *
    *
    * @return ULI document units
@@ -307,10 +444,14 @@ public class LiteratureDocumentationUnitController {
     @RequestParam(defaultValue = "15") int pageSize,
     @RequestParam(defaultValue = "documentNumber") String sortByProperty,
     @RequestParam(defaultValue = "DESC") Sort.Direction sortDirection,
-    @RequestParam(defaultValue = "true") boolean usePagination
+    @RequestParam(defaultValue = "true") boolean usePagination,
+    @RequestParam(defaultValue = "false") boolean readYourWrites,
+    @RequestParam(required = false) String q,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "EXACT") CountStrategy countStrategy
   ) {
     String resolvedSortByProperty = INDEX_ALIASES.contains(sortByProperty)
-      ? "documentationUnitIndex." + sortByProperty
+      ? "documentationUnitIndex.sortKeys." + sortByProperty
       : sortByProperty;
 
     QueryOptions queryOptions = new QueryOptions(
@@ -318,7 +459,9 @@ public class LiteratureDocumentationUnitController {
       pageSize,
       resolvedSortByProperty,
       sortDirection,
-      usePagination
+      usePagination,
+      cursor,
+      countStrategy
     );
 
     var paginatedDocumentationUnits =
@@ -329,7 +472,9 @@ public class LiteratureDocumentationUnitController {
           StringUtils.trimToNull(zitatstelle),
           dokumenttypen,
           verfasser,
-          queryOptions
+          queryOptions,
+          readYourWrites,
+          StringUtils.trimToNull(q)
         )
       );
     return ResponseEntity.ok(
@@ -339,4 +484,136 @@ public class LiteratureDocumentationUnitController {
       )
     );
   }
+
+  /**
+   * Exports all SLI documentation units matching the filters as overview elements. The elements are written
+   * to the response while they are read from the database, so that the export of any number of documentation
+   * units needs constant memory.
+   *
+   * @param documentNumber The document number of the document unit to be returned.
+   * @param veroeffentlichungsjahr The year of publication of the document unit.
+   * @param dokumenttypen The document types of the document unit.
+   * @param titel The title of the document unit.
+   * @param verfasser The authors of the document unit.
+   * @param sortByProperty The property to sort by.
+   * @param sortDirection The sort direction.
+   * @param readYourWrites Whether to update the index with all committed changes before searching.
+   * @param q Full-text search terms, the results are ordered by relevance if set.
+   * @param format The format of the export
+   * @param response The response to write the export to
+   * @throws IOException if the response cannot be written
+   */
+  @GetMapping("api/literature/sli/documentation-units/export")
+  public void exportSli(
+    @RequestParam(required = false) String documentNumber,
+    @RequestParam(required = false) String veroeffentlichungsjahr,
+    @RequestParam(required = false) List<String> dokumenttypen,
+    @RequestParam(required = false) String titel,
+    @RequestParam(required = false) List<String> verfasser,
+    @RequestParam(defaultValue = "documentNumber") String sortByProperty,
+    @RequestParam(defaultValue = "DESC") Sort.Direction sortDirection,
+    @RequestParam(defaultValue = "false") boolean readYourWrites,
+    @RequestParam(required = false) String q,
+    @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+    HttpServletResponse response
+  ) throws IOException {
+    QueryOptions queryOptions = exportQueryOptions(sortByProperty, sortDirection);
+    prepareExport(response, format, "sli-documentation-units");
+    documentationUnitService.exportSliDocumentationUnitOverviewElements(
+      new SliDocumentationUnitQuery(
+        StringUtils.trimToNull(documentNumber),
+        StringUtils.trimToNull(veroeffentlichungsjahr),
+        dokumenttypen,
+        StringUtils.trimToNull(titel),
+        verfasser,
+        queryOptions,
+        readYourWrites,
+        StringUtils.trimToNull(q)
+      ),
+      format,
+      response.getOutputStream()
+    );
+  }
+
+  /**
+   * Exports all ULI documentation units matching the filters as overview elements. The elements are written
+   * to the response while they are read from the database, so that the export of any number of documentation
+   * units needs constant memory.
+   *
+   * @param documentNumber     The document number of the document unit to be returned.
+   * @param periodikum         A string representing the periodical to filter by.
+   * @param zitatstelle        A string representing the citation from the periodikum to filter by.
+   * @param dokumenttypen      A list of {@link DocumentType} objects representing the document types to filter by.
+   * @param verfasser          A list of strings representing the authors to filter by.
+   * @param sortByProperty     The property to sort by.
+   * @param sortDirection      The sort direction.
+   * @param readYourWrites     Whether to update the index with all committed changes before searching.
+   * @param q                  Full-text search terms, the results are ordered by relevance if set.
+   * @param format             The format of the export
+   * @param response           The response to write the export to
+   * @throws IOException if the response cannot be written
+   */
+  @GetMapping("api/literature/uli/documentation-units/export")
+  public void exportUli(
+    @RequestParam(required = false) String documentNumber,
+    @RequestParam(required = false) String periodikum,
+    @RequestParam(required = false) String zitatstelle,
+    @RequestParam(required = false) List<String> dokumenttypen,
+    @RequestParam(required = false) List<String> verfasser,
+    @RequestParam(defaultValue = "documentNumber") String sortByProperty,
+    @RequestParam(defaultValue = "DESC") Sort.Direction sortDirection,
+    @RequestParam(defaultValue = "false") boolean readYourWrites,
+    @RequestParam(required = false) String q,
+    @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+    HttpServletResponse response
+  ) throws IOException {
+    QueryOptions queryOptions = exportQueryOptions(sortByProperty, sortDirection);
+    prepareExport(response, format, "uli-documentation-units");
+    documentationUnitService.exportUliDocumentationUnitOverviewElements(
+      new UliDocumentationUnitQuery(
+        StringUtils.trimToNull(documentNumber),
+        StringUtils.trimToNull(periodikum),
+        StringUtils.trimToNull(zitatstelle),
+        dokumenttypen,
+        verfasser,
+        queryOptions,
+        readYourWrites,
+        StringUtils.trimToNull(q)
+      ),
+      format,
+      response.getOutputStream()
+    );
+  }
+
+  private static QueryOptions exportQueryOptions(
+    String sortByProperty,
+    Sort.Direction sortDirection
+  ) {
+    String resolvedSortByProperty = INDEX_ALIASES.contains(sortByProperty)
+      ? "documentationUnitIndex.sortKeys." + sortByProperty
+      : sortByProperty;
+    return new QueryOptions(0, 0, resolvedSortByProperty, sortDirection, false);
+  }
+
+  private static void prepareExport(
+    HttpServletResponse response,
+    ExportFormat format,
+    String fileName
+  ) {
+    response.setContentType(format.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8);
+    response.setHeader(
+      HttpHeaders.CONTENT_DISPOSITION,
+      ContentDisposition.attachment()
+        .filename(fileName + "." + format.getFileExtension())
+        .build()
+        .toString()
+    );
+  }
+
+  private static ResponseEntity<DocumentationUnit> withETag(DocumentationUnit documentationUnit) {
+    return ResponseEntity.ok()
+      .eTag(DocumentationUnitETags.of(documentationUnit.version()))
+      .body(documentationUnit);
+  }
 }
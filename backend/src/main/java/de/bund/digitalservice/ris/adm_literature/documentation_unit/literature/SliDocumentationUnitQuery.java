@@ -13,6 +13,8 @@ import java.util.List;
  * @param titel Title to search for
  * @param verfasser List of authors to search for
  * @param queryOptions Page query options
+ * @param readYourWrites {@code true} if the index must contain all committed changes
+ * @param q Full-text search terms, the results are ordered by relevance if set
  */
 public record SliDocumentationUnitQuery(
   String documentNumber,
@@ -20,5 +22,68 @@ public record SliDocumentationUnitQuery(
   List<String> dokumenttypen,
   String titel,
   List<String> verfasser,
-  @Nonnull QueryOptions queryOptions
-) {}
+  @Nonnull QueryOptions queryOptions,
+  boolean readYourWrites,
+  String q
+) {
+  /**
+   * Creates a query without full-text search.
+   *
+   * @param documentNumber DocumentNumber to search for
+   * @param veroeffentlichungsjahr Publication year to search for
+   * @param dokumenttypen List of document types to filter by
+   * @param titel Title to search for
+   * @param verfasser List of authors to search for
+   * @param queryOptions Page query options
+   * @param readYourWrites {@code true} if the index must contain all committed changes
+   */
+  public SliDocumentationUnitQuery(
+    String documentNumber,
+    String veroeffentlichungsjahr,
+    List<String> dokumenttypen,
+    String titel,
+    List<String> verfasser,
+    @Nonnull QueryOptions queryOptions,
+    boolean readYourWrites
+  ) {
+    this(
+      documentNumber,
+      veroeffentlichungsjahr,
+      dokumenttypen,
+      titel,
+      verfasser,
+      queryOptions,
+      readYourWrites,
+      null
+    );
+  }
+
+  /**
+   * Creates a query on the possibly lagging index.
+   *
+   * @param documentNumber DocumentNumber to search for
+   * @param veroeffentlichungsjahr Publication year to search for
+   * @param dokumenttypen List of document types to filter by
+   * @param titel Title to search for
+   * @param verfasser List of authors to search for
+   * @param queryOptions Page query options
+   */
+  public SliDocumentationUnitQuery(
+    String documentNumber,
+    String veroeffentlichungsjahr,
+    List<String> dokumenttypen,
+    String titel,
+    List<String> verfasser,
+    @Nonnull QueryOptions queryOptions
+  ) {
+    this(
+      documentNumber,
+      veroeffentlichungsjahr,
+      dokumenttypen,
+      titel,
+      verfasser,
+      queryOptions,
+      false
+    );
+  }
+}
@@ -14,6 +14,8 @@ import java.util.List;
  * @param dokumenttypen      A list of {@link DocumentType} objects representing the document types to filter by.
  * @param verfasser          A list of strings representing the authors to filter by.
  * @param queryOptions       Page query options
+ * @param readYourWrites     {@code true} if the index must contain all committed changes
+ * @param q                  Full-text search terms, the results are ordered by relevance if set
  */
 public record UliDocumentationUnitQuery(
   String documentNumber,
@@ -21,5 +23,60 @@ public record UliDocumentationUnitQuery(
   String zitatstelle,
   List<String> dokumenttypen,
   List<String> verfasser,
-  @Nonnull QueryOptions queryOptions
-) {}
+  @Nonnull QueryOptions queryOptions,
+  boolean readYourWrites,
+  String q
+) {
+  /**
+   * Creates a query without full-text search.
+   *
+   * @param documentNumber     A string representing the document number to filter by.
+   * @param periodikum         A string representing the periodical to filter by.
+   * @param zitatstelle        A string representing the citation from the periodikum to filter by.
+   * @param dokumenttypen      A list of strings representing the document types to filter by.
+   * @param verfasser          A list of strings representing the authors to filter by.
+   * @param queryOptions       Page query options
+   * @param readYourWrites     {@code true} if the index must contain all committed changes
+   */
+  public UliDocumentationUnitQuery(
+    String documentNumber,
+    String periodikum,
+    String zitatstelle,
+    List<String> dokumenttypen,
+    List<String> verfasser,
+    @Nonnull QueryOptions queryOptions,
+    boolean readYourWrites
+  ) {
+    this(
+      documentNumber,
+      periodikum,
+      zitatstelle,
+      dokumenttypen,
+      verfasser,
+      queryOptions,
+      readYourWrites,
+      null
+    );
+  }
+
+  /**
+   * Creates a query on the possibly lagging index.
+   *
+   * @param documentNumber     A string representing the document number to filter by.
+   * @param periodikum         A string representing the periodical to filter by.
+   * @param zitatstelle        A string representing the citation from the periodikum to filter by.
+   * @param dokumenttypen      A list of strings representing the document types to filter by.
+   * @param verfasser          A list of strings representing the authors to filter by.
+   * @param queryOptions       Page query options
+   */
+  public UliDocumentationUnitQuery(
+    String documentNumber,
+    String periodikum,
+    String zitatstelle,
+    List<String> dokumenttypen,
+    List<String> verfasser,
+    @Nonnull QueryOptions queryOptions
+  ) {
+    this(documentNumber, periodikum, zitatstelle, dokumenttypen, verfasser, queryOptions, false);
+  }
+}
@@ -52,7 +52,7 @@ public record UliDocumentationUnitSpecification(
     addLikePredicate(predicates, criteriaBuilder, root.get("documentNumber"), documentNumber);
 
     var index = root.join("documentationUnitIndex", JoinType.LEFT);
-    var litIndex = root.join("documentationUnitIndex", JoinType.LEFT).get("literatureIndex");
+    var litIndex = index.get("literatureIndex");
 
     // periodikum
     addLikePredicate(predicates, criteriaBuilder, index.get("fundstellenCombined"), periodikum);
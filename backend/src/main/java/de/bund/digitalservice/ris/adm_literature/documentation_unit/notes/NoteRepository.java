@@ -2,6 +2,8 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.notes;
 
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
 import jakarta.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,4 +12,8 @@ interface NoteRepository extends JpaRepository<NoteEntity, UUID> {
   Optional<NoteEntity> findByDocumentationUnit(
     @Nonnull DocumentationUnitEntity documentationUnitEntity
   );
+
+  List<NoteEntity> findByDocumentationUnitIn(
+    @Nonnull Collection<DocumentationUnitEntity> documentationUnitEntities
+  );
 }
@@ -2,6 +2,11 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.notes;
 
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
 import jakarta.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -17,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class NoteService {
 
   private final NoteRepository noteRepository;
+  private final NoteWriteRepository noteWriteRepository;
 
   /**
    * Saves the given note for the given documentation unit entity. If the given note is {@code null} or blank,
@@ -52,6 +58,50 @@ public class NoteService {
     }
   }
 
+  /**
+   * Saves the given note for the documentation unit with the given id with a single statement, without
+   * reading the existing note. If the given note is {@code null} or blank, then an existing note is deleted.
+   * <p>
+   * The statement bypasses the persistence context: a note entity which has been loaded before in the same
+   * transaction is not updated.
+   * </p>
+   * @param documentationUnitId The id of the documentation unit
+   * @param note The note to save (can be {@code null} or blank, then an existing note is removed)
+   */
+  @Transactional
+  public void save(@Nonnull UUID documentationUnitId, String note) {
+    if (StringUtils.isBlank(note)) {
+      noteWriteRepository.delete(documentationUnitId);
+      log.info("Deleted note for documentation unit with id: {}.", documentationUnitId);
+    } else {
+      noteWriteRepository.upsert(documentationUnitId, note);
+      log.info("Saved note for documentation unit with id: {}.", documentationUnitId);
+    }
+  }
+
+  /**
+   * Creates the given notes of new documentation units, which have no note yet. The notes are inserted in
+   * JDBC batches.
+   * @param notes Map of the documentation unit entities to their notes, {@code null} or blank notes are
+   *              skipped
+   */
+  @Transactional
+  public void createAll(@Nonnull Map<DocumentationUnitEntity, String> notes) {
+    List<NoteEntity> noteEntities = notes
+      .entrySet()
+      .stream()
+      .filter(entry -> StringUtils.isNotBlank(entry.getValue()))
+      .map(entry -> {
+        var noteEntity = new NoteEntity();
+        noteEntity.setDocumentationUnit(entry.getKey());
+        noteEntity.setNote(entry.getValue());
+        return noteEntity;
+      })
+      .toList();
+    noteRepository.saveAll(noteEntities);
+    log.info("Created {} notes.", noteEntities.size());
+  }
+
   /**
    * Returns an optional note string for the given documentation unit entity.
    * @param documentationUnitEntity The documentation unit entity
@@ -64,4 +114,28 @@ public class NoteService {
       .map(NoteEntity::getNote)
       .orElse(null);
   }
+
+  /**
+   * Returns the notes of the given documentation unit entities, read with a single query.
+   * @param documentationUnitEntities The documentation unit entities
+   * @return Map of the ids of the documentation units to their notes, documentation units without note are
+   *         missing
+   */
+  @Transactional(readOnly = true)
+  public Map<UUID, String> findAll(
+    @Nonnull Collection<DocumentationUnitEntity> documentationUnitEntities
+  ) {
+    if (documentationUnitEntities.isEmpty()) {
+      return Map.of();
+    }
+    return noteRepository
+      .findByDocumentationUnitIn(documentationUnitEntities)
+      .stream()
+      .collect(
+        Collectors.toMap(
+          noteEntity -> noteEntity.getDocumentationUnit().getId(),
+          NoteEntity::getNote
+        )
+      );
+  }
 }
@@ -0,0 +1,48 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.notes;
+
+import jakarta.annotation.Nonnull;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for writing the notes of documentation units with a single statement, without reading
+ * the existing note before.
+ */
+@Repository
+@RequiredArgsConstructor
+class NoteWriteRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Inserts the note of the documentation unit with the given id or replaces its existing note.
+   *
+   * @param documentationUnitId The id of the documentation unit
+   * @param note                The note
+   */
+  void upsert(@Nonnull UUID documentationUnitId, @Nonnull String note) {
+    jdbcTemplate.update(
+      """
+      INSERT INTO documentation_unit_note (id, documentation_unit_id, note) VALUES (?, ?, ?)
+      ON CONFLICT (documentation_unit_id) DO UPDATE SET note = EXCLUDED.note
+      """,
+      UUID.randomUUID(),
+      documentationUnitId,
+      note
+    );
+  }
+
+  /**
+   * Deletes the note of the documentation unit with the given id, if there is one.
+   *
+   * @param documentationUnitId The id of the documentation unit
+   */
+  void delete(@Nonnull UUID documentationUnitId) {
+    jdbcTemplate.update(
+      "DELETE FROM documentation_unit_note WHERE documentation_unit_id = ?",
+      documentationUnitId
+    );
+  }
+}
@@ -1,26 +1,45 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit.passivzitierung;
 
+import de.bund.digitalservice.ris.adm_literature.config.scheduling.ClusterJobLock;
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
  * Cronjob to update 'Passivzitierungen'.
+ * <p>
+ * The work is split into {@code passivzitierung.shards} shards, so that several instances starting the job
+ * at the same time share the work and each target documentation unit is published by exactly one of them.
+ * </p>
  */
 @Component
 @RequiredArgsConstructor
 public class UpdatePassivzitierungJob {
 
   private final UpdatePassivzitierungService updatePassivzitierungService;
+  private final ClusterJobLock clusterJobLock;
+
+  @Value("${passivzitierung.shards:4}")
+  private int shardCount;
 
   /**
    * Execute updating 'Passivzitierungen'.
    */
   @Scheduled(cron = "${cronjob.UpdatePassivzitierungJob:-}", zone = "Europe/Berlin")
   public void execute() {
-    updatePassivzitierungService.updateAllByDocumentCategory(
-      DocumentCategory.VERWALTUNGSVORSCHRIFTEN
+    int shards = Math.max(1, shardCount);
+    clusterJobLock.runSharded(
+      "UpdatePassivzitierungJob",
+      IntStream.range(0, shards).boxed().toList(),
+      shard ->
+        updatePassivzitierungService.updateAllByDocumentCategory(
+          DocumentCategory.VERWALTUNGSVORSCHRIFTEN,
+          shard,
+          shards
+        )
     );
   }
 }
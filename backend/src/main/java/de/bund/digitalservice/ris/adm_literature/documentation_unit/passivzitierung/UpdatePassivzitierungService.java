@@ -2,14 +2,15 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.passivzitie
 
 import static java.util.stream.Collectors.*;
 
-import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
 import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaExecutor;
 import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitService;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.reference.DocumentReference;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.reference.PassiveReference;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.reference.PassiveReferenceService;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.springframework.stereotype.Service;
@@ -31,21 +32,43 @@ public class UpdatePassivzitierungService {
    * @param documentCategory The document category to update
    */
   public void updateAllByDocumentCategory(@NonNull DocumentCategory documentCategory) {
+    updateAllByDocumentCategory(documentCategory, 0, 1);
+  }
+
+  /**
+   * Updates the 'Passivzitierungen' of a shard of the target documentation units. The targets are
+   * assigned to the shards by their id, so that the shards are disjoint.
+   *
+   * @param documentCategory The document category to update
+   * @param shard The shard to update, between 0 (inclusive) and {@code shardCount} (exclusive)
+   * @param shardCount The number of shards
+   */
+  public void updateAllByDocumentCategory(
+    @NonNull DocumentCategory documentCategory,
+    int shard,
+    int shardCount
+  ) {
     List<PassiveReference> passiveReferences = schemaExecutor.executeInSchema(
       SchemaType.REFERENCES,
       () -> passiveReferenceService.findAll(documentCategory)
     );
-    SchemaContextHolder.setSchema(documentCategory.getSchemaType());
-    passiveReferences
+    Map<DocumentReference, List<DocumentReference>> referencedByTarget = passiveReferences
       .stream()
+      .filter(
+        passiveReference ->
+          Math.floorMod(passiveReference.target().documentationUnitId().hashCode(), shardCount) ==
+          shard
+      )
       .collect(
         groupingBy(PassiveReference::target, mapping(PassiveReference::referencedBy, toList()))
-      )
-      .forEach((target, referencedByList) ->
+      );
+    schemaExecutor.executeInSchema(documentCategory.getSchemaType(), () ->
+      referencedByTarget.forEach((target, referencedByList) ->
         documentationUnitService.publishPassiveReferences(
           target.documentationUnitId(),
           referencedByList
         )
-      );
+      )
+    );
   }
 }
@@ -0,0 +1,125 @@
+package de.bund.digitalservice.ris.adm_literature.page;
+
+import jakarta.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque continuation token of keyset pagination. The token contains the sort keys of the last element of a
+ * page, including their types, so that the keyset can be restored exactly (e.g. a {@link UUID} id).
+ */
+@UtilityClass
+public class ContinuationToken {
+
+  /**
+   * Encodes the given keyset position into a URL-safe token.
+   *
+   * @param position The position after the last element of a page
+   * @return The continuation token
+   */
+  @Nonnull
+  public static String encode(@Nonnull KeysetScrollPosition position) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeInt(position.getKeys().size());
+      for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+        output.writeUTF(key.getKey());
+        writeValue(output, key.getValue());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  /**
+   * Decodes the given continuation token. An empty token denotes the first page.
+   *
+   * @param token The continuation token
+   * @return The keyset position to continue after
+   * @throws ResponseStatusException with status 400 if the token is invalid
+   */
+  @Nonnull
+  public static KeysetScrollPosition decode(@Nonnull String token) {
+    if (token.isBlank()) {
+      return ScrollPosition.keyset();
+    }
+    try (
+      DataInputStream input = new DataInputStream(
+        new ByteArrayInputStream(Base64.getUrlDecoder().decode(token))
+      )
+    ) {
+      int size = input.readInt();
+      Map<String, Object> keys = new LinkedHashMap<>();
+      for (int i = 0; i < size; i++) {
+        keys.put(input.readUTF(), readValue(input));
+      }
+      return ScrollPosition.forward(keys);
+    } catch (IOException | IllegalArgumentException | DateTimeException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+    }
+  }
+
+  private static void writeValue(DataOutputStream output, Object value) throws IOException {
+    switch (value) {
+      case null -> output.writeChar('N');
+      case String string -> {
+        output.writeChar('S');
+        output.writeUTF(string);
+      }
+      case UUID uuid -> {
+        output.writeChar('U');
+        output.writeUTF(uuid.toString());
+      }
+      case Long number -> {
+        output.writeChar('L');
+        output.writeLong(number);
+      }
+      case Integer number -> {
+        output.writeChar('I');
+        output.writeInt(number);
+      }
+      case LocalDate date -> {
+        output.writeChar('D');
+        output.writeUTF(date.toString());
+      }
+      case LocalDateTime dateTime -> {
+        output.writeChar('T');
+        output.writeUTF(dateTime.toString());
+      }
+      default -> throw new IllegalArgumentException(
+        "Unsupported sort key type " + value.getClass().getName()
+      );
+    }
+  }
+
+  private static Object readValue(DataInputStream input) throws IOException {
+    char type = input.readChar();
+    return switch (type) {
+      case 'N' -> null;
+      case 'S' -> input.readUTF();
+      case 'U' -> UUID.fromString(input.readUTF());
+      case 'L' -> input.readLong();
+      case 'I' -> input.readInt();
+      case 'D' -> LocalDate.parse(input.readUTF());
+      case 'T' -> LocalDateTime.parse(input.readUTF());
+      default -> throw new IllegalArgumentException("Unknown sort key type " + type);
+    };
+  }
+}
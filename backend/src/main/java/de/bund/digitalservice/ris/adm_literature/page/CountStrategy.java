@@ -0,0 +1,27 @@
+package de.bund.digitalservice.ris.adm_literature.page;
+
+/**
+ * Strategy for determining the total number of elements of an offset page. Counting all matching elements
+ * exactly may be as expensive as reading the page itself, the other strategies trade accuracy for speed.
+ */
+public enum CountStrategy {
+  /** Exact number of matching elements. */
+  EXACT,
+  /**
+   * Estimate of the query planner, based on the table statistics. Only available for queries without
+   * search terms, other queries are counted {@link #CAPPED}.
+   */
+  ESTIMATED,
+  /**
+   * Exact number of matching elements up to {@link #CAPPED_LIMIT}. If more elements match, the total number
+   * of elements is {@code CAPPED_LIMIT + 1}, i.e. "more than {@code CAPPED_LIMIT}".
+   */
+  CAPPED,
+  /** Exact number of matching elements, which is cached per query for a short time and may be outdated. */
+  CACHED;
+
+  /**
+   * Maximum number of matching elements counted by {@link #CAPPED}.
+   */
+  public static final int CAPPED_LIMIT = 1000;
+}
@@ -15,6 +15,9 @@ import java.util.List;
  * @param last {@code true} if this is the very last page, otherwise {@code false}
  * @param empty {@code true} if this page is empty, which means that the page content is empty as well. Otherwise, set
  *                          to {@code false}
+ * @param nextCursor Continuation token of the next page if this page is a keyset page and not the last one,
+ *                   otherwise {@code null}
+ * @param countStrategy The strategy used for determining {@code totalElements}, {@code null} for keyset pages
  * @param <T> Type parameter for content elements
  */
 public record Page<T>(
@@ -25,5 +28,48 @@ public record Page<T>(
   long totalElements,
   boolean first,
   boolean last,
-  boolean empty
-) {}
+  boolean empty,
+  String nextCursor,
+  CountStrategy countStrategy
+) {
+  /**
+   * Value of {@code number} and {@code totalElements} of keyset pages, which are not determined.
+   */
+  public static final int UNKNOWN = -1;
+
+  /**
+   * Creates an offset page with an exact total number of elements.
+   *
+   * @param content The content, must not be {@code null}
+   * @param size The requested page size
+   * @param number The number of this page, beginning with 0
+   * @param numberOfElements The actual number of elements in this page
+   * @param totalElements The total number of elements (unpaged)
+   * @param first {@code true} if this is the very first page, otherwise {@code false}
+   * @param last {@code true} if this is the very last page, otherwise {@code false}
+   * @param empty {@code true} if this page is empty, otherwise {@code false}
+   */
+  public Page(
+    @Nonnull List<T> content,
+    int size,
+    int number,
+    int numberOfElements,
+    long totalElements,
+    boolean first,
+    boolean last,
+    boolean empty
+  ) {
+    this(
+      content,
+      size,
+      number,
+      numberOfElements,
+      totalElements,
+      first,
+      last,
+      empty,
+      null,
+      CountStrategy.EXACT
+    );
+  }
+}
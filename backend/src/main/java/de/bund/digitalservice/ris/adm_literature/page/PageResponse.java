@@ -13,6 +13,10 @@ import jakarta.annotation.Nonnull;
  * @param last {@code true} if this is the very last page, otherwise {@code false}
  * @param empty {@code true} if this page is empty, which means that the page content is empty as well. Otherwise, set
  *                          to {@code false}
+ * @param nextCursor Continuation token of the next page of keyset pagination, {@code null} on the last page and
+ *                   with offset pagination
+ * @param countStrategy The strategy used for determining {@code totalElements}, {@code null} with keyset
+ *                      pagination
  */
 public record PageResponse(
   int size,
@@ -21,7 +25,9 @@ public record PageResponse(
   long totalElements,
   boolean first,
   boolean last,
-  boolean empty
+  boolean empty,
+  String nextCursor,
+  CountStrategy countStrategy
 ) {
   public PageResponse(@Nonnull Page<?> page) {
     this(
@@ -31,7 +37,9 @@ public record PageResponse(
       page.totalElements(),
       page.first(),
       page.last(),
-      page.empty()
+      page.empty(),
+      page.nextCursor(),
+      page.countStrategy()
     );
   }
 }
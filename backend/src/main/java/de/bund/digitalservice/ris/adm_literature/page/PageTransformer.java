@@ -3,6 +3,9 @@ package de.bund.digitalservice.ris.adm_literature.page;
 import jakarta.annotation.Nonnull;
 import java.util.function.Function;
 import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 /**
  * Page transformer class to translate Spring Data' {@link org.springframework.data.domain.Page} to the application's
@@ -35,6 +38,74 @@ public class PageTransformer {
     );
   }
 
+  /**
+   * Transforms the given window of keyset pagination into a custom page object and returns it. The page
+   * number and the total number of elements are not determined.
+   * @param window Window of keyset pagination
+   * @param size The requested page size
+   * @param first {@code true} if the window starts at the beginning
+   * @param mappingFunction Mapping function for mapping the window content
+   * @return Transformed page record with the continuation token of the next page, if any
+   * @param <T> Window type
+   * @param <R> Result page type
+   */
+  public static <T, R> Page<R> transform(
+    @Nonnull Window<T> window,
+    int size,
+    boolean first,
+    Function<T, R> mappingFunction
+  ) {
+    String nextCursor = window.hasNext()
+      ? ContinuationToken.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+      : null;
+    return new Page<>(
+      window.map(mappingFunction).getContent(),
+      size,
+      Page.UNKNOWN,
+      window.size(),
+      Page.UNKNOWN,
+      first,
+      !window.hasNext(),
+      window.isEmpty(),
+      nextCursor,
+      null
+    );
+  }
+
+  /**
+   * Transforms the given Spring Data slice into a custom page object and returns it. The total number of
+   * elements is determined separately with the given strategy, it is at least the number of elements up to
+   * the end of the slice.
+   * @param slice Spring Data slice to transform
+   * @param totalElements The (possibly estimated or capped) total number of elements
+   * @param countStrategy The strategy used for determining the total number of elements
+   * @param mappingFunction Mapping function for mapping the slice content
+   * @return Transformed page record
+   * @param <T> Spring Data slice type
+   * @param <R> Result page type
+   */
+  public static <T, R> Page<R> transform(
+    @Nonnull Slice<T> slice,
+    long totalElements,
+    @Nonnull CountStrategy countStrategy,
+    Function<T, R> mappingFunction
+  ) {
+    long minimumTotalElements =
+      slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+    return new Page<>(
+      slice.map(mappingFunction).getContent(),
+      slice.getSize(),
+      slice.getNumber(),
+      slice.getNumberOfElements(),
+      Math.max(totalElements, minimumTotalElements),
+      slice.isFirst(),
+      slice.isLast(),
+      slice.isEmpty(),
+      null,
+      countStrategy
+    );
+  }
+
   /**
    * Transforms the given Spring Data page into a custom page object and returns it.7
    * @param page Spring Data page to transform
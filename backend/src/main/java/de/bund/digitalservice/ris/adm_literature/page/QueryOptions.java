@@ -11,11 +11,73 @@ import org.springframework.data.domain.Sort;
  * @param sortByProperty Property to sort by
  * @param sortDirection Direction to sort by
  * @param usePagination {@code true} if result should be paginated, {@code false} otherwise
+ * @param cursor Continuation token for keyset pagination (empty for the first page), {@code null} for offset
+ *               pagination with {@code pageNumber}
+ * @param countStrategy Strategy for determining the total number of elements of offset pages
  */
 public record QueryOptions(
   int pageNumber,
   int pageSize,
   @Nonnull String sortByProperty,
   @Nonnull Sort.Direction sortDirection,
-  boolean usePagination
-) {}
+  boolean usePagination,
+  String cursor,
+  @Nonnull CountStrategy countStrategy
+) {
+  /**
+   * Creates options for offset pagination.
+   *
+   * @param pageNumber Page (of pagination) to return
+   * @param pageSize Size of page
+   * @param sortByProperty Property to sort by
+   * @param sortDirection Direction to sort by
+   * @param usePagination {@code true} if result should be paginated, {@code false} otherwise
+   */
+  public QueryOptions(
+    int pageNumber,
+    int pageSize,
+    @Nonnull String sortByProperty,
+    @Nonnull Sort.Direction sortDirection,
+    boolean usePagination
+  ) {
+    this(pageNumber, pageSize, sortByProperty, sortDirection, usePagination, null);
+  }
+
+  /**
+   * Creates options with exact counting.
+   *
+   * @param pageNumber Page (of pagination) to return
+   * @param pageSize Size of page
+   * @param sortByProperty Property to sort by
+   * @param sortDirection Direction to sort by
+   * @param usePagination {@code true} if result should be paginated, {@code false} otherwise
+   * @param cursor Continuation token for keyset pagination, {@code null} for offset pagination
+   */
+  public QueryOptions(
+    int pageNumber,
+    int pageSize,
+    @Nonnull String sortByProperty,
+    @Nonnull Sort.Direction sortDirection,
+    boolean usePagination,
+    String cursor
+  ) {
+    this(
+      pageNumber,
+      pageSize,
+      sortByProperty,
+      sortDirection,
+      usePagination,
+      cursor,
+      CountStrategy.EXACT
+    );
+  }
+
+  /**
+   * Returns whether keyset pagination is requested.
+   *
+   * @return {@code true} if a cursor is given, {@code false} for offset pagination
+   */
+  public boolean useKeyset() {
+    return cursor != null;
+  }
+}
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS
+    scheduled_job_lock
+(
+    job_name     text      NOT NULL,
+    shard        integer   NOT NULL,
+    locked_at    timestamp NOT NULL,
+    locked_until timestamp NOT NULL,
+    locked_by    text      NOT NULL,
+    last_run_at  timestamp,
+    CONSTRAINT scheduled_job_lock_pkey PRIMARY KEY (job_name, shard)
+);
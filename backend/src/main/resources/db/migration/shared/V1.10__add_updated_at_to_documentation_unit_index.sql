@@ -0,0 +1,6 @@
+ALTER TABLE IF EXISTS
+    documentation_unit_index
+    ADD COLUMN IF NOT EXISTS updated_at timestamp;
+
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_documentation_unit_id
+    ON documentation_unit_index (documentation_unit_id);
@@ -0,0 +1,3 @@
+ALTER TABLE IF EXISTS
+    documentation_unit_index
+    ADD COLUMN IF NOT EXISTS content_hash text;
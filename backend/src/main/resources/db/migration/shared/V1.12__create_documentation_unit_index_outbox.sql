@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS
+    documentation_unit_index_outbox
+(
+    documentation_unit_id uuid      NOT NULL
+        CONSTRAINT documentation_unit_index_outbox_pkey PRIMARY KEY
+        CONSTRAINT documentation_unit_index_outbox_fkey REFERENCES documentation_unit ON DELETE CASCADE,
+    created_at            timestamp NOT NULL DEFAULT now(),
+    updated_at            timestamp NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_outbox_created_at
+    ON documentation_unit_index_outbox (created_at);
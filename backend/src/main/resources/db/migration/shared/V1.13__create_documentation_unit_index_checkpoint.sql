@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS
+    documentation_unit_index_checkpoint
+(
+    job                        text      NOT NULL
+        CONSTRAINT documentation_unit_index_checkpoint_pkey PRIMARY KEY,
+    started_at                 timestamp NOT NULL,
+    last_document_number       text,
+    last_documentation_unit_id uuid,
+    processed                  bigint    NOT NULL DEFAULT 0,
+    updated_at                 timestamp NOT NULL DEFAULT now()
+);
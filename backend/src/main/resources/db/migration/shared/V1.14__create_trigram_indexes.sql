@@ -0,0 +1,49 @@
+-- Substring searches (lower(column) LIKE '%term%') of the overview and Aktivzitierung specifications.
+-- The extension pg_trgm has to be provisioned by the database setup (see docker-initialization and
+-- DEVELOPING.md), as the schema users may not create extensions. If it is missing and cannot be created,
+-- the migration fails, so that the provisioning is fixed before the application starts without the indexes.
+-- The operator class is qualified with the schema of the extension, as it is usually not on the search path
+-- of the schema users.
+DO
+$$
+DECLARE
+    trgm_schema text;
+    indexed_column record;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        BEGIN
+            CREATE EXTENSION pg_trgm WITH SCHEMA public;
+        EXCEPTION
+            WHEN insufficient_privilege OR undefined_file THEN
+                RAISE EXCEPTION 'Extension pg_trgm is missing and cannot be created: %', SQLERRM
+                    USING HINT = 'Create the extension in schema public with a superuser, see DEVELOPING.md.';
+        END;
+    END IF;
+
+    SELECT n.nspname INTO trgm_schema
+    FROM pg_extension e
+             JOIN pg_namespace n ON n.oid = e.extnamespace
+    WHERE e.extname = 'pg_trgm';
+
+    FOR indexed_column IN
+        SELECT *
+        FROM (VALUES ('documentation_unit', 'document_number'),
+                     ('documentation_unit_index', 'fundstellen_combined'),
+                     ('documentation_unit_index', 'langueberschrift'),
+                     ('documentation_unit_index', 'zitierdaten_combined'),
+                     ('documentation_unit_index', 'normgeber_list_combined'),
+                     ('documentation_unit_index', 'aktenzeichen_list_combined'),
+                     ('documentation_unit_index', 'titel'),
+                     ('documentation_unit_index', 'dokumenttypen_combined'),
+                     ('documentation_unit_index', 'verfasser_list_combined')) AS c(table_name, column_name)
+        LOOP
+            EXECUTE format(
+                    'CREATE INDEX IF NOT EXISTS %I ON %I USING gin (lower(%I) %I.gin_trgm_ops)',
+                    'idx_' || indexed_column.table_name || '_' || indexed_column.column_name || '_trgm',
+                    indexed_column.table_name,
+                    indexed_column.column_name,
+                    trgm_schema
+                    );
+        END LOOP;
+END
+$$;
@@ -0,0 +1,22 @@
+-- German full-text search over the overview fields, titles weighted higher than citations and authors.
+-- The column is generated, so it is kept up to date by every write path (JPA and COPY of a rebuild).
+ALTER TABLE IF EXISTS
+    documentation_unit_index
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+        setweight(
+            to_tsvector('german'::regconfig, coalesce(langueberschrift, '') || ' ' || coalesce(titel, '')),
+            'A'
+        ) ||
+        setweight(
+            to_tsvector(
+                'german'::regconfig,
+                coalesce(fundstellen_combined, '') || ' ' ||
+                coalesce(zitierdaten_combined, '') || ' ' ||
+                coalesce(verfasser_list_combined, '')
+            ),
+            'B'
+        )
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_search_vector
+    ON documentation_unit_index USING gin (search_vector);
@@ -0,0 +1,33 @@
+-- Normalized sort keys of the sortable overview columns, written by the indexer (see SortKeys). The collation
+-- C makes the btree order independent of the database locale, so that sorted overview pages use the indexes.
+ALTER TABLE IF EXISTS
+    documentation_unit_index
+    ADD COLUMN IF NOT EXISTS sort_key_langueberschrift text COLLATE "C",
+    ADD COLUMN IF NOT EXISTS sort_key_fundstellen text COLLATE "C",
+    ADD COLUMN IF NOT EXISTS sort_key_zitierdaten text COLLATE "C",
+    ADD COLUMN IF NOT EXISTS sort_key_titel text COLLATE "C",
+    ADD COLUMN IF NOT EXISTS sort_key_veroeffentlichungsjahr text COLLATE "C",
+    ADD COLUMN IF NOT EXISTS sort_key_dokumenttypen text COLLATE "C",
+    ADD COLUMN IF NOT EXISTS sort_key_verfasser text COLLATE "C";
+
+-- The sort keys of existing index entries are written by a rebuild of the index, so that they are exactly
+-- the keys of the indexer. The checkpoint without position requests the rebuild, which the next run of the
+-- DocumentationUnitIndexJob starts. Until then, the sort keys of existing entries are NULL.
+INSERT INTO documentation_unit_index_checkpoint (job, started_at)
+VALUES ('rebuild', now())
+ON CONFLICT (job) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_sort_key_langueberschrift
+    ON documentation_unit_index (sort_key_langueberschrift);
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_sort_key_fundstellen
+    ON documentation_unit_index (sort_key_fundstellen);
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_sort_key_zitierdaten
+    ON documentation_unit_index (sort_key_zitierdaten);
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_sort_key_titel
+    ON documentation_unit_index (sort_key_titel);
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_sort_key_veroeffentlichungsjahr
+    ON documentation_unit_index (sort_key_veroeffentlichungsjahr);
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_sort_key_dokumenttypen
+    ON documentation_unit_index (sort_key_dokumenttypen);
+CREATE INDEX IF NOT EXISTS idx_documentation_unit_index_sort_key_verfasser
+    ON documentation_unit_index (sort_key_verfasser);
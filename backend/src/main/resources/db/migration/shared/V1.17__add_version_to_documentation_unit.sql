@@ -0,0 +1,4 @@
+-- Optimistic locking version of documentation units, also used as entity tag (ETag) by the REST API
+ALTER TABLE IF EXISTS
+    documentation_unit
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
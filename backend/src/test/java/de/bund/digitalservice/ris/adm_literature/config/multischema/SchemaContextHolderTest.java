@@ -37,4 +37,36 @@ class SchemaContextHolderTest {
       NullPointerException.class
     );
   }
+
+  @Test
+  void callInSchema_scopedSchemaTakesPrecedenceOverThreadLocal() {
+    SchemaContextHolder.setSchema(SchemaType.ADM);
+
+    SchemaType scopedSchema = SchemaContextHolder.callInSchema(
+      SchemaType.LITERATURE,
+      SchemaContextHolder::getSchema
+    );
+
+    assertThat(scopedSchema).isEqualTo(SchemaType.LITERATURE);
+    assertThat(SchemaContextHolder.getSchema()).isEqualTo(SchemaType.ADM);
+  }
+
+  @Test
+  void runInSchema_bindingEndsWithOperation() {
+    SchemaContextHolder.runInSchema(SchemaType.LITERATURE, () ->
+      assertThat(SchemaContextHolder.getSchema()).isEqualTo(SchemaType.LITERATURE)
+    );
+
+    assertThat(SchemaContextHolder.getSchema()).isNull();
+  }
+
+  @Test
+  void setSchema_withinScope_boundSchemaTakesPrecedence() {
+    SchemaContextHolder.runInSchema(SchemaType.ADM, () -> {
+      SchemaContextHolder.setSchema(SchemaType.LITERATURE);
+      assertThat(SchemaContextHolder.getSchema()).isEqualTo(SchemaType.ADM);
+    });
+
+    assertThat(SchemaContextHolder.getSchema()).isEqualTo(SchemaType.LITERATURE);
+  }
 }
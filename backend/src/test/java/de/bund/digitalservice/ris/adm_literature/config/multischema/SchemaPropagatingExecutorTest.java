@@ -0,0 +1,53 @@
+package de.bund.digitalservice.ris.adm_literature.config.multischema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SchemaPropagatingExecutorTest {
+
+  private final ExecutorService pool = Executors.newSingleThreadExecutor();
+  private final SchemaPropagatingExecutor executor = new SchemaPropagatingExecutor(pool);
+
+  @AfterEach
+  void tearDown() {
+    SchemaContextHolder.clear();
+    pool.shutdownNow();
+  }
+
+  @Test
+  void execute_propagatesSchemaOfSubmittingThread() {
+    // given
+    SchemaContextHolder.setSchema(SchemaType.LITERATURE);
+
+    // when
+    SchemaType schema = CompletableFuture.supplyAsync(
+      SchemaContextHolder::getSchema,
+      executor
+    ).join();
+
+    // then
+    assertThat(schema).isEqualTo(SchemaType.LITERATURE);
+  }
+
+  @Test
+  void execute_pooledThreadDoesNotKeepSchemaOfPreviousTask() {
+    // given
+    SchemaContextHolder.runInSchema(SchemaType.ADM, () ->
+      CompletableFuture.runAsync(() -> {}, executor).join()
+    );
+
+    // when
+    SchemaType schema = CompletableFuture.supplyAsync(
+      SchemaContextHolder::getSchema,
+      executor
+    ).join();
+
+    // then
+    assertThat(schema).isNull();
+  }
+}
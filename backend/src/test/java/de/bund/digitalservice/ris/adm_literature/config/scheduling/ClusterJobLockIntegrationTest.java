@@ -0,0 +1,147 @@
+package de.bund.digitalservice.ris.adm_literature.config.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "scheduling.lock.lease=PT1S")
+@ActiveProfiles("test")
+class ClusterJobLockIntegrationTest {
+
+  @Autowired
+  private ClusterJobLock clusterJobLock;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void runExclusively() {
+    // given
+    String jobName = "TestJob-" + UUID.randomUUID();
+    AtomicBoolean concurrentRun = new AtomicBoolean();
+
+    // when
+    boolean ran = clusterJobLock.runExclusively(jobName, () ->
+      // simulates another instance starting the job while it is running
+      concurrentRun.set(clusterJobLock.runExclusively(jobName, () -> {}))
+    );
+
+    // then
+    assertThat(ran).isTrue();
+    assertThat(concurrentRun).isFalse();
+  }
+
+  @Test
+  void runExclusively_finishedRunIsNotRepeated() {
+    // given
+    String jobName = "TestJob-" + UUID.randomUUID();
+    clusterJobLock.runExclusively(jobName, () -> {});
+
+    // when
+    // simulates another instance whose cron fires after the job has finished
+    boolean ranAgain = clusterJobLock.runExclusively(jobName, () -> {});
+
+    // then
+    assertThat(ranAgain).isFalse();
+  }
+
+  @Test
+  void runExclusively_nextRunAfterMinimumHold() {
+    // given
+    String jobName = "TestJob-" + UUID.randomUUID();
+    clusterJobLock.runExclusively(jobName, () -> {});
+    SchemaContextHolder.runInSchema(SchemaType.ADM, () ->
+      jdbcTemplate.update(
+        "UPDATE scheduled_job_lock SET locked_until = now() - interval '1 second' WHERE job_name = ?",
+        jobName
+      )
+    );
+
+    // when
+    boolean ran = clusterJobLock.runExclusively(jobName, () -> {});
+
+    // then
+    assertThat(ran).isTrue();
+  }
+
+  @Test
+  void runExclusively_leaseOfCrashedInstanceExpires() throws InterruptedException {
+    // given
+    String jobName = "TestJob-" + UUID.randomUUID();
+    // lock of an instance which crashed while running the job, its lease is no longer renewed
+    SchemaContextHolder.runInSchema(SchemaType.ADM, () ->
+      jdbcTemplate.update(
+        """
+        INSERT INTO scheduled_job_lock (job_name, shard, locked_at, locked_until, locked_by)
+        VALUES (?, 0, now(), now() + interval '1 second', 'crashed-instance')
+        """,
+        jobName
+      )
+    );
+    boolean ranWhileLeased = clusterJobLock.runExclusively(jobName, () -> {});
+
+    // when
+    Thread.sleep(1500);
+    boolean ranAfterLease = clusterJobLock.runExclusively(jobName, () -> {});
+
+    // then
+    assertThat(ranWhileLeased).isFalse();
+    assertThat(ranAfterLease).isTrue();
+  }
+
+  @Test
+  void runExclusively_leaseIsRenewedWhileRunning() {
+    // given
+    String jobName = "TestJob-" + UUID.randomUUID();
+    AtomicBoolean concurrentRun = new AtomicBoolean();
+
+    // when
+    boolean ran = clusterJobLock.runExclusively(jobName, () -> {
+      sleep(2500);
+      // simulates another instance starting the job after the first lease would have expired
+      concurrentRun.set(clusterJobLock.runExclusively(jobName, () -> {}));
+    });
+
+    // then
+    assertThat(ran).isTrue();
+    assertThat(concurrentRun).isFalse();
+  }
+
+  @Test
+  void runSharded() {
+    // given
+    String jobName = "ShardedTestJob-" + UUID.randomUUID();
+    List<String> processedByOtherInstance = new ArrayList<>();
+    List<String> shards = List.of("first", "second", "third");
+
+    // when
+    int processed = clusterJobLock.runSharded(jobName, shards, shard -> {
+      if (shard.equals("first")) {
+        // simulates another instance starting the job while the first shard is processed
+        clusterJobLock.runSharded(jobName, shards, processedByOtherInstance::add);
+      }
+    });
+
+    // then
+    assertThat(processed).isEqualTo(1);
+    assertThat(processedByOtherInstance).containsExactly("second", "third");
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -75,8 +75,33 @@ class SecurityConfigurationIntegrationTest {
       .andExpect(status().isOk());
   }
 
+  @Test
+  void whenRequestingActuatorMetricsWithoutAuth_thenUnauthorized() throws Exception {
+    mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void whenRequestingActuatorMetricsWithCorrectRole_thenOk() throws Exception {
+    mockMvc
+      .perform(
+        get("/actuator/metrics").with(
+          jwt().authorities(new SimpleGrantedAuthority("ROLE_adm_user"))
+        )
+      )
+      .andExpect(status().isOk());
+  }
+
   // --- DENY ALL OTHERS ---
 
+  @Test
+  void whenRequestingOtherActuatorEndpoint_thenForbidden() throws Exception {
+    mockMvc
+      .perform(
+        get("/actuator/info").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_adm_user")))
+      )
+      .andExpect(status().isForbidden());
+  }
+
   @Test
   void whenRequestingUndefinedEndpoint_thenForbidden() throws Exception {
     mockMvc
@@ -0,0 +1,98 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "documentation-unit.document-number.block-size=3")
+@ActiveProfiles("test")
+class DocumentNumberGeneratorIntegrationTest {
+
+  @Autowired
+  private DocumentNumberGenerator documentNumberGenerator;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void next() {
+    // given
+    Year year = Year.of(2001);
+
+    // when
+    List<String> documentNumbers = IntStream.range(0, 4)
+      .mapToObj(_ -> documentNumberGenerator.next("XGEN", year))
+      .toList();
+
+    // then
+    assertThat(documentNumbers).containsExactly(
+      "XGEN2001000001",
+      "XGEN2001000002",
+      "XGEN2001000003",
+      "XGEN2001000004"
+    );
+    // Two blocks of three numbers are reserved
+    assertThat(findLatest("XGEN", year)).isEqualTo("XGEN2001000006");
+  }
+
+  @Test
+  void next_continuesSeries() {
+    // given
+    jdbcTemplate.update(
+      "INSERT INTO document_number (id, prefix, year, latest) VALUES (gen_random_uuid(), ?, ?, ?)",
+      "XCON",
+      2001,
+      "XCON2001000041"
+    );
+
+    // when
+    String documentNumber = documentNumberGenerator.next("XCON", Year.of(2001));
+
+    // then
+    assertThat(documentNumber).isEqualTo("XCON2001000042");
+    assertThat(findLatest("XCON", Year.of(2001))).isEqualTo("XCON2001000044");
+  }
+
+  @Test
+  void next_concurrently() throws Exception {
+    // given
+    Year year = Year.of(2001);
+    Callable<List<String>> task = () ->
+      IntStream.range(0, 25)
+        .mapToObj(_ -> documentNumberGenerator.next("XPAR", year))
+        .toList();
+
+    // when
+    List<String> documentNumbers;
+    try (ExecutorService executorService = Executors.newFixedThreadPool(4)) {
+      List<Future<List<String>>> futures = executorService.invokeAll(
+        List.of(task, task, task, task)
+      );
+      documentNumbers = futures.stream().flatMap(future -> future.resultNow().stream()).toList();
+    }
+
+    // then
+    assertThat(documentNumbers).hasSize(100).doesNotHaveDuplicates();
+    assertThat(findLatest("XPAR", year)).isEqualTo("XPAR2001000102");
+  }
+
+  private String findLatest(String prefix, Year year) {
+    return jdbcTemplate.queryForObject(
+      "SELECT latest FROM document_number WHERE prefix = ? AND year = ?",
+      String.class,
+      prefix,
+      year.getValue()
+    );
+  }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.catchException;
 
 import java.time.Year;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -35,6 +36,26 @@ class DocumentNumberTest {
     assertThat(actual).isEqualTo(expected);
   }
 
+  @Test
+  void latestSequenceNumber() {
+    assertThat(new DocumentNumber("KSNR", Year.of(2025), null).latestSequenceNumber()).isZero();
+    assertThat(
+      new DocumentNumber("KSNR", Year.of(2025), "KSNR2025000042").latestSequenceNumber()
+    ).isEqualTo(42);
+  }
+
+  @Test
+  void format() {
+    // given
+    var documentNumber = new DocumentNumber("KALU", Year.of(2025), null);
+
+    // when
+    String actual = documentNumber.format(123);
+
+    // then
+    assertThat(actual).isEqualTo("KALU2025000123");
+  }
+
   private static Stream<Arguments> failingDocumentNumbers() {
     return Stream.of(
       // prefix, year, latestDocumentNumber
@@ -0,0 +1,75 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class DocumentationUnitETagsTest {
+
+  @Test
+  void of() {
+    // given
+    long version = 42;
+
+    // when
+    String eTag = DocumentationUnitETags.of(version);
+
+    // then
+    assertThat(eTag).isEqualTo("\"42\"");
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+    delimiter = '|',
+    value = {
+      "\"3\"              | true",
+      "W/\"3\"            | true",
+      "\"1\", \"3\"       | true",
+      "*                  | true",
+      "\"2\"              | false",
+      "W/\"2\", \"4\"     | false",
+    }
+  )
+  void matchesIfNoneMatch(String ifNoneMatch, boolean expected) {
+    // when
+    boolean matches = DocumentationUnitETags.matchesIfNoneMatch(ifNoneMatch, 3);
+
+    // then
+    assertThat(matches).isEqualTo(expected);
+  }
+
+  @Test
+  void checkIfMatch() {
+    assertThatCode(() -> DocumentationUnitETags.checkIfMatch(null, 3)).doesNotThrowAnyException();
+    assertThatCode(() -> DocumentationUnitETags.checkIfMatch("*", 3)).doesNotThrowAnyException();
+    assertThatCode(() ->
+      DocumentationUnitETags.checkIfMatch("\"3\"", 3)
+    ).doesNotThrowAnyException();
+  }
+
+  @Test
+  void checkIfMatch_mismatch() {
+    // Weak entity tags never match strongly
+    assertThatThrownBy(() -> DocumentationUnitETags.checkIfMatch("W/\"3\"", 3)).isInstanceOf(
+      VersionMismatchException.class
+    );
+    assertThatThrownBy(() -> DocumentationUnitETags.checkIfMatch("\"2\"", 3)).isInstanceOf(
+      VersionMismatchException.class
+    );
+  }
+
+  @Test
+  void versionsOfIfMatch() {
+    assertThat(DocumentationUnitETags.versionsOfIfMatch(null)).isEmpty();
+    assertThat(DocumentationUnitETags.versionsOfIfMatch("\"1\", *")).isEmpty();
+    // Weak and unknown entity tags never match strongly
+    assertThat(
+      DocumentationUnitETags.versionsOfIfMatch("\"1\", W/\"2\", \"abc\", \"3\"")
+    ).contains(List.of(1L, 3L));
+  }
+}
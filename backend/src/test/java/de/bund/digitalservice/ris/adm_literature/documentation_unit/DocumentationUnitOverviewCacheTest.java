@@ -0,0 +1,164 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.CountKey;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexUpdatedEvent;
+import de.bund.digitalservice.ris.adm_literature.page.Page;
+import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class DocumentationUnitOverviewCacheTest {
+
+  private static final QueryOptions QUERY_OPTIONS = new QueryOptions(
+    0,
+    10,
+    "documentNumber",
+    Sort.Direction.ASC,
+    true
+  );
+
+  private static final Page<String> PAGE = new Page<>(
+    List.of("KSLS000000001"),
+    10,
+    0,
+    1,
+    1,
+    true,
+    true,
+    false
+  );
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DocumentationUnitOverviewCache documentationUnitOverviewCache =
+    new DocumentationUnitOverviewCache(meterRegistry, Duration.ofMinutes(1), 2);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    SchemaContextHolder.setSchema(SchemaType.LITERATURE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SchemaContextHolder.clear();
+  }
+
+  private Page<String> get(CountKey query) {
+    return documentationUnitOverviewCache.get(query, QUERY_OPTIONS, () -> {
+      loads.incrementAndGet();
+      return PAGE;
+    });
+  }
+
+  @Test
+  void get_hit() {
+    // given
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "Titel"));
+
+    // when
+    Page<String> page = get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, " titel "));
+
+    // then
+    assertThat(page.content()).containsExactly("KSLS000000001");
+    assertThat(loads).hasValue(1);
+    assertThat(
+      meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()
+    ).isEqualTo(1);
+    assertThat(
+      meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()
+    ).isEqualTo(1);
+    assertThat(meterRegistry.get("cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+  }
+
+  @Test
+  void get_evictsLeastRecentlyUsed() {
+    // given
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "1"));
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "2"));
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "1"));
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "3"));
+
+    // when
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "1"));
+
+    // then
+    assertThat(loads).hasValue(3);
+    assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(2);
+    assertThat(
+      meterRegistry.get("cache.evictions").tag("cause", "size").functionCounter().count()
+    ).isEqualTo(1);
+  }
+
+  @Test
+  void onDocumentationUnitChanged_invalidatesCategory() {
+    // given
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "Titel"));
+    get(CountKey.of(DocumentCategory.LITERATUR_UNSELBSTAENDIG, "Titel"));
+
+    // when
+    documentationUnitOverviewCache.onDocumentationUnitChanged(
+      new DocumentationUnitChangedEvent(
+        SchemaType.LITERATURE,
+        DocumentCategory.LITERATUR_SELBSTAENDIG
+      )
+    );
+
+    // then
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "Titel"));
+    get(CountKey.of(DocumentCategory.LITERATUR_UNSELBSTAENDIG, "Titel"));
+    assertThat(loads).hasValue(3);
+    assertThat(
+      meterRegistry.get("cache.evictions").tag("cause", "invalidated").functionCounter().count()
+    ).isEqualTo(1);
+  }
+
+  @Test
+  void onIndexUpdated_ignoresOtherSchema() {
+    // given
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "Titel"));
+
+    // when
+    documentationUnitOverviewCache.onIndexUpdated(
+      new DocumentationUnitIndexUpdatedEvent(
+        SchemaType.ADM,
+        Set.of(DocumentCategory.VERWALTUNGSVORSCHRIFTEN)
+      )
+    );
+
+    // then
+    get(CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "Titel"));
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void get_doesNotCachePageReadDuringInvalidation() {
+    // given
+    CountKey query = CountKey.of(DocumentCategory.LITERATUR_SELBSTAENDIG, "Titel");
+    documentationUnitOverviewCache.get(query, QUERY_OPTIONS, () -> {
+      loads.incrementAndGet();
+      documentationUnitOverviewCache.invalidate(
+        SchemaType.LITERATURE,
+        Set.of(DocumentCategory.LITERATUR_SELBSTAENDIG)
+      );
+      return PAGE;
+    });
+
+    // when
+    get(query);
+
+    // then
+    assertThat(loads).hasValue(2);
+  }
+}
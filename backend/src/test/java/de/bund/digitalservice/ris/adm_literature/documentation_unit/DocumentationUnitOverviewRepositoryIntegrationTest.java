@@ -0,0 +1,233 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.Count;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.CountKey;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentionUnitSpecification;
+import de.bund.digitalservice.ris.adm_literature.page.CountStrategy;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestEntityManager
+@ActiveProfiles("test")
+class DocumentationUnitOverviewRepositoryIntegrationTest {
+
+  @Autowired
+  private DocumentationUnitOverviewRepository documentationUnitOverviewRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private void createTestUnits(String prefix, int count) {
+    jdbcTemplate.update(
+      """
+      INSERT INTO documentation_unit (id, document_number, documentation_unit_type, documentation_office)
+      SELECT gen_random_uuid(), ? || lpad(i::text, 5, '0'), 'VERWALTUNGSVORSCHRIFTEN', 'BSG'
+      FROM generate_series(1, ?) i
+      """,
+      prefix,
+      count
+    );
+  }
+
+  @Test
+  void findSlice() {
+    // given
+    createTestUnits("KSNRSLICE", 3);
+    var specification = new AdmDocumentionUnitSpecification("KSNRSLICE", null, null, null);
+
+    // when
+    Slice<DocumentationUnitOverviewRow> slice = documentationUnitOverviewRepository.findSlice(
+      specification,
+      PageRequest.of(0, 2, Sort.by("documentNumber"))
+    );
+
+    // then
+    assertThat(slice.getContent())
+      .extracting(DocumentationUnitOverviewRow::documentNumber)
+      .containsExactly("KSNRSLICE00001", "KSNRSLICE00002");
+    assertThat(slice.hasNext()).isTrue();
+  }
+
+  @Test
+  void findWindow() {
+    // given
+    createTestUnits("KSNRWINDOW", 3);
+    var specification = new AdmDocumentionUnitSpecification("KSNRWINDOW", null, null, null);
+    var firstWindow = documentationUnitOverviewRepository.findWindow(
+      specification,
+      "documentationUnitIndex.sortKeys.langueberschrift",
+      Sort.Direction.ASC,
+      ScrollPosition.keyset(),
+      2
+    );
+
+    // when
+    Window<DocumentationUnitOverviewRow> window = documentationUnitOverviewRepository.findWindow(
+      specification,
+      "documentationUnitIndex.sortKeys.langueberschrift",
+      Sort.Direction.ASC,
+      (KeysetScrollPosition) firstWindow.positionAt(1),
+      2
+    );
+
+    // then
+    assertThat(firstWindow.getContent())
+      .extracting(
+        DocumentationUnitOverviewRow::documentNumber,
+        DocumentationUnitOverviewRow::indexed
+      )
+      .containsExactly(tuple("KSNRWINDOW00001", false), tuple("KSNRWINDOW00002", false));
+    assertThat(firstWindow.hasNext()).isTrue();
+    assertThat(window.getContent())
+      .extracting(DocumentationUnitOverviewRow::documentNumber)
+      .containsExactly("KSNRWINDOW00003");
+    assertThat(window.hasNext()).isFalse();
+  }
+
+  @Test
+  void findWindow_sortKeyIsNoText() {
+    // given
+    var specification = new AdmDocumentionUnitSpecification("KSNRWINDOW", null, null, null);
+    KeysetScrollPosition position = ScrollPosition.forward(
+      Map.of(
+        "documentationUnitIndex.sortKeys.langueberschrift",
+        42,
+        "documentNumber",
+        "KSNRWINDOW00001"
+      )
+    );
+
+    // when / then
+    assertThatThrownBy(() ->
+      documentationUnitOverviewRepository.findWindow(
+        specification,
+        "documentationUnitIndex.sortKeys.langueberschrift",
+        Sort.Direction.ASC,
+        position,
+        2
+      )
+    )
+      .isInstanceOf(ResponseStatusException.class)
+      .hasMessageContaining("Invalid cursor");
+  }
+
+  @Test
+  void stream() {
+    // given
+    createTestUnits("KSNRSTREAM", 3);
+    var specification = new AdmDocumentionUnitSpecification("KSNRSTREAM", null, null, null);
+
+    // when
+    List<String> documentNumbers;
+    try (
+      Stream<DocumentationUnitOverviewRow> rows = documentationUnitOverviewRepository.stream(
+        specification,
+        Sort.by(Sort.Direction.DESC, "documentNumber")
+      )
+    ) {
+      documentNumbers = rows.map(DocumentationUnitOverviewRow::documentNumber).toList();
+    }
+
+    // then
+    assertThat(documentNumbers).containsExactly(
+      "KSNRSTREAM00003",
+      "KSNRSTREAM00002",
+      "KSNRSTREAM00001"
+    );
+  }
+
+  @Test
+  void count_capped() {
+    // given
+    createTestUnits("KSNRCAPPED", CountStrategy.CAPPED_LIMIT + 5);
+    var specification = new AdmDocumentionUnitSpecification("KSNRCAPPED", null, null, null);
+
+    // when
+    Count count = documentationUnitOverviewRepository.count(
+      specification,
+      CountStrategy.CAPPED,
+      CountKey.of(null, "KSNRCAPPED")
+    );
+
+    // then
+    assertThat(count).isEqualTo(new Count(CountStrategy.CAPPED_LIMIT + 1, CountStrategy.CAPPED));
+  }
+
+  @Test
+  void count_estimated() {
+    // given
+    createTestUnits("KSNRESTIMATED", 10);
+
+    // when
+    Count count = documentationUnitOverviewRepository.count(
+      new AdmDocumentionUnitSpecification(null, null, null, null),
+      CountStrategy.ESTIMATED,
+      CountKey.of(null, null, null, null, null)
+    );
+
+    // then
+    assertThat(count.countStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+    assertThat(count.totalElements()).isPositive();
+  }
+
+  @Test
+  void count_estimated_withFilterIsCapped() {
+    // given
+    createTestUnits("KSNRFILTERED", 3);
+    var specification = new AdmDocumentionUnitSpecification("KSNRFILTERED", null, null, null);
+
+    // when
+    Count count = documentationUnitOverviewRepository.count(
+      specification,
+      CountStrategy.ESTIMATED,
+      CountKey.of(null, "KSNRFILTERED")
+    );
+
+    // then
+    assertThat(count).isEqualTo(new Count(3, CountStrategy.CAPPED));
+  }
+
+  @Test
+  void count_cached() {
+    // given
+    createTestUnits("KSNRCACHED", 2);
+    var specification = new AdmDocumentionUnitSpecification("KSNRCACHED", null, null, null);
+    documentationUnitOverviewRepository.count(
+      specification,
+      CountStrategy.CACHED,
+      CountKey.of(null, "KSNRCACHED")
+    );
+    createTestUnits("KSNRCACHED1", 1);
+
+    // when
+    Count count = documentationUnitOverviewRepository.count(
+      specification,
+      CountStrategy.CACHED,
+      CountKey.of(null, " ksnrcached ")
+    );
+
+    // then
+    assertThat(count).isEqualTo(new Count(2, CountStrategy.CACHED));
+  }
+}
@@ -1,31 +1,39 @@
 package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
 
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitOverviewElement;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.AdmIndex;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexEntity;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexOutboxService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.LiteratureIndex;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.notes.NoteEntity;
 import de.bund.digitalservice.ris.adm_literature.page.Page;
 import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
+import de.bund.digitalservice.ris.adm_literature.test.StatementCounter;
 import de.bund.digitalservice.ris.adm_literature.test.TestFile;
 import de.bund.digitalservice.ris.adm_literature.test.WithMockAdmUser;
 import jakarta.persistence.TypedQuery;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.assertj.core.api.InstanceOfAssertFactories;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +42,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 @AutoConfigureTestEntityManager
 @ActiveProfiles("test")
+@Import(StatementCounter.class)
 class DocumentationUnitPersistenceServiceIntegrationTest {
 
   @Autowired
@@ -42,6 +51,15 @@ class DocumentationUnitPersistenceServiceIntegrationTest {
   @Autowired
   private DocumentationUnitPersistenceService documentationUnitPersistenceService;
 
+  @Autowired
+  private DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+
+  @Autowired
+  private DocumentationUnitRepository documentationUnitRepository;
+
+  @Autowired
+  private StatementCounter statementCounter;
+
   private void createTestUnit(
     String documentNumber,
     String langueberschrift,
@@ -118,6 +136,73 @@ class DocumentationUnitPersistenceServiceIntegrationTest {
       );
   }
 
+  @Test
+  @DisplayName("The content of a documentation unit is only loaded with the content entity graph")
+  void findByDocumentNumber_loadsContentLazily() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR2025000223");
+    documentationUnitEntity.setJson("{\"test\":\"content\"}");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    entityManager.persistAndFlush(documentationUnitEntity);
+    entityManager.clear();
+
+    // when
+    DocumentationUnitEntity withoutContent = documentationUnitRepository
+      .findByDocumentNumber("KSNR2025000223")
+      .orElseThrow();
+    entityManager.clear();
+    DocumentationUnitEntity withContent = documentationUnitRepository
+      .findWithContentByDocumentNumber("KSNR2025000223")
+      .orElseThrow();
+
+    // then
+    assertThat(Hibernate.isPropertyInitialized(withoutContent, "json")).isFalse();
+    assertThat(Hibernate.isPropertyInitialized(withContent, "json")).isTrue();
+    assertThat(withContent.getJson()).isEqualTo("{\"test\":\"content\"}");
+  }
+
+  @Test
+  @DisplayName("Find documentation units by document numbers in the requested order")
+  void findAllByDocumentNumbers() {
+    // given
+    DocumentationUnitEntity withNote = new DocumentationUnitEntity();
+    withNote.setDocumentNumber("KSNR2025000301");
+    withNote.setJson("{\"test\":\"content\"}");
+    withNote.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    withNote.setDocumentationOffice(DocumentationOffice.BSG);
+    withNote = entityManager.persistFlushFind(withNote);
+    NoteEntity noteEntity = new NoteEntity();
+    noteEntity.setNote("Notiz");
+    noteEntity.setDocumentationUnit(withNote);
+    entityManager.persistAndFlush(noteEntity);
+    DocumentationUnitEntity withoutNote = new DocumentationUnitEntity();
+    withoutNote.setDocumentNumber("KSNR2025000302");
+    withoutNote.setXml("<akn:akomaNtoso/>");
+    withoutNote.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    withoutNote.setDocumentationOffice(DocumentationOffice.BSG);
+    entityManager.persistAndFlush(withoutNote);
+
+    // when
+    List<DocumentationUnit> documentationUnits =
+      documentationUnitPersistenceService.findAllByDocumentNumbers(
+        List.of("KSNR2025000302", "KSNR2025999999", "KSNR2025000301")
+      );
+
+    // then
+    assertThat(documentationUnits)
+      .extracting(
+        DocumentationUnit::documentNumber,
+        DocumentationUnit::json,
+        DocumentationUnit::xml
+      )
+      .containsExactly(
+        tuple("KSNR2025000302", null, "<akn:akomaNtoso/>"),
+        tuple("KSNR2025000301", "{\"test\":\"content\",\"note\":\"Notiz\"}", null)
+      );
+  }
+
   @Test
   @WithMockAdmUser
   void create() {
@@ -176,6 +261,7 @@ class DocumentationUnitPersistenceServiceIntegrationTest {
 
     // when
     documentationUnitPersistenceService.update(documentationUnitEntity.getDocumentNumber(), json);
+    documentationUnitIndexOutboxService.processOutbox(SchemaType.ADM);
 
     // then
     TypedQuery<DocumentationUnitIndexEntity> query = createTypedQuery(documentationUnitEntity);
@@ -193,6 +279,72 @@ class DocumentationUnitPersistenceServiceIntegrationTest {
       );
   }
 
+  @Test
+  @DisplayName("Index is not updated if only not indexed properties changed")
+  void update_indexedPropertiesUnchanged() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR111111112");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity = entityManager.persistFlushFind(documentationUnitEntity);
+    String json = TestFile.readFileToString("adm/json-example.json");
+    documentationUnitPersistenceService.update(documentationUnitEntity.getDocumentNumber(), json);
+    documentationUnitIndexOutboxService.processOutbox(SchemaType.ADM);
+    entityManager.flush();
+    DocumentationUnitIndexEntity documentationUnitIndexEntity = createTypedQuery(
+      documentationUnitEntity
+    ).getSingleResult();
+    // Marker to detect whether the index was updated
+    documentationUnitIndexEntity.getAdmIndex().setLangueberschrift("Unverändert");
+    entityManager.flush();
+    entityManager.clear();
+
+    // when
+    documentationUnitPersistenceService.update(
+      documentationUnitEntity.getDocumentNumber(),
+      json.replace("Kurzreferat Zeile 1", "Kurzreferat geändert")
+    );
+    documentationUnitIndexOutboxService.processOutbox(SchemaType.ADM);
+    entityManager.flush();
+
+    // then
+    assertThat(createTypedQuery(documentationUnitEntity).getResultList())
+      .singleElement()
+      .extracting(duie -> duie.getAdmIndex().getLangueberschrift())
+      .isEqualTo("Unverändert");
+  }
+
+  @Test
+  @DisplayName("Index is updated if an indexed property changed")
+  void update_indexedPropertiesChanged() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR111111113");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity = entityManager.persistFlushFind(documentationUnitEntity);
+    String json = TestFile.readFileToString("adm/json-example.json");
+    documentationUnitPersistenceService.update(documentationUnitEntity.getDocumentNumber(), json);
+    documentationUnitIndexOutboxService.processOutbox(SchemaType.ADM);
+    entityManager.flush();
+    entityManager.clear();
+
+    // when
+    documentationUnitPersistenceService.update(
+      documentationUnitEntity.getDocumentNumber(),
+      json.replace("1. Bekanntmachung", "2. Bekanntmachung")
+    );
+    documentationUnitIndexOutboxService.processOutbox(SchemaType.ADM);
+    entityManager.flush();
+
+    // then
+    assertThat(createTypedQuery(documentationUnitEntity).getResultList())
+      .singleElement()
+      .extracting(duie -> duie.getAdmIndex().getLangueberschrift())
+      .isEqualTo("2. Bekanntmachung zum XML-Testen in NeuRIS VwV");
+  }
+
   @Test
   @DisplayName("Updated an existing documentation unit and its note")
   void update_withNote() {
@@ -221,6 +373,125 @@ class DocumentationUnitPersistenceServiceIntegrationTest {
       .isEqualTo("Neue Notiz");
   }
 
+  @Test
+  @DisplayName("An update with note and reindex needs three statements")
+  void update_statements() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR2025000112");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    UUID id = entityManager.persistFlushFind(documentationUnitEntity).getId();
+    statementCounter.reset();
+
+    // when
+    DocumentationUnit documentationUnit = documentationUnitPersistenceService.update(
+      "KSNR2025000112",
+      "{\"test\":\"content\",\"note\":\"Notiz\"}",
+      DocumentationUnitETags.of(0),
+      true
+    );
+
+    // then
+    // UPDATE of the documentation unit, upsert of the note and enqueue of the index update
+    assertThat(statementCounter.count()).isEqualTo(3);
+    assertThat(documentationUnit)
+      .extracting(
+        DocumentationUnit::id,
+        DocumentationUnit::version,
+        dun -> dun.administrativeData().note()
+      )
+      .containsExactly(id, 1L, "Notiz");
+    assertThat(entityManager.find(DocumentationUnitEntity.class, id))
+      .extracting(DocumentationUnitEntity::getJson, DocumentationUnitEntity::getVersion)
+      .containsExactly("{\"test\":\"content\",\"note\":\"Notiz\"}", 1L);
+  }
+
+  @Test
+  @DisplayName("An update without note and without reindex needs two statements")
+  void update_statementsWithoutReindex() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR2025000113");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    entityManager.persistAndFlush(documentationUnitEntity);
+    statementCounter.reset();
+
+    // when
+    documentationUnitPersistenceService.update(
+      "KSNR2025000113",
+      "{\"test\":\"content\"}",
+      null,
+      false
+    );
+
+    // then
+    // UPDATE of the documentation unit and DELETE of a possibly existing note
+    assertThat(statementCounter.count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("An existing note is replaced and removed by updates")
+  void update_replacesNote() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR2025000114");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    entityManager.persistAndFlush(documentationUnitEntity);
+    documentationUnitPersistenceService.update("KSNR2025000114", "{\"note\":\"Alt\"}");
+
+    // when
+    documentationUnitPersistenceService.update("KSNR2025000114", "{\"note\":\"Neu\"}");
+
+    // then
+    TypedQuery<NoteEntity> query = entityManager
+      .getEntityManager()
+      .createQuery("from NoteEntity", NoteEntity.class);
+    assertThat(query.getResultList())
+      .singleElement()
+      .extracting(NoteEntity::getNote)
+      .isEqualTo("Neu");
+
+    // when
+    documentationUnitPersistenceService.update("KSNR2025000114", "{\"note\":\" \"}");
+
+    // then
+    assertThat(query.getResultList()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("An update of another version is rejected with the current entity tag")
+  void update_versionMismatch() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR2025000115");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity.setJson("{\"test\":\"alt\"}");
+    UUID id = entityManager.persistFlushFind(documentationUnitEntity).getId();
+    entityManager.clear();
+
+    // when
+    Throwable throwable = catchThrowable(() ->
+      documentationUnitPersistenceService.update(
+        "KSNR2025000115",
+        "{\"test\":\"neu\"}",
+        DocumentationUnitETags.of(5),
+        true
+      )
+    );
+
+    // then
+    assertThat(throwable).isInstanceOfSatisfying(VersionMismatchException.class, exception ->
+      assertThat(exception.getHeaders().getETag()).isEqualTo("\"0\"")
+    );
+    assertThat(entityManager.find(DocumentationUnitEntity.class, id))
+      .extracting(DocumentationUnitEntity::getJson)
+      .isEqualTo("{\"test\":\"alt\"}");
+  }
+
   @Test
   void update_notFound() {
     // given
@@ -527,6 +798,66 @@ class DocumentationUnitPersistenceServiceIntegrationTest {
       .isEqualTo(List.of("2025-01-07"));
   }
 
+  @Test
+  void findAdmDocumentationUnitOverviewElements_byFullTextSearchRankedByRelevance() {
+    // given
+    createTestUnit("KSNR00201", "Richtlinie", "Verwaltungsvorschrift Blatt 3", "2025-01-09");
+    createTestUnit("KSNR00202", "Verwaltungsvorschrift zur Beihilfe", "Fundstelle I", "2025-01-10");
+    createTestUnit("KSNR00203", "Satzung", "Amtsblatt 4", "2025-01-11");
+
+    // when
+    var query = new AdmDocumentationUnitQuery(
+      null,
+      null,
+      null,
+      null,
+      new QueryOptions(0, 10, "documentNumber", Sort.Direction.ASC, false),
+      false,
+      "Verwaltungsvorschriften"
+    );
+    var result = documentationUnitPersistenceService.findAdmDocumentationUnitOverviewElements(
+      query
+    );
+
+    // then
+    assertThat(result.content())
+      .extracting(AdmDocumentationUnitOverviewElement::documentNumber)
+      .filteredOn(documentNumber -> documentNumber.startsWith("KSNR002"))
+      .containsExactly("KSNR00202", "KSNR00201");
+  }
+
+  @Test
+  void findAdmDocumentationUnitOverviewElements_withKeysetPagination() {
+    // given
+    createTestUnit("KSNR00301", "Title 1", "Fundstelle 1", "2025-02-01");
+    createTestUnit("KSNR00302", "Title 2", "Fundstelle 2", "2025-02-02");
+    createTestUnit("KSNR00303", "Title 3", "Fundstelle 3", "2025-02-03");
+
+    // when
+    List<String> documentNumbers = new ArrayList<>();
+    String cursor = "";
+    Page<AdmDocumentationUnitOverviewElement> result;
+    do {
+      var query = new AdmDocumentationUnitQuery(
+        "KSNR003",
+        null,
+        null,
+        null,
+        new QueryOptions(0, 2, "documentNumber", Sort.Direction.DESC, true, cursor)
+      );
+      result = documentationUnitPersistenceService.findAdmDocumentationUnitOverviewElements(
+        query
+      );
+      result.content().forEach(element -> documentNumbers.add(element.documentNumber()));
+      cursor = result.nextCursor();
+    } while (cursor != null);
+
+    // then
+    assertThat(documentNumbers).containsExactly("KSNR00303", "KSNR00302", "KSNR00301");
+    assertThat(result.totalElements()).isEqualTo(Page.UNKNOWN);
+    assertThat(result.last()).isTrue();
+  }
+
   @Test
   void findLiteratureDocumentationUnitOverviewElements_resolvesDocumentTypeAbbreviations() {
     // given
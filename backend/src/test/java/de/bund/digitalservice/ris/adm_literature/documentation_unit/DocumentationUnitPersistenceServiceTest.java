@@ -3,14 +3,16 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit;
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.Count;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitOverviewRepository.CountKey;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitOverviewElement;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentionUnitSpecification;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.AdmIndex;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexEntity;
-import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.LiteratureIndex;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitOverviewElement;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitQuery;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.SliDocumentationUnitSpecification;
@@ -19,7 +21,10 @@ import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.U
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.UliDocumentationUnitSpecification;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.notes.NoteService;
 import de.bund.digitalservice.ris.adm_literature.lookup_tables.document_type.DocumentTypeService;
+import de.bund.digitalservice.ris.adm_literature.page.CountStrategy;
 import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,9 +35,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import tools.jackson.databind.ObjectMapper;
 
@@ -45,6 +53,9 @@ class DocumentationUnitPersistenceServiceTest {
   @Mock
   private DocumentationUnitRepository documentationUnitRepository;
 
+  @Mock
+  private DocumentationUnitOverviewRepository documentationUnitOverviewRepository;
+
   @Mock
   private DocumentTypeService documentTypeService;
 
@@ -54,13 +65,20 @@ class DocumentationUnitPersistenceServiceTest {
   @Spy
   private ObjectMapper objectMapper = new ObjectMapper();
 
+  @Spy
+  private DocumentationUnitOverviewCache documentationUnitOverviewCache =
+    new DocumentationUnitOverviewCache(new SimpleMeterRegistry(), Duration.ofSeconds(10), 0);
+
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
   @Test
   void findByDocumentNumber() {
     // given
     DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
     documentationUnitEntity.setDocumentNumber("KSNR000000002");
     documentationUnitEntity.setJson("{\"abc\":false}");
-    given(documentationUnitRepository.findByDocumentNumber("KSNR000000002")).willReturn(
+    given(documentationUnitRepository.findWithContentByDocumentNumber("KSNR000000002")).willReturn(
       Optional.of(documentationUnitEntity)
     );
 
@@ -74,10 +92,58 @@ class DocumentationUnitPersistenceServiceTest {
     );
   }
 
+  @Test
+  void findByDocumentNumber_replacesNote() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR000000002");
+    documentationUnitEntity.setJson(
+      """
+      {"a":{"note":"inner","list":[1,2.5,null]},"note":"alt","b":"\\u00e4"}"""
+    );
+    given(documentationUnitRepository.findWithContentByDocumentNumber("KSNR000000002")).willReturn(
+      Optional.of(documentationUnitEntity)
+    );
+    given(noteService.find(documentationUnitEntity)).willReturn("neu \"zitiert\"");
+
+    // when
+    Optional<DocumentationUnit> documentationUnit =
+      documentationUnitPersistenceService.findByDocumentNumber("KSNR000000002");
+
+    // then
+    assertThat(documentationUnit).hasValueSatisfying(actual ->
+      assertThat(actual.json()).isEqualTo(
+        """
+        {"a":{"note":"inner","list":[1,2.5,null]},"note":"neu \\"zitiert\\"","b":"ä"}"""
+      )
+    );
+  }
+
+  @Test
+  void findByDocumentNumber_appendsNote() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR000000002");
+    documentationUnitEntity.setJson("{\"abc\":false}");
+    given(documentationUnitRepository.findWithContentByDocumentNumber("KSNR000000002")).willReturn(
+      Optional.of(documentationUnitEntity)
+    );
+    given(noteService.find(documentationUnitEntity)).willReturn("Notiz");
+
+    // when
+    Optional<DocumentationUnit> documentationUnit =
+      documentationUnitPersistenceService.findByDocumentNumber("KSNR000000002");
+
+    // then
+    assertThat(documentationUnit).hasValueSatisfying(actual ->
+      assertThat(actual.json()).isEqualTo("{\"abc\":false,\"note\":\"Notiz\"}")
+    );
+  }
+
   @Test
   void findByDocumentNumber_notFound() {
     // given
-    given(documentationUnitRepository.findByDocumentNumber("KSNR000000002")).willReturn(
+    given(documentationUnitRepository.findWithContentByDocumentNumber("KSNR000000002")).willReturn(
       Optional.empty()
     );
 
@@ -92,33 +158,41 @@ class DocumentationUnitPersistenceServiceTest {
   @Test
   void findAdmDocumentationUnitOverviewElements() {
     // given
-    DocumentationUnitEntity entityWithIndex = new DocumentationUnitEntity();
-    entityWithIndex.setId(UUID.randomUUID());
-    entityWithIndex.setDocumentNumber("DOC-001");
-    DocumentationUnitIndexEntity index = new DocumentationUnitIndexEntity();
-    index.setFundstellenCombined("Citation 1");
-    index.setFundstellen(List.of("Citation 1"));
-    AdmIndex admIndex = index.getAdmIndex();
-    admIndex.setLangueberschrift("Title 1");
-    admIndex.setZitierdatenCombined("2023-01-01");
-    admIndex.setZitierdaten(List.of("2023-01-01"));
-    entityWithIndex.setDocumentationUnitIndex(index);
-
-    DocumentationUnitEntity entityWithoutIndex = new DocumentationUnitEntity();
-    entityWithoutIndex.setId(UUID.randomUUID());
-    entityWithoutIndex.setDocumentNumber("DOC-002");
-    entityWithoutIndex.setDocumentationUnitIndex(null);
-
-    Page<DocumentationUnitEntity> pageOfEntities = new PageImpl<>(
-      List.of(entityWithIndex, entityWithoutIndex)
+    DocumentationUnitOverviewRow rowWithIndex = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "DOC-001",
+      true,
+      List.of("Citation 1"),
+      "Title 1",
+      List.of("2023-01-01"),
+      null,
+      null,
+      null,
+      null
+    );
+    DocumentationUnitOverviewRow rowWithoutIndex = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "DOC-002",
+      false,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+
+    Page<DocumentationUnitOverviewRow> pageOfRows = new PageImpl<>(
+      List.of(rowWithIndex, rowWithoutIndex)
     );
 
     given(
-      documentationUnitRepository.findAll(
+      documentationUnitOverviewRepository.findPage(
         any(AdmDocumentionUnitSpecification.class),
         any(Pageable.class)
       )
-    ).willReturn(pageOfEntities);
+    ).willReturn(pageOfRows);
 
     // when
     de.bund.digitalservice.ris.adm_literature.page.Page<
@@ -149,7 +223,7 @@ class DocumentationUnitPersistenceServiceTest {
 
     // Assert transformation for the entity WITH an index
     AdmDocumentationUnitOverviewElement elementWithIndex = result.content().getFirst();
-    assertThat(elementWithIndex.id()).isEqualTo(entityWithIndex.getId());
+    assertThat(elementWithIndex.id()).isEqualTo(rowWithIndex.id());
     assertThat(elementWithIndex.documentNumber()).isEqualTo("DOC-001");
     assertThat(elementWithIndex.langueberschrift()).isEqualTo("Title 1");
     assertThat(elementWithIndex.zitierdaten()).containsExactly("2023-01-01");
@@ -157,7 +231,7 @@ class DocumentationUnitPersistenceServiceTest {
 
     // Assert transformation for the entity WITHOUT an index
     AdmDocumentationUnitOverviewElement elementWithoutIndex = result.content().get(1);
-    assertThat(elementWithoutIndex.id()).isEqualTo(entityWithoutIndex.getId());
+    assertThat(elementWithoutIndex.id()).isEqualTo(rowWithoutIndex.id());
     assertThat(elementWithoutIndex.documentNumber()).isEqualTo("DOC-002");
     assertThat(elementWithoutIndex.langueberschrift()).isNull();
     assertThat(elementWithoutIndex.zitierdaten()).isEmpty();
@@ -167,35 +241,41 @@ class DocumentationUnitPersistenceServiceTest {
   @Test
   void findLiteratureDocumentationUnitOverviewElements() {
     // given
-    DocumentationUnitEntity entityWithIndex = new DocumentationUnitEntity();
-    entityWithIndex.setId(UUID.randomUUID());
-    entityWithIndex.setDocumentNumber("LIT-001");
-
-    DocumentationUnitIndexEntity index = new DocumentationUnitIndexEntity();
-    LiteratureIndex literatureIndex = index.getLiteratureIndex();
-    literatureIndex.setVeroeffentlichungsjahr("2024");
-    literatureIndex.setTitel("Literature Title");
-    literatureIndex.setDokumenttypen(List.of("Ebs", "Dis"));
-    literatureIndex.setDokumenttypenCombined("Ebs Dis");
-    literatureIndex.setVerfasserList(List.of("Doe, John", "Smith, Jane"));
-    literatureIndex.setVerfasserListCombined("Doe, John Smith, Jane");
-    entityWithIndex.setDocumentationUnitIndex(index);
-
-    DocumentationUnitEntity entityWithoutIndex = new DocumentationUnitEntity();
-    entityWithoutIndex.setId(UUID.randomUUID());
-    entityWithoutIndex.setDocumentNumber("LIT-002");
-    entityWithoutIndex.setDocumentationUnitIndex(null);
-
-    Page<DocumentationUnitEntity> pageOfEntities = new PageImpl<>(
-      List.of(entityWithIndex, entityWithoutIndex)
+    DocumentationUnitOverviewRow rowWithIndex = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "LIT-001",
+      true,
+      null,
+      null,
+      null,
+      "2024",
+      "Literature Title",
+      List.of("Ebs", "Dis"),
+      List.of("Doe, John", "Smith, Jane")
+    );
+    DocumentationUnitOverviewRow rowWithoutIndex = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "LIT-002",
+      false,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+
+    Page<DocumentationUnitOverviewRow> pageOfRows = new PageImpl<>(
+      List.of(rowWithIndex, rowWithoutIndex)
     );
 
     given(
-      documentationUnitRepository.findAll(
+      documentationUnitOverviewRepository.findPage(
         any(SliDocumentationUnitSpecification.class),
         any(Pageable.class)
       )
-    ).willReturn(pageOfEntities);
+    ).willReturn(pageOfRows);
 
     // when
     var result = documentationUnitPersistenceService.findSliDocumentationUnitOverviewElements(
@@ -234,36 +314,41 @@ class DocumentationUnitPersistenceServiceTest {
   @Test
   void findUliDocumentationUnitOverviewElements() {
     // given
-    DocumentationUnitEntity entityWithIndex = new DocumentationUnitEntity();
-    entityWithIndex.setId(UUID.randomUUID());
-    entityWithIndex.setDocumentNumber("ULI-001");
-
-    DocumentationUnitIndexEntity index = new DocumentationUnitIndexEntity();
-    index.setFundstellen(List.of("NJW 2024, 123"));
-    index.setFundstellenCombined("NJW 2024, 123");
-
-    LiteratureIndex literatureIndex = index.getLiteratureIndex();
-    literatureIndex.setDokumenttypen(List.of("Aufsatz"));
-    literatureIndex.setDokumenttypenCombined("Aufsatz");
-    literatureIndex.setVerfasserList(List.of("Müller, Martin"));
-    literatureIndex.setVerfasserListCombined("Müller, Martin");
-    entityWithIndex.setDocumentationUnitIndex(index);
-
-    DocumentationUnitEntity entityWithoutIndex = new DocumentationUnitEntity();
-    entityWithoutIndex.setId(UUID.randomUUID());
-    entityWithoutIndex.setDocumentNumber("ULI-002");
-    entityWithoutIndex.setDocumentationUnitIndex(null);
-
-    Page<DocumentationUnitEntity> pageOfEntities = new PageImpl<>(
-      List.of(entityWithIndex, entityWithoutIndex)
+    DocumentationUnitOverviewRow rowWithIndex = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "ULI-001",
+      true,
+      List.of("NJW 2024, 123"),
+      null,
+      null,
+      null,
+      null,
+      List.of("Aufsatz"),
+      List.of("Müller, Martin")
+    );
+    DocumentationUnitOverviewRow rowWithoutIndex = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "ULI-002",
+      false,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+
+    Page<DocumentationUnitOverviewRow> pageOfRows = new PageImpl<>(
+      List.of(rowWithIndex, rowWithoutIndex)
     );
 
     given(
-      documentationUnitRepository.findAll(
+      documentationUnitOverviewRepository.findPage(
         any(UliDocumentationUnitSpecification.class),
         any(Pageable.class)
       )
-    ).willReturn(pageOfEntities);
+    ).willReturn(pageOfRows);
 
     // when
     var result = documentationUnitPersistenceService.findUliDocumentationUnitOverviewElements(
@@ -297,4 +382,141 @@ class DocumentationUnitPersistenceServiceTest {
     assertThat(elementWithoutIndex.dokumenttypen()).isEmpty();
     assertThat(elementWithoutIndex.verfasser()).isEmpty();
   }
+
+  @Test
+  void findAdmDocumentationUnitOverviewElements_capped() {
+    // given
+    DocumentationUnitOverviewRow row = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "DOC-001",
+      false,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+    given(
+      documentationUnitOverviewRepository.findSlice(
+        any(AdmDocumentionUnitSpecification.class),
+        any(Pageable.class)
+      )
+    ).willReturn(new SliceImpl<>(List.of(row), PageRequest.of(0, 1), true));
+    given(
+      documentationUnitOverviewRepository.count(
+        any(AdmDocumentionUnitSpecification.class),
+        eq(CountStrategy.CAPPED),
+        any(CountKey.class)
+      )
+    ).willReturn(new Count(CountStrategy.CAPPED_LIMIT + 1, CountStrategy.CAPPED));
+
+    // when
+    var result = documentationUnitPersistenceService.findAdmDocumentationUnitOverviewElements(
+      new AdmDocumentationUnitQuery(
+        null,
+        null,
+        null,
+        null,
+        new QueryOptions(
+          0,
+          1,
+          "documentNumber",
+          Sort.Direction.ASC,
+          true,
+          null,
+          CountStrategy.CAPPED
+        )
+      )
+    );
+
+    // then
+    assertThat(result)
+      .extracting(
+        de.bund.digitalservice.ris.adm_literature.page.Page::totalElements,
+        de.bund.digitalservice.ris.adm_literature.page.Page::countStrategy,
+        de.bund.digitalservice.ris.adm_literature.page.Page::last
+      )
+      .containsExactly(1001L, CountStrategy.CAPPED, false);
+  }
+
+  @Test
+  void findAdmDocumentationUnitOverviewElements_lastPageIsNotCounted() {
+    // given
+    DocumentationUnitOverviewRow row = new DocumentationUnitOverviewRow(
+      UUID.randomUUID(),
+      "DOC-001",
+      false,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+    given(
+      documentationUnitOverviewRepository.findSlice(
+        any(AdmDocumentionUnitSpecification.class),
+        any(Pageable.class)
+      )
+    ).willReturn(new SliceImpl<>(List.of(row), PageRequest.of(1, 1), false));
+
+    // when
+    var result = documentationUnitPersistenceService.findAdmDocumentationUnitOverviewElements(
+      new AdmDocumentationUnitQuery(
+        null,
+        null,
+        null,
+        null,
+        new QueryOptions(
+          1,
+          1,
+          "documentNumber",
+          Sort.Direction.ASC,
+          true,
+          null,
+          CountStrategy.CACHED
+        )
+      )
+    );
+
+    // then
+    assertThat(result)
+      .extracting(
+        de.bund.digitalservice.ris.adm_literature.page.Page::totalElements,
+        de.bund.digitalservice.ris.adm_literature.page.Page::countStrategy,
+        de.bund.digitalservice.ris.adm_literature.page.Page::last
+      )
+      .containsExactly(2L, CountStrategy.EXACT, true);
+    verify(documentationUnitOverviewRepository, never()).count(any(), any(), any());
+  }
+
+  @Test
+  void findAdmDocumentationUnitOverviewElements_readYourWritesBypassesCache() {
+    // given
+    given(
+      documentationUnitOverviewRepository.findPage(
+        any(AdmDocumentionUnitSpecification.class),
+        any(Pageable.class)
+      )
+    ).willReturn(new PageImpl<>(List.of()));
+
+    // when
+    var result = documentationUnitPersistenceService.findAdmDocumentationUnitOverviewElements(
+      new AdmDocumentationUnitQuery(
+        null,
+        null,
+        null,
+        null,
+        new QueryOptions(0, 10, "documentNumber", Sort.Direction.ASC, true),
+        true
+      )
+    );
+
+    // then
+    assertThat(result.content()).isEmpty();
+    verify(documentationUnitOverviewCache, never()).get(any(), any(), any());
+  }
 }
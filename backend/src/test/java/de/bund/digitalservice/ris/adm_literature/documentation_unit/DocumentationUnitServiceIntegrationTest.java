@@ -14,12 +14,18 @@ import de.bund.digitalservice.ris.adm_literature.documentation_unit.publishing.P
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.publishing.PublishingFailedException;
 import de.bund.digitalservice.ris.adm_literature.test.WithMockAdmUser;
 import de.bund.digitalservice.ris.adm_literature.test.WithMockLitUser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import tools.jackson.databind.ObjectMapper;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -29,6 +35,9 @@ class DocumentationUnitServiceIntegrationTest {
   @Autowired
   private DocumentationUnitService documentationUnitService;
 
+  @Autowired
+  private ObjectMapper objectMapper;
+
   @MockitoBean
   private Publisher publisher;
 
@@ -88,6 +97,55 @@ class DocumentationUnitServiceIntegrationTest {
       .hasValueSatisfying(dun -> assertThat(dun.json()).isEqualTo("{\"test\":\"content\"}"));
   }
 
+  @Test
+  void update_incrementsVersion() {
+    // given
+    DocumentationUnit documentationUnit = documentationUnitService.create(
+      DocumentCategory.VERWALTUNGSVORSCHRIFTEN
+    );
+    String documentNumber = documentationUnit.documentNumber();
+
+    // when
+    Optional<DocumentationUnit> updated = documentationUnitService.update(
+      documentNumber,
+      "{\"test\":\"content\"}",
+      DocumentationUnitETags.of(documentationUnit.version())
+    );
+
+    // then
+    assertThat(updated)
+      .isPresent()
+      .hasValueSatisfying(dun ->
+        assertThat(dun.version()).isEqualTo(documentationUnit.version() + 1)
+      );
+    assertThat(documentationUnitService.findVersion(documentNumber)).contains(
+      documentationUnit.version() + 1
+    );
+  }
+
+  @Test
+  void update_versionMismatch() {
+    // given
+    DocumentationUnit documentationUnit = documentationUnitService.create(
+      DocumentCategory.VERWALTUNGSVORSCHRIFTEN
+    );
+    String documentNumber = documentationUnit.documentNumber();
+    String eTag = DocumentationUnitETags.of(documentationUnit.version());
+    documentationUnitService.update(documentNumber, "{\"test\":\"first\"}", eTag);
+
+    // when
+    Throwable throwable = catchThrowable(() ->
+      documentationUnitService.update(documentNumber, "{\"test\":\"second\"}", eTag)
+    );
+
+    // then
+    assertThat(throwable).isInstanceOf(VersionMismatchException.class);
+    Optional<DocumentationUnit> actual = documentationUnitService.findByDocumentNumber(
+      documentNumber
+    );
+    assertThat(actual.map(DocumentationUnit::json)).contains("{\"test\":\"first\"}");
+  }
+
   @Test
   void update_notFound() {
     // given
@@ -195,4 +253,49 @@ class DocumentationUnitServiceIntegrationTest {
       );
     SchemaContextHolder.clear();
   }
+
+  @Test
+  void importDocumentationUnits() {
+    // given
+    String body = """
+      {"category":"VERWALTUNGSVORSCHRIFTEN","json":{"langueberschrift":"Import","note":"Notiz"}}
+
+      {"category":"VERWALTUNGSVORSCHRIFTEN","xml":"<akn:akomaNtoso/>"}
+      {"category":"LITERATUR_SELBSTAENDIG","json":{}}
+      {"category":"VERWALTUNGSVORSCHRIFTEN"}
+      no json
+      """;
+    var outputStream = new ByteArrayOutputStream();
+
+    // when
+    documentationUnitService.importDocumentationUnits(
+      Set.of(DocumentCategory.VERWALTUNGSVORSCHRIFTEN),
+      new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+      outputStream
+    );
+
+    // then
+    List<DocumentationUnitImportResult> results = outputStream
+      .toString(StandardCharsets.UTF_8)
+      .lines()
+      .map(line -> objectMapper.readValue(line, DocumentationUnitImportResult.class))
+      .toList();
+    assertThat(results)
+      .extracting(DocumentationUnitImportResult::line)
+      .containsExactly(1, 3, 4, 5, 6);
+    assertThat(results.subList(0, 2)).allSatisfy(result -> {
+      assertThat(result.documentNumber()).startsWith("KSNR");
+      assertThat(result.id()).isNotNull();
+      assertThat(result.error()).isNull();
+    });
+    assertThat(results.subList(2, 5)).allSatisfy(result -> {
+      assertThat(result.documentNumber()).isNull();
+      assertThat(result.error()).isNotBlank();
+    });
+    assertThat(documentationUnitService.findByDocumentNumber(results.getFirst().documentNumber()))
+      .hasValueSatisfying(documentationUnit -> {
+        assertThat(documentationUnit.json()).contains("\"langueberschrift\":\"Import\"");
+        assertThat(documentationUnit.administrativeData().note()).isEqualTo("Notiz");
+      });
+  }
 }
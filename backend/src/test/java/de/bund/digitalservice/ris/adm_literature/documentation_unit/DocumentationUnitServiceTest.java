@@ -7,11 +7,14 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
+import de.bund.digitalservice.ris.adm_literature.config.ConverterExecutorConfig;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaPropagatingExecutor;
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitContent;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.TestAdmDocumentationUnitContent;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.converter.LdmlToObjectConverterService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.converter.ObjectToLdmlConverterService;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexOutboxService;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.literature.*;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.publishing.Publisher;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.publishing.PublishingFailedException;
@@ -20,8 +23,13 @@ import de.bund.digitalservice.ris.adm_literature.documentation_unit.reference.Pa
 import de.bund.digitalservice.ris.adm_literature.page.Page;
 import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
 import de.bund.digitalservice.ris.adm_literature.test.WithMockAdmUser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
@@ -29,7 +37,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
 import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +67,13 @@ class DocumentationUnitServiceTest {
   @Mock
   private PassiveReferenceService passiveReferenceService;
 
+  @Mock
+  private DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+
+  @Spy
+  private SchemaPropagatingExecutor ldmlConverterExecutor = new ConverterExecutorConfig()
+    .ldmlConverterExecutor(new ConverterExecutorConfig().ldmlConverterPool());
+
   @Spy
   private ObjectMapper objectMapper;
 
@@ -168,6 +185,173 @@ class DocumentationUnitServiceTest {
     assertThat(actual).isEmpty();
   }
 
+  @Test
+  void findAllByDocumentNumbers_convertsXmlInParallel() {
+    // given
+    List<DocumentationUnit> documentationUnits = List.of(
+      new DocumentationUnit(
+        "KSNR2025000001",
+        UUID.randomUUID(),
+        null,
+        "<xml/>",
+        new AdministrativeData(DocumentCategory.VERWALTUNGSVORSCHRIFTEN, null)
+      ),
+      new DocumentationUnit("KSNR2025000002", UUID.randomUUID(), TEST_JSON),
+      new DocumentationUnit(
+        "KSNR2025000003",
+        UUID.randomUUID(),
+        null,
+        "<xml/>",
+        new AdministrativeData(DocumentCategory.VERWALTUNGSVORSCHRIFTEN, null)
+      )
+    );
+    List<String> documentNumbers = documentationUnits
+      .stream()
+      .map(DocumentationUnit::documentNumber)
+      .toList();
+    given(documentationUnitPersistenceService.findAllByDocumentNumbers(documentNumbers)).willReturn(
+      documentationUnits
+    );
+    given(
+      ldmlToObjectConverterService.convertToBusinessModel(
+        any(DocumentationUnit.class),
+        eq(AdmDocumentationUnitContent.class)
+      )
+    ).willAnswer(invocation ->
+      TestAdmDocumentationUnitContent.create(
+        invocation.getArgument(0, DocumentationUnit.class).documentNumber(),
+        "Thread " + Thread.currentThread().getName()
+      )
+    );
+
+    // when
+    List<DocumentationUnit> actual = documentationUnitService.findAllByDocumentNumbers(
+      documentNumbers
+    );
+
+    // then
+    assertThat(actual)
+      .extracting(DocumentationUnit::documentNumber)
+      .containsExactly("KSNR2025000001", "KSNR2025000002", "KSNR2025000003");
+    assertThat(actual.get(0).json()).contains("Thread ldml-converter-");
+    assertThat(actual.get(1).json()).isEqualTo(TEST_JSON);
+    assertThat(actual.get(2).json()).contains("Thread ldml-converter-");
+  }
+
+  @Test
+  void importDocumentationUnits_batchFailed() {
+    // given
+    String body = """
+      {"category":"VERWALTUNGSVORSCHRIFTEN","json":{"langueberschrift":"Import"}}
+      """;
+    given(documentationUnitPersistenceService.createAll(anyList())).willThrow(
+      new IllegalStateException(
+        "ERROR: duplicate key value violates unique constraint \"documentation_unit_pkey\""
+      )
+    );
+    var outputStream = new ByteArrayOutputStream();
+
+    // when
+    documentationUnitService.importDocumentationUnits(
+      Set.of(DocumentCategory.VERWALTUNGSVORSCHRIFTEN),
+      new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+      outputStream
+    );
+
+    // then
+    assertThat(outputStream.toString(StandardCharsets.UTF_8))
+      .contains(DocumentationUnitService.IMPORT_BATCH_FAILED)
+      .doesNotContain("documentation_unit_pkey");
+  }
+
+  @Test
+  void findAllByDocumentNumbers_tooManyDocumentNumbers() {
+    // given
+    List<String> documentNumbers = Collections.nCopies(
+      DocumentationUnitService.MAX_BATCH_SIZE + 1,
+      "KSNR2025000001"
+    );
+
+    // when
+    Exception exception = catchException(() ->
+      documentationUnitService.findAllByDocumentNumbers(documentNumbers)
+    );
+
+    // then
+    assertThat(exception)
+      .isInstanceOf(ResponseStatusException.class)
+      .hasMessageContaining("At most 100 document numbers");
+    verifyNoInteractions(documentationUnitPersistenceService);
+  }
+
+  @Test
+  @DisplayName("A merge patch without changes of indexed properties does not update the index")
+  void patch_withoutIndexedChanges() {
+    // given
+    given(documentationUnitPersistenceService.findByDocumentNumber("KSNR2025000001")).willReturn(
+      Optional.of(
+        new DocumentationUnit(
+          "KSNR2025000001",
+          UUID.randomUUID(),
+          "{\"langueberschrift\":\"Titel\",\"kurzreferat\":\"Alt\",\"note\":\"Notiz\"}"
+        )
+      )
+    );
+
+    JsonNode mergePatch = objectMapper.readTree(
+      "{\"kurzreferat\":\"Neu\",\"langueberschrift\":\"Titel\",\"note\":null}"
+    );
+
+    // when
+    documentationUnitService.patch("KSNR2025000001", mergePatch, null);
+
+    // then
+    verify(documentationUnitPersistenceService).update(
+      "KSNR2025000001",
+      "{\"langueberschrift\":\"Titel\",\"kurzreferat\":\"Neu\"}",
+      "\"0\"",
+      false
+    );
+  }
+
+  @Test
+  @DisplayName("A merge patch with changes of indexed properties updates the index")
+  void patch_withIndexedChanges() {
+    // given
+    given(documentationUnitPersistenceService.findByDocumentNumber("KSNR2025000001")).willReturn(
+      Optional.of(
+        new DocumentationUnit("KSNR2025000001", UUID.randomUUID(), "{\"langueberschrift\":\"Alt\"}")
+      )
+    );
+
+    // when
+    documentationUnitService.patch(
+      "KSNR2025000001",
+      objectMapper.readTree("{\"langueberschrift\":\"Neu\"}"),
+      null
+    );
+
+    // then
+    verify(documentationUnitPersistenceService).update(
+      "KSNR2025000001",
+      "{\"langueberschrift\":\"Neu\"}",
+      "\"0\"",
+      true
+    );
+  }
+
+  @Test
+  void patch_notAnObject() {
+    // when
+    Exception exception = catchException(() ->
+      documentationUnitService.patch("KSNR2025000001", objectMapper.readTree("[]"), null)
+    );
+
+    // then
+    assertThat(exception).isInstanceOf(ResponseStatusException.class);
+    verifyNoInteractions(documentationUnitPersistenceService);
+  }
+
   @Test
   void publish_shouldCallDatabaseAndS3Port_onHappyPath() {
     String docNumber = "doc123";
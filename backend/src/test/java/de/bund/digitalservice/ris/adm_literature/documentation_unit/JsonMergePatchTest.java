@@ -0,0 +1,62 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+class JsonMergePatchTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Examples of appendix A of RFC 7386.
+   */
+  @ParameterizedTest
+  @CsvSource(
+    delimiter = '|',
+    quoteCharacter = '`',
+    value = {
+      "{\"a\":\"b\"}                  | {\"a\":\"c\"}                    | {\"a\":\"c\"}",
+      "{\"a\":\"b\"}                  | {\"b\":\"c\"}                    | {\"a\":\"b\",\"b\":\"c\"}",
+      "{\"a\":\"b\"}                  | {\"a\":null}                     | {}",
+      "{\"a\":\"b\",\"b\":\"c\"}      | {\"a\":null}                     | {\"b\":\"c\"}",
+      "{\"a\":[\"b\"]}                | {\"a\":\"c\"}                    | {\"a\":\"c\"}",
+      "{\"a\":\"c\"}                  | {\"a\":[\"b\"]}                  | {\"a\":[\"b\"]}",
+      "{\"a\":{\"b\":\"c\"}}          | {\"a\":{\"b\":\"d\",\"c\":null}} | {\"a\":{\"b\":\"d\"}}",
+      "{\"a\":[{\"b\":\"c\"}]}        | {\"a\":[1]}                      | {\"a\":[1]}",
+      "[\"a\",\"b\"]                  | [\"c\",\"d\"]                    | [\"c\",\"d\"]",
+      "{\"a\":\"b\"}                  | [\"c\"]                          | [\"c\"]",
+      "{\"a\":\"foo\"}                | null                             | null",
+      "{\"a\":\"foo\"}                | \"bar\"                          | \"bar\"",
+      "{\"e\":null}                   | {\"a\":1}                        | {\"e\":null,\"a\":1}",
+      "[1,2]                          | {\"a\":\"b\",\"c\":null}         | {\"a\":\"b\"}",
+      "{}                             | {\"a\":{\"bb\":{\"ccc\":null}}}  | {\"a\":{\"bb\":{}}}",
+    }
+  )
+  void apply(String target, String patch, String expected) {
+    // when
+    JsonNode actual = JsonMergePatch.apply(
+      objectMapper.readTree(target),
+      objectMapper.readTree(patch)
+    );
+
+    // then
+    assertThat(actual).isEqualTo(objectMapper.readTree(expected));
+  }
+
+  @Test
+  void apply_doesNotModifyTarget() {
+    // given
+    JsonNode target = objectMapper.readTree("{\"a\":{\"b\":\"c\"}}");
+
+    // when
+    JsonMergePatch.apply(target, objectMapper.readTree("{\"a\":{\"b\":\"d\"}}"));
+
+    // then
+    assertThat(target).isEqualTo(objectMapper.readTree("{\"a\":{\"b\":\"c\"}}"));
+  }
+}
@@ -0,0 +1,84 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.adm.AdmDocumentationUnitOverviewElement;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+class OverviewExportWriterTest {
+
+  private static final UUID ID = UUID.fromString("11111111-1657-4085-ae2a-993a04c27f6b");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+  @Test
+  void accept_ndjson() {
+    // given
+    var overviewExportWriter = new OverviewExportWriter<>(
+      AdmDocumentationUnitOverviewElement.class,
+      ExportFormat.NDJSON,
+      objectMapper,
+      outputStream
+    );
+
+    // when
+    overviewExportWriter.accept(
+      new AdmDocumentationUnitOverviewElement(ID, "KSNR000004711", List.of(), "Titel", List.of())
+    );
+    overviewExportWriter.accept(
+      new AdmDocumentationUnitOverviewElement(ID, "KSNR000004712", null, null, null)
+    );
+    overviewExportWriter.flush();
+
+    // then
+    List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readTree(lines.get(0)).get("langueberschrift").asString()).isEqualTo(
+      "Titel"
+    );
+    assertThat(objectMapper.readTree(lines.get(1)).get("documentNumber").asString()).isEqualTo(
+      "KSNR000004712"
+    );
+  }
+
+  @Test
+  void accept_csv() {
+    // given
+    var overviewExportWriter = new OverviewExportWriter<>(
+      AdmDocumentationUnitOverviewElement.class,
+      ExportFormat.CSV,
+      objectMapper,
+      outputStream
+    );
+
+    // when
+    overviewExportWriter.accept(
+      new AdmDocumentationUnitOverviewElement(
+        ID,
+        "KSNR000004711",
+        List.of("2011-11-11", "2012-12-12"),
+        "Titel mit \"Zitat\", Komma",
+        List.of("BAnz 1")
+      )
+    );
+    overviewExportWriter.accept(
+      new AdmDocumentationUnitOverviewElement(ID, "KSNR000004712", null, null, null)
+    );
+    overviewExportWriter.flush();
+
+    // then
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+      """
+      id,documentNumber,zitierdaten,langueberschrift,fundstellen\r
+      11111111-1657-4085-ae2a-993a04c27f6b,KSNR000004711,2011-11-11; 2012-12-12,"Titel mit ""Zitat"", Komma",BAnz 1\r
+      11111111-1657-4085-ae2a-993a04c27f6b,KSNR000004712,,,\r
+      """
+    );
+  }
+}
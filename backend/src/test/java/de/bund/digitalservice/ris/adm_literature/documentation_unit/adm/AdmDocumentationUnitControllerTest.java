@@ -2,7 +2,11 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.adm;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -11,11 +15,16 @@ import de.bund.digitalservice.ris.adm_literature.config.security.SecurityConfigu
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnit;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitService;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.ExportFormat;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.JsonMergePatch;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.VersionMismatchException;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.publishing.PublishingFailedException;
 import de.bund.digitalservice.ris.adm_literature.page.QueryOptions;
 import de.bund.digitalservice.ris.adm_literature.page.TestPage;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,10 +39,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
 
 @WebMvcTest(controllers = AdmDocumentationUnitController.class)
 @WithMockUser(roles = "adm_user")
@@ -83,6 +94,48 @@ class AdmDocumentationUnitControllerTest {
       .andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName("Request GET returns the version of the documentation unit as ETag")
+  void find_eTag() throws Exception {
+    // given
+    String documentNumber = "KSNR054920707";
+    given(documentationUnitService.findVersion(documentNumber)).willReturn(Optional.of(3L));
+    given(documentationUnitService.findByDocumentNumber(documentNumber)).willReturn(
+      Optional.of(new DocumentationUnit(documentNumber, UUID.randomUUID(), "{}", null, null, 3))
+    );
+
+    // when
+    mockMvc
+      .perform(
+        get("/api/adm/documentation-units/{documentNumber}", documentNumber)
+          .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+      )
+      // then
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+  }
+
+  @Test
+  @DisplayName(
+    "Request GET returns HTTP 304 without reading the documentation unit if If-None-Match matches"
+  )
+  void find_notModified() throws Exception {
+    // given
+    String documentNumber = "KSNR054920707";
+    given(documentationUnitService.findVersion(documentNumber)).willReturn(Optional.of(3L));
+
+    // when
+    mockMvc
+      .perform(
+        get("/api/adm/documentation-units/{documentNumber}", documentNumber)
+          .header(HttpHeaders.IF_NONE_MATCH, "\"2\", \"3\"")
+      )
+      // then
+      .andExpect(status().isNotModified())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    verify(documentationUnitService, never()).findByDocumentNumber(documentNumber);
+  }
+
   @Test
   @DisplayName("Request POST returns HTTP 201 and data from mocked documentation unit port")
   void create() throws Exception {
@@ -107,7 +160,7 @@ class AdmDocumentationUnitControllerTest {
     // given
     String documentNumber = "KSNR054920707";
     String json = "{\"test\":\"content\",\"note\":\"Notiz\"}";
-    given(documentationUnitService.update(documentNumber, json)).willReturn(
+    given(documentationUnitService.update(documentNumber, json, null)).willReturn(
       Optional.of(new DocumentationUnit(documentNumber, UUID.randomUUID(), json))
     );
 
@@ -132,7 +185,9 @@ class AdmDocumentationUnitControllerTest {
     // given
     String documentNumber = "KSNR000000001";
     String json = "{\"test\":\"unsuccessful\"}";
-    given(documentationUnitService.update(documentNumber, json)).willReturn(Optional.empty());
+    given(documentationUnitService.update(documentNumber, json, null)).willReturn(
+      Optional.empty()
+    );
 
     // when
     mockMvc
@@ -145,6 +200,165 @@ class AdmDocumentationUnitControllerTest {
       .andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName("Request PUT returns HTTP 412 if If-Match does not match the current version")
+  void update_versionMismatch() throws Exception {
+    // given
+    String documentNumber = "KSNR054920707";
+    String json = "{\"test\":\"content\"}";
+    given(documentationUnitService.update(documentNumber, json, "\"2\"")).willThrow(
+      new VersionMismatchException("\"3\"")
+    );
+
+    // when
+    mockMvc
+      .perform(
+        put("/api/adm/documentation-units/{documentNumber}", documentNumber)
+          .header(HttpHeaders.IF_MATCH, "\"2\"")
+          .content(json)
+          .contentType(MediaType.APPLICATION_JSON)
+      )
+      // then
+      .andExpect(status().isPreconditionFailed())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+  }
+
+  @Test
+  @DisplayName(
+    "Request PATCH with a merge patch returns HTTP 200 and the patched documentation unit"
+  )
+  void update_mergePatch() throws Exception {
+    // given
+    String documentNumber = "KSNR054920707";
+    given(
+      documentationUnitService.patch(
+        eq(documentNumber),
+        eq(new ObjectMapper().readTree("{\"kurzreferat\":\"Neu\"}")),
+        isNull()
+      )
+    ).willReturn(
+      Optional.of(
+        new DocumentationUnit(documentNumber, UUID.randomUUID(), "{\"kurzreferat\":\"Neu\"}")
+      )
+    );
+
+    // when
+    mockMvc
+      .perform(
+        patch("/api/adm/documentation-units/{documentNumber}", documentNumber)
+          .content("{\"kurzreferat\":\"Neu\"}")
+          .contentType(JsonMergePatch.MEDIA_TYPE)
+      )
+      // then
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.json.kurzreferat").value("Neu"))
+      .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+  }
+
+  @Test
+  @DisplayName(
+    "Request GET batch returns HTTP 200 and the documentation units of the application layer"
+  )
+  void findAll() throws Exception {
+    // given
+    given(
+      documentationUnitService.findAllByDocumentNumbers(List.of("KSNR000004711", "KSNR000004712"))
+    ).willReturn(
+      List.of(
+        new DocumentationUnit("KSNR000004711", UUID.randomUUID(), "{\"test\":\"content\"}")
+      )
+    );
+
+    // when
+    mockMvc
+      .perform(
+        get("/api/adm/documentation-units/batch").param(
+          "documentNumbers",
+          "KSNR000004711",
+          "KSNR000004712"
+        )
+      )
+      // then
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.length()").value(1))
+      .andExpect(jsonPath("$[0].documentNumber").value("KSNR000004711"))
+      .andExpect(jsonPath("$[0].json.test").value("content"));
+  }
+
+  @Test
+  @DisplayName("Request GET export writes the export of the application layer as attachment")
+  void export() throws Exception {
+    // given
+    willAnswer(invocation -> {
+      OutputStream outputStream = invocation.getArgument(2);
+      outputStream.write("{\"documentNumber\":\"KSNR000004711\"}\n".getBytes());
+      return null;
+    })
+      .given(documentationUnitService)
+      .exportAdmDocumentationUnitOverviewElements(any(), any(), any());
+
+    // when
+    mockMvc
+      .perform(
+        get("/api/adm/documentation-units/export")
+          .param("langueberschrift", " Sample Document ")
+          .param("sortByProperty", "langueberschrift")
+      )
+      // then
+      .andExpect(status().isOk())
+      .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+      .andExpect(
+        header().string(
+          HttpHeaders.CONTENT_DISPOSITION,
+          "attachment; filename=\"adm-documentation-units.ndjson\""
+        )
+      )
+      .andExpect(content().string("{\"documentNumber\":\"KSNR000004711\"}\n"));
+    ArgumentCaptor<AdmDocumentationUnitQuery> queryCaptor = ArgumentCaptor.forClass(
+      AdmDocumentationUnitQuery.class
+    );
+    verify(documentationUnitService).exportAdmDocumentationUnitOverviewElements(
+      queryCaptor.capture(),
+      eq(ExportFormat.NDJSON),
+      any()
+    );
+    assertThat(queryCaptor.getValue().langueberschrift()).isEqualTo("Sample Document");
+    assertThat(queryCaptor.getValue().queryOptions().sortByProperty()).isEqualTo(
+      "documentationUnitIndex.sortKeys.langueberschrift"
+    );
+    assertThat(queryCaptor.getValue().queryOptions().usePagination()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Request POST import streams the results of the application layer")
+  void importDocumentationUnits() throws Exception {
+    // given
+    willAnswer(invocation -> {
+      OutputStream outputStream = invocation.getArgument(2);
+      outputStream.write("{\"line\":1,\"documentNumber\":\"KSNR000004711\"}\n".getBytes());
+      return null;
+    })
+      .given(documentationUnitService)
+      .importDocumentationUnits(any(), any(), any());
+
+    // when
+    mockMvc
+      .perform(
+        post("/api/adm/documentation-units/import")
+          .contentType("application/x-ndjson")
+          .content("{\"category\":\"VERWALTUNGSVORSCHRIFTEN\",\"json\":{}}\n")
+      )
+      // then
+      .andExpect(status().isOk())
+      .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+      .andExpect(content().string("{\"line\":1,\"documentNumber\":\"KSNR000004711\"}\n"));
+    verify(documentationUnitService).importDocumentationUnits(
+      eq(Set.of(DocumentCategory.VERWALTUNGSVORSCHRIFTEN)),
+      any(),
+      any()
+    );
+  }
+
   @Nested
   class PaginatedListOfDocumentUnits {
 
@@ -324,9 +538,9 @@ class AdmDocumentationUnitControllerTest {
 
     private static Stream<Arguments> sortPropertyMappingProvider() {
       return Stream.of(
-        Arguments.of("langueberschrift", "documentationUnitIndex.langueberschrift"),
-        Arguments.of("fundstellen", "documentationUnitIndex.fundstellen"),
-        Arguments.of("zitierdaten", "documentationUnitIndex.zitierdaten"),
+        Arguments.of("langueberschrift", "documentationUnitIndex.sortKeys.langueberschrift"),
+        Arguments.of("fundstellen", "documentationUnitIndex.sortKeys.fundstellen"),
+        Arguments.of("zitierdaten", "documentationUnitIndex.sortKeys.zitierdaten"),
         Arguments.of("documentNumber", "documentNumber"),
         Arguments.of(null, "documentNumber")
       );
@@ -359,7 +573,11 @@ class AdmDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(AdmDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(AdmDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(
         Optional.of(new DocumentationUnit(documentNumber, UUID.randomUUID(), validJsonRequest))
       );
@@ -474,7 +692,11 @@ class AdmDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(AdmDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(AdmDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(Optional.empty());
 
       // when
@@ -510,7 +732,11 @@ class AdmDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(AdmDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(AdmDocumentationUnitContent.class),
+          any()
+        )
       ).willThrow(
         new PublishingFailedException("External system unavailable", new RuntimeException())
       );
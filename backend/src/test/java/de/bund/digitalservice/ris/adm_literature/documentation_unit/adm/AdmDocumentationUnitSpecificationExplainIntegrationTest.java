@@ -0,0 +1,102 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.adm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
+import io.hypersistence.utils.hibernate.query.SQLExtractor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Checks with {@code EXPLAIN} that the substring searches use the trigram indexes. Sequential scans are
+ * disabled for the test transaction, as the planner prefers them on the small test tables.
+ */
+@SpringBootTest
+@Transactional
+@AutoConfigureTestEntityManager
+@ActiveProfiles("test")
+class AdmDocumentationUnitSpecificationExplainIntegrationTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    SchemaContextHolder.setSchema(SchemaType.ADM);
+    jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+  }
+
+  @AfterEach
+  void tearDown() {
+    SchemaContextHolder.clear();
+  }
+
+  @Test
+  void explain_fundstellenUsesTrigramIndex() {
+    // given
+    String sql = sql(new AdmDocumentionUnitSpecification(null, null, "bgbl", null));
+
+    // when
+    String plan = explain(sql, "%bgbl%");
+
+    // then
+    assertThat(plan).contains("idx_documentation_unit_index_fundstellen_combined_trgm");
+  }
+
+  @Test
+  void explain_documentNumberUsesTrigramIndex() {
+    // given
+    String sql = sql(new AdmDocumentionUnitSpecification("0001", null, null, null));
+
+    // when
+    String plan = explain(sql, "%0001%");
+
+    // then
+    assertThat(plan).contains("idx_documentation_unit_document_number_trgm");
+  }
+
+  @Test
+  void explain_referenceViewUsesTrigramIndex() {
+    // given
+    String sql =
+      "SELECT id FROM references_schema.ref_view_adm WHERE lower(normgeber_list_combined) LIKE ?";
+
+    // when
+    String plan = explain(sql, "%bundesministerium%");
+
+    // then
+    assertThat(plan).contains("idx_documentation_unit_index_normgeber_list_combined_trgm");
+  }
+
+  private String sql(AdmDocumentionUnitSpecification specification) {
+    CriteriaBuilder cb = entityManager.getEntityManager().getCriteriaBuilder();
+    CriteriaQuery<DocumentationUnitEntity> query = cb.createQuery(DocumentationUnitEntity.class);
+    Root<DocumentationUnitEntity> root = query.from(DocumentationUnitEntity.class);
+    Predicate predicate = specification.toPredicate(root, query, cb);
+    return SQLExtractor.from(entityManager.getEntityManager().createQuery(query.where(predicate)));
+  }
+
+  private String explain(String sql, Object... parameters) {
+    return String.join(
+      "\n",
+      jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters)
+    );
+  }
+}
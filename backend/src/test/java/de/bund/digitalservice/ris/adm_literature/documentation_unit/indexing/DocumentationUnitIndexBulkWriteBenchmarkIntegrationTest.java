@@ -0,0 +1,102 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.test.TestFile;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares the write paths of the documentation unit index on a corpus of 50,000 documentation units:
+ * <ul>
+ *   <li>JPA {@code saveAll} with one INSERT per row (JDBC batch size 1)</li>
+ *   <li>JPA {@code saveAll} with JDBC batching and rewritten batched inserts</li>
+ *   <li>{@code COPY} into the shadow table of a full rebuild</li>
+ * </ul>
+ * The benchmark asserts that both bulk write paths are faster than writing row by row and logs the timings.
+ * It is excluded from the regular build, run it against PostgreSQL with
+ * {@code ./gradlew benchmark --tests '*DocumentationUnitIndexBulkWriteBenchmark*'}.
+ */
+@SpringBootTest
+@Transactional
+@AutoConfigureTestEntityManager
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+class DocumentationUnitIndexBulkWriteBenchmarkIntegrationTest {
+
+  private static final int CORPUS_SIZE = 50_000;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private DocumentationUnitIndexService documentationUnitIndexService;
+
+  @Test
+  void compareWritePaths() {
+    // given
+    jdbcTemplate.update("DELETE FROM documentation_unit_index");
+    jdbcTemplate.update(
+      """
+      INSERT INTO documentation_unit (id, document_number, json, documentation_unit_type, documentation_office)
+      SELECT gen_random_uuid(), 'KSNR' || lpad(i::text, 9, '0'), ?, 'VERWALTUNGSVORSCHRIFTEN', 'BSG'
+      FROM generate_series(1, ?) i
+      """,
+      TestFile.readFileToString("adm/json-example.json"),
+      CORPUS_SIZE
+    );
+    Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+    // when
+    session.setJdbcBatchSize(1);
+    Duration rowByRow = measure(() -> documentationUnitIndexService.updateIndex(SchemaType.ADM));
+    jdbcTemplate.update("DELETE FROM documentation_unit_index");
+    session.setJdbcBatchSize(null);
+    Duration batched = measure(() -> documentationUnitIndexService.updateIndex(SchemaType.ADM));
+    Duration copy = measure(() -> documentationUnitIndexService.rebuildIndex(SchemaType.ADM));
+
+    // then
+    log.info(
+      "Indexing {} documentation units: row by row {} ms, JDBC batching {} ms, COPY {} ms.",
+      CORPUS_SIZE,
+      rowByRow.toMillis(),
+      batched.toMillis(),
+      copy.toMillis()
+    );
+    assertThat(
+      jdbcTemplate.queryForObject("SELECT count(*) FROM documentation_unit_index", Long.class)
+    ).isGreaterThanOrEqualTo(CORPUS_SIZE);
+    assertThat(batched).isLessThan(rowByRow);
+    assertThat(copy).isLessThan(rowByRow);
+  }
+
+  /**
+   * Measures the given index run including flushing the pending inserts, the persistence context is
+   * cleared afterward.
+   */
+  private Duration measure(LongSupplier indexRun) {
+    long start = System.nanoTime();
+    long indexed = indexRun.getAsLong();
+    entityManager.flush();
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    entityManager.clear();
+    assertThat(indexed).isGreaterThanOrEqualTo(CORPUS_SIZE);
+    return duration;
+  }
+}
@@ -0,0 +1,62 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import de.bund.digitalservice.ris.adm_literature.config.security.SecurityConfiguration;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = DocumentationUnitIndexController.class)
+@Import(SecurityConfiguration.class)
+class DocumentationUnitIndexControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+
+  @Test
+  @WithMockUser(roles = "adm_user")
+  @DisplayName("Request GET returns HTTP 200 and the lag of the ADM index")
+  void getLag_adm() throws Exception {
+    // given
+    given(documentationUnitIndexOutboxService.getLag()).willReturn(
+      new DocumentationUnitIndexLag(3, Duration.ofSeconds(2), Duration.ofSeconds(10))
+    );
+
+    // when
+    mockMvc
+      .perform(get("/api/adm/documentation-units-index/lag"))
+      // then
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.pendingDocumentationUnits").value(3));
+  }
+
+  @Test
+  @WithMockUser(roles = "literature_user")
+  @DisplayName("Request GET returns HTTP 200 and the lag of the literature index")
+  void getLag_literature() throws Exception {
+    // given
+    given(documentationUnitIndexOutboxService.getLag()).willReturn(
+      new DocumentationUnitIndexLag(0, Duration.ZERO, Duration.ofSeconds(10))
+    );
+
+    // when
+    mockMvc
+      .perform(get("/api/literature/documentation-units-index/lag"))
+      // then
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.pendingDocumentationUnits").value(0));
+  }
+}
@@ -6,6 +6,7 @@ import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCateg
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationOffice;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
 import de.bund.digitalservice.ris.adm_literature.test.TestFile;
+import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
@@ -26,6 +27,9 @@ class DocumentationUnitIndexJobIntegrationTest {
   @Autowired
   private DocumentationUnitIndexJob documentationUnitIndexJob;
 
+  @Autowired
+  private DocumentationUnitIndexCheckpointRepository documentationUnitIndexCheckpointRepository;
+
   @Test
   void indexAll() {
     // given
@@ -55,4 +59,43 @@ class DocumentationUnitIndexJobIntegrationTest {
         .getResultList()
     ).hasSize(1);
   }
+
+  @Test
+  void indexAll_runsPendingRebuild() {
+    // given
+    DocumentationUnitEntity admDocumentationUnitEntity = new DocumentationUnitEntity();
+    admDocumentationUnitEntity.setDocumentNumber("KSNR777777776");
+    admDocumentationUnitEntity.setJson(TestFile.readFileToString("adm/json-example.json"));
+    admDocumentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    admDocumentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    admDocumentationUnitEntity = entityManager.persistFlushFind(admDocumentationUnitEntity);
+    // index entry written before the sort keys were added
+    DocumentationUnitIndexEntity staleIndex = new DocumentationUnitIndexEntity();
+    staleIndex.setDocumentationUnit(admDocumentationUnitEntity);
+    staleIndex.getAdmIndex().setLangueberschrift("Veraltete Überschrift");
+    entityManager.persistAndFlush(staleIndex);
+    entityManager.clear();
+    // requested by the migration
+    documentationUnitIndexCheckpointRepository.start("rebuild", LocalDateTime.now());
+
+    // when
+    documentationUnitIndexJob.indexAll();
+
+    // then
+    entityManager.clear();
+    assertThat(
+      entityManager
+        .getEntityManager()
+        .createQuery(
+          "from DocumentationUnitIndexEntity where documentationUnit.id = :id",
+          DocumentationUnitIndexEntity.class
+        )
+        .setParameter("id", admDocumentationUnitEntity.getId())
+        .getResultList()
+    )
+      .singleElement()
+      .extracting(entity -> entity.getSortKeys().getLangueberschrift())
+      .isEqualTo("1. bekanntmachung zum xml-testen in neuris vwv");
+    assertThat(documentationUnitIndexCheckpointRepository.find("rebuild")).isEmpty();
+  }
 }
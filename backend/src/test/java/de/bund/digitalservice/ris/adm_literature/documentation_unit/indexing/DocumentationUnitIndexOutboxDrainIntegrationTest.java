@@ -0,0 +1,110 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationOffice;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitRepository;
+import de.bund.digitalservice.ris.adm_literature.test.TestFile;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "indexing.outbox.batch-size=2")
+@ActiveProfiles("test")
+class DocumentationUnitIndexOutboxDrainIntegrationTest {
+
+  @Autowired
+  private DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+
+  @Autowired
+  private DocumentationUnitRepository documentationUnitRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void awaitIndex_readYourWrites_concurrentDrain() throws Exception {
+    // given
+    documentationUnitIndexOutboxService.awaitIndex(true);
+    // One transaction per documentation unit, so that the outbox entries are ordered by creation
+    List<UUID> ids = IntStream.range(0, 5)
+      .mapToObj(i -> transactionTemplate.execute(_ -> createAndEnqueue("KSNR777777770" + i)))
+      .toList();
+    CountDownLatch locked = new CountDownLatch(1);
+
+    // when
+    List<UUID> drainedConcurrently;
+    try (ExecutorService executorService = Executors.newSingleThreadExecutor()) {
+      // simulates the outbox job, which locks the oldest batch and deletes it after the request waits
+      Future<List<UUID>> concurrentDrain = executorService.submit(() ->
+        transactionTemplate.execute(_ -> {
+          List<UUID> lockedIds = jdbcTemplate.queryForList(
+            """
+            SELECT documentation_unit_id FROM documentation_unit_index_outbox
+            ORDER BY created_at LIMIT 2 FOR UPDATE
+            """,
+            UUID.class
+          );
+          locked.countDown();
+          sleep();
+          jdbcTemplate.update(
+            "DELETE FROM documentation_unit_index_outbox WHERE documentation_unit_id = ANY (?)",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", lockedIds.toArray()))
+          );
+          return lockedIds;
+        })
+      );
+      locked.await();
+      documentationUnitIndexOutboxService.awaitIndex(true);
+      drainedConcurrently = concurrentDrain.get();
+    }
+
+    // then
+    assertThat(drainedConcurrently).containsExactlyElementsOf(ids.subList(0, 2));
+    assertThat(documentationUnitIndexOutboxService.getLag().pendingDocumentationUnits()).isZero();
+    assertThat(ids.subList(2, 5)).allSatisfy(id ->
+      assertThat(
+        jdbcTemplate.queryForObject(
+          "SELECT count(*) FROM documentation_unit_index WHERE documentation_unit_id = ?",
+          Long.class,
+          id
+        )
+      ).isOne()
+    );
+  }
+
+  private UUID createAndEnqueue(String documentNumber) {
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber(documentNumber);
+    documentationUnitEntity.setJson(TestFile.readFileToString("adm/json-example.json"));
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity = documentationUnitRepository.saveAndFlush(documentationUnitEntity);
+    documentationUnitIndexOutboxService.enqueue(documentationUnitEntity);
+    return documentationUnitEntity.getId();
+  }
+
+  private static void sleep() {
+    try {
+      // gives the request time to wait for the locked entries
+      Thread.sleep(500);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationOffice;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
+import de.bund.digitalservice.ris.adm_literature.test.TestFile;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestEntityManager
+@ActiveProfiles("test")
+class DocumentationUnitIndexOutboxServiceIntegrationTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private DocumentationUnitIndexOutboxService documentationUnitIndexOutboxService;
+
+  @Test
+  void enqueue_coalescesPerDocumentationUnit() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = createDocumentationUnit("KSNR888888881");
+    long pendingBefore = documentationUnitIndexOutboxService.getLag().pendingDocumentationUnits();
+
+    // when
+    documentationUnitIndexOutboxService.enqueue(documentationUnitEntity);
+    documentationUnitIndexOutboxService.enqueue(documentationUnitEntity);
+
+    // then
+    assertThat(documentationUnitIndexOutboxService.getLag().pendingDocumentationUnits()).isEqualTo(
+      pendingBefore + 1
+    );
+  }
+
+  @Test
+  void processOutbox() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = createDocumentationUnit("KSNR888888882");
+    documentationUnitIndexOutboxService.enqueue(documentationUnitEntity);
+
+    // when
+    long processed = documentationUnitIndexOutboxService.processOutbox(SchemaType.ADM);
+
+    // then
+    assertThat(processed).isPositive();
+    assertThat(documentationUnitIndexOutboxService.getLag())
+      .extracting(
+        DocumentationUnitIndexLag::pendingDocumentationUnits,
+        DocumentationUnitIndexLag::lag
+      )
+      .containsExactly(0L, Duration.ZERO);
+    assertThat(findIndex(documentationUnitEntity).getAdmIndex().getLangueberschrift()).isEqualTo(
+      "1. Bekanntmachung zum XML-Testen in NeuRIS VwV"
+    );
+  }
+
+  @Test
+  void awaitIndex_readYourWrites() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = createDocumentationUnit("KSNR888888883");
+    documentationUnitIndexOutboxService.enqueue(documentationUnitEntity);
+
+    // when
+    documentationUnitIndexOutboxService.awaitIndex(true);
+
+    // then
+    assertThat(documentationUnitIndexOutboxService.getLag().pendingDocumentationUnits()).isZero();
+    assertThat(findIndex(documentationUnitEntity).getFundstellenCombined()).isEqualTo(
+      "Das Periodikum 2021, Seite 15"
+    );
+  }
+
+  @Test
+  void awaitIndex_withinMaxStaleness() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = createDocumentationUnit("KSNR888888884");
+    documentationUnitIndexOutboxService.enqueue(documentationUnitEntity);
+
+    // when
+    documentationUnitIndexOutboxService.awaitIndex(false);
+
+    // then
+    assertThat(
+      documentationUnitIndexOutboxService.getLag().pendingDocumentationUnits()
+    ).isPositive();
+  }
+
+  private DocumentationUnitEntity createDocumentationUnit(String documentNumber) {
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber(documentNumber);
+    documentationUnitEntity.setJson(TestFile.readFileToString("adm/json-example.json"));
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    return entityManager.persistFlushFind(documentationUnitEntity);
+  }
+
+  private DocumentationUnitIndexEntity findIndex(DocumentationUnitEntity documentationUnitEntity) {
+    return entityManager
+      .getEntityManager()
+      .createQuery(
+        "from DocumentationUnitIndexEntity where documentationUnit = :documentationUnit",
+        DocumentationUnitIndexEntity.class
+      )
+      .setParameter("documentationUnit", documentationUnitEntity)
+      .getSingleResult();
+  }
+}
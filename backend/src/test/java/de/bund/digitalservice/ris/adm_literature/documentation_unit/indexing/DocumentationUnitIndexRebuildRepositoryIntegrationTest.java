@@ -0,0 +1,77 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationOffice;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestEntityManager
+@ActiveProfiles("test")
+class DocumentationUnitIndexRebuildRepositoryIntegrationTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private DocumentationUnitIndexRebuildRepository documentationUnitIndexRebuildRepository;
+
+  @Test
+  void insertIntoShadowTable() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR555555555");
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity = entityManager.persistFlushFind(documentationUnitEntity);
+    DocumentationUnitIndexEntity documentationUnitIndexEntity = new DocumentationUnitIndexEntity();
+    documentationUnitIndexEntity.setDocumentationUnit(documentationUnitEntity);
+    documentationUnitIndexEntity.getAdmIndex().setLangueberschrift("Tab\tZeile\nUmbruch \\N");
+    documentationUnitIndexEntity.setFundstellen(
+      Arrays.asList("Mit \"Anführungszeichen\", Komma", "Back\\slash", null, "{}")
+    );
+    documentationUnitIndexEntity.getAdmIndex().setZitierdaten(List.of());
+    documentationUnitIndexRebuildRepository.createShadowTable();
+
+    // when
+    long inserted = documentationUnitIndexRebuildRepository.insertIntoShadowTable(
+      List.of(documentationUnitIndexEntity)
+    );
+
+    // then
+    assertThat(inserted).isEqualTo(1);
+    Map<String, Object> row = jdbcTemplate.queryForMap(
+      """
+      SELECT langueberschrift, array_to_json(fundstellen)::text AS fundstellen,
+        cardinality(zitierdaten) AS zitierdaten, normgeber_list, titel, updated_at
+      FROM documentation_unit_index_rebuild
+      """
+    );
+    assertThat(row)
+      .containsEntry("langueberschrift", "Tab\tZeile\nUmbruch \\N")
+      .containsEntry(
+        "fundstellen",
+        "[\"Mit \\\"Anführungszeichen\\\", Komma\",\"Back\\\\slash\",null,\"{}\"]"
+      )
+      .containsEntry("zitierdaten", 0)
+      .containsEntry("normgeber_list", null)
+      .containsEntry("titel", null);
+    assertThat(row.get("updated_at")).isNotNull();
+  }
+}
@@ -2,13 +2,16 @@ package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
 import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
 import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationOffice;
 import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
 import de.bund.digitalservice.ris.adm_literature.test.TestFile;
 import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
 import java.time.Year;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jpa.test.autoconfigure.AutoConfigureTestEntityManager;
@@ -29,6 +32,12 @@ class DocumentationUnitIndexServiceIntegrationTest {
   @Autowired
   private DocumentationUnitIndexService documentationUnitIndexService;
 
+  @Autowired
+  private DocumentationUnitIndexRebuildRepository documentationUnitIndexRebuildRepository;
+
+  @Autowired
+  private DocumentationUnitIndexCheckpointRepository documentationUnitIndexCheckpointRepository;
+
   @Test
   void indexByAdmDocumentationUnit_xml() {
     // given
@@ -80,15 +89,56 @@ class DocumentationUnitIndexServiceIntegrationTest {
       .extracting(
         entity -> entity.getAdmIndex().getLangueberschrift(),
         DocumentationUnitIndexEntity::getFundstellenCombined,
-        entity -> entity.getAdmIndex().getZitierdatenCombined()
+        entity -> entity.getAdmIndex().getZitierdatenCombined(),
+        entity -> entity.getSortKeys().getLangueberschrift(),
+        entity -> entity.getSortKeys().getFundstellen()
       )
       .containsExactly(
         "1. Bekanntmachung zum XML-Testen in NeuRIS VwV",
         "Das Periodikum 2021, Seite 15",
-        "2025-05-05 2025-06-01"
+        "2025-05-05 2025-06-01",
+        "1. bekanntmachung zum xml-testen in neuris vwv",
+        "das periodikum 2021, seite 15"
       );
   }
 
+  @Test
+  void updateIndex_onlyUnindexedPropertyChanged() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR777777775");
+    documentationUnitEntity.setJson(TestFile.readFileToString("adm/json-example.json"));
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity = entityManager.persistFlushFind(documentationUnitEntity);
+    documentationUnitIndexService.updateIndex(SchemaType.ADM);
+    entityManager.flush();
+    entityManager.clear();
+    documentationUnitEntity = entityManager.find(
+      DocumentationUnitEntity.class,
+      documentationUnitEntity.getId()
+    );
+    // marks the index entry, which would be overwritten by a re-indexing
+    documentationUnitEntity
+      .getDocumentationUnitIndex()
+      .getAdmIndex()
+      .setLangueberschrift("Nicht neu indexiert");
+    documentationUnitEntity.setJson(
+      documentationUnitEntity.getJson().replace("Kurzreferat Zeile 1", "Geänderte Zeile")
+    );
+
+    // when
+    documentationUnitIndexService.updateIndex(documentationUnitEntity);
+    entityManager.flush();
+    entityManager.clear();
+
+    // then
+    assertThat(createTypedQuery(documentationUnitEntity).getResultList())
+      .singleElement()
+      .extracting(entity -> entity.getAdmIndex().getLangueberschrift())
+      .isEqualTo("Nicht neu indexiert");
+  }
+
   @Test
   void indexByAdmDocumentationUnit_jsonNotValid() {
     // given
@@ -178,6 +228,18 @@ class DocumentationUnitIndexServiceIntegrationTest {
       .containsExactly(null, null, null);
   }
 
+  @Test
+  void updateIndex_leavesNoSchemaOnThread() {
+    // given
+    SchemaContextHolder.clear();
+
+    // when
+    documentationUnitIndexService.updateIndex(SchemaType.LITERATURE);
+
+    // then
+    assertThat(SchemaContextHolder.getSchema()).isNull();
+  }
+
   @Test
   void indexBySliDocumentationUnit_xml() {
     // given
@@ -492,6 +554,90 @@ class DocumentationUnitIndexServiceIntegrationTest {
       .containsExactly(null, null, null, null);
   }
 
+  @Test
+  void rebuildIndex() {
+    // given
+    String json = TestFile.readFileToString("adm/json-example.json");
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber("KSNR444444444");
+    documentationUnitEntity.setJson(json);
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity = entityManager.persistFlushFind(documentationUnitEntity);
+    DocumentationUnitIndexEntity staleIndex = new DocumentationUnitIndexEntity();
+    staleIndex.setDocumentationUnit(documentationUnitEntity);
+    staleIndex.getAdmIndex().setLangueberschrift("Veraltete Überschrift");
+    entityManager.persistAndFlush(staleIndex);
+    entityManager.clear();
+
+    // when
+    long rebuilt = documentationUnitIndexService.rebuildIndex(SchemaType.ADM);
+
+    // then
+    assertThat(rebuilt).isPositive();
+    TypedQuery<DocumentationUnitIndexEntity> query = createTypedQuery(documentationUnitEntity);
+    assertThat(query.getResultList())
+      .singleElement()
+      .extracting(
+        entity -> entity.getAdmIndex().getLangueberschrift(),
+        DocumentationUnitIndexEntity::getFundstellenCombined,
+        entity -> entity.getAdmIndex().getZitierdatenCombined()
+      )
+      .containsExactly(
+        "1. Bekanntmachung zum XML-Testen in NeuRIS VwV",
+        "Das Periodikum 2021, Seite 15",
+        "2025-05-05 2025-06-01"
+      );
+  }
+
+  @Test
+  void rebuildIndex_resumesAfterCheckpoint() {
+    // given
+    DocumentationUnitEntity rebuiltBeforeAbort = persistWithStaleIndex("KSNR999999999");
+    DocumentationUnitEntity notRebuiltBeforeAbort = persistWithStaleIndex("KSNR999999998");
+    documentationUnitIndexRebuildRepository.createShadowTable();
+    DocumentationUnitIndexEntity rebuiltIndex = new DocumentationUnitIndexEntity();
+    rebuiltIndex.setDocumentationUnit(rebuiltBeforeAbort);
+    rebuiltIndex.getAdmIndex().setLangueberschrift("Vor dem Abbruch neu aufgebaut");
+    documentationUnitIndexRebuildRepository.insertIntoShadowTable(List.of(rebuiltIndex));
+    documentationUnitIndexCheckpointRepository.start("rebuild", LocalDateTime.now());
+    documentationUnitIndexCheckpointRepository.advance(
+      "rebuild",
+      rebuiltBeforeAbort.getDocumentNumber(),
+      rebuiltBeforeAbort.getId(),
+      1
+    );
+
+    // when
+    documentationUnitIndexService.rebuildIndex(SchemaType.ADM);
+
+    // then
+    assertThat(createTypedQuery(rebuiltBeforeAbort).getResultList())
+      .singleElement()
+      .extracting(entity -> entity.getAdmIndex().getLangueberschrift())
+      .isEqualTo("Vor dem Abbruch neu aufgebaut");
+    assertThat(createTypedQuery(notRebuiltBeforeAbort).getResultList())
+      .singleElement()
+      .extracting(entity -> entity.getAdmIndex().getLangueberschrift())
+      .isEqualTo("1. Bekanntmachung zum XML-Testen in NeuRIS VwV");
+    assertThat(documentationUnitIndexCheckpointRepository.find("rebuild")).isEmpty();
+  }
+
+  private DocumentationUnitEntity persistWithStaleIndex(String documentNumber) {
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentNumber(documentNumber);
+    documentationUnitEntity.setJson(TestFile.readFileToString("adm/json-example.json"));
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setDocumentationOffice(DocumentationOffice.BSG);
+    documentationUnitEntity = entityManager.persistFlushFind(documentationUnitEntity);
+    DocumentationUnitIndexEntity staleIndex = new DocumentationUnitIndexEntity();
+    staleIndex.setDocumentationUnit(documentationUnitEntity);
+    staleIndex.getAdmIndex().setLangueberschrift("Veraltete Überschrift");
+    entityManager.persistAndFlush(staleIndex);
+    entityManager.clear();
+    return documentationUnitEntity;
+  }
+
   private TypedQuery<DocumentationUnitIndexEntity> createTypedQuery(
     DocumentationUnitEntity documentationUnitEntity
   ) {
@@ -0,0 +1,70 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaContextHolder;
+import de.bund.digitalservice.ris.adm_literature.config.multischema.SchemaType;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.IndexingMetrics.Phase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndexingMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final IndexingMetrics indexingMetrics = new IndexingMetrics(meterRegistry);
+
+  @BeforeEach
+  void setUp() {
+    SchemaContextHolder.setSchema(SchemaType.ADM);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SchemaContextHolder.clear();
+  }
+
+  @Test
+  void record() {
+    // when
+    String result = indexingMetrics.record(Phase.PARSE, () -> "parsed");
+
+    // then
+    assertThat(result).isEqualTo("parsed");
+    assertThat(
+      meterRegistry.get("indexing.phase").tag("schema", "adm").tag("phase", "parse").timer().count()
+    ).isEqualTo(1);
+  }
+
+  @Test
+  void indexedAndFailed() {
+    // when
+    indexingMetrics.indexed(3);
+    indexingMetrics.failed(new IllegalStateException("broken"));
+
+    // then
+    assertThat(meterRegistry.get("indexing.documents").tag("schema", "adm").counter().count())
+      .isEqualTo(3);
+    assertThat(
+      meterRegistry
+        .get("indexing.failures")
+        .tag("schema", "adm")
+        .tag("exception", "IllegalStateException")
+        .counter()
+        .count()
+    ).isEqualTo(1);
+  }
+
+  @Test
+  void progress() {
+    // when
+    indexingMetrics.startProgress(SchemaType.LITERATURE, 10, 2);
+    indexingMetrics.advanceProgress(SchemaType.LITERATURE, 3);
+
+    // then
+    assertThat(
+      meterRegistry.get("indexing.progress").tag("schema", "literature").gauge().value()
+    ).isEqualTo(0.5);
+  }
+}
@@ -0,0 +1,132 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IndexingPipelineTest {
+
+  private final IndexingPipeline indexingPipeline = new IndexingPipeline();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(indexingPipeline, "batchSize", 10);
+    ReflectionTestUtils.setField(indexingPipeline, "extractorThreads", 3);
+    ReflectionTestUtils.setField(indexingPipeline, "writerThreads", 2);
+    ReflectionTestUtils.setField(indexingPipeline, "queueCapacity", 2);
+  }
+
+  @Test
+  void run() {
+    // given
+    List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+    // when
+    long count = indexingPipeline.run(reader(95), i -> i * 2, written::addAll);
+
+    // then
+    assertThat(count).isEqualTo(95);
+    assertThat(written).containsExactlyInAnyOrderElementsOf(
+      IntStream.range(0, 95).map(i -> i * 2).boxed().toList()
+    );
+  }
+
+  @Test
+  void run_empty() {
+    // given
+    List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+    // when
+    long count = indexingPipeline.run(reader(0), i -> i, written::addAll);
+
+    // then
+    assertThat(count).isZero();
+    assertThat(written).isEmpty();
+  }
+
+  @Test
+  void run_readerIsThrottledByQueueCapacity() {
+    // given
+    AtomicInteger readBatches = new AtomicInteger();
+    AtomicInteger writtenBatches = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    IntFunction<List<Integer>> reader = reader(100);
+
+    // when
+    indexingPipeline.run(
+      batchSize -> {
+        maxInFlight.accumulateAndGet(readBatches.get() - writtenBatches.get(), Math::max);
+        List<Integer> batch = reader.apply(batchSize);
+        if (!batch.isEmpty()) {
+          readBatches.incrementAndGet();
+        }
+        return batch;
+      },
+      i -> i,
+      batch -> writtenBatches.incrementAndGet()
+    );
+
+    // then
+    assertThat(writtenBatches.get()).isEqualTo(10);
+    assertThat(maxInFlight.get()).isLessThan(2);
+  }
+
+  @Test
+  void run_batchesAreReportedInReadOrder() {
+    // given
+    List<Integer> reported = new ArrayList<>();
+
+    // when
+    indexingPipeline.run(
+      reader(95),
+      i -> i,
+      batch -> {
+        // later batches are written faster than earlier ones
+        LockSupport.parkNanos(Duration.ofMillis(100 - batch.getFirst()).toNanos());
+      },
+      batch -> reported.add(batch.getLast())
+    );
+
+    // then
+    assertThat(reported).containsExactly(9, 19, 29, 39, 49, 59, 69, 79, 89, 94);
+  }
+
+  @Test
+  void run_writerFails() {
+    // when
+    assertThatThrownBy(() ->
+      indexingPipeline.run(
+        reader(30),
+        i -> i,
+        batch -> {
+          throw new IllegalStateException("write failed");
+        }
+      )
+    )
+      // then
+      .isInstanceOf(CompletionException.class)
+      .hasRootCauseMessage("write failed");
+  }
+
+  private IntFunction<List<Integer>> reader(int size) {
+    AtomicInteger next = new AtomicInteger();
+    return batchSize -> {
+      int from = next.getAndAdd(batchSize);
+      return IntStream.range(Math.min(from, size), Math.min(from + batchSize, size))
+        .boxed()
+        .toList();
+    };
+  }
+}
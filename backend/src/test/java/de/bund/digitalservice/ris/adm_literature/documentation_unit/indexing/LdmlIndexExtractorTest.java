@@ -0,0 +1,131 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.bund.digitalservice.ris.adm_literature.document_category.DocumentCategory;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.DocumentationUnitEntity;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService.AdmIndexData;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService.DocumentationUnitIndex;
+import de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing.DocumentationUnitIndexService.LiteratureIndexData;
+import de.bund.digitalservice.ris.adm_literature.test.TestFile;
+import org.junit.jupiter.api.Test;
+
+class LdmlIndexExtractorTest {
+
+  private final LdmlIndexExtractor ldmlIndexExtractor = new LdmlIndexExtractor();
+
+  @Test
+  void extract_adm() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = documentationUnitEntity(
+      DocumentCategory.VERWALTUNGSVORSCHRIFTEN,
+      "adm/ldml-example.akn.xml"
+    );
+
+    // when
+    DocumentationUnitIndex documentationUnitIndex = ldmlIndexExtractor.extract(
+      documentationUnitEntity
+    );
+
+    // then
+    AdmIndexData admIndexData = documentationUnitIndex.getAdmIndexData();
+    assertThat(admIndexData.getLangueberschrift()).isEqualTo(
+      "1. Bekanntmachung zum XML-Testen in NeuRIS VwV"
+    );
+    assertThat(documentationUnitIndex.getFundstellen()).containsExactly(
+      "Das Periodikum 2021, Seite 15"
+    );
+    assertThat(documentationUnitIndex.getFundstellenCombined()).isEqualTo(
+      "Das Periodikum 2021, Seite 15"
+    );
+    assertThat(admIndexData.getZitierdaten()).containsExactly("2025-05-05", "2025-06-01");
+    assertThat(admIndexData.getInkrafttretedatum()).isEqualTo("2025-01-01");
+    assertThat(admIndexData.getNormgeberList()).containsExactly("Erste Jurpn", "AA Erstes Organ");
+    assertThat(admIndexData.getAktenzeichenList()).containsExactly("AX-Y12345", "XX");
+    assertThat(admIndexData.getDokumenttyp()).isEqualTo("VR");
+  }
+
+  @Test
+  void extract_sli() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = documentationUnitEntity(
+      DocumentCategory.LITERATUR_SELBSTAENDIG,
+      "literature/sli/ldml-example.akn.xml"
+    );
+
+    // when
+    DocumentationUnitIndex documentationUnitIndex = ldmlIndexExtractor.extract(
+      documentationUnitEntity
+    );
+
+    // then
+    LiteratureIndexData literatureIndexData = documentationUnitIndex.getLiteratureIndexData();
+    assertThat(literatureIndexData.getTitel()).isEqualTo("Lexikon der Spieltheorie");
+    assertThat(literatureIndexData.getVeroeffentlichungsjahr()).isEqualTo("2025");
+    assertThat(literatureIndexData.getDokumenttypen()).containsExactly("Bib", "Ebs");
+    assertThat(literatureIndexData.getVerfasserList()).isNull();
+  }
+
+  @Test
+  void extract_uli() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = documentationUnitEntity(
+      DocumentCategory.LITERATUR_UNSELBSTAENDIG,
+      "literature/uli/ldml-example.akn.xml"
+    );
+
+    // when
+    DocumentationUnitIndex documentationUnitIndex = ldmlIndexExtractor.extract(
+      documentationUnitEntity
+    );
+
+    // then
+    LiteratureIndexData literatureIndexData = documentationUnitIndex.getLiteratureIndexData();
+    assertThat(literatureIndexData.getTitel()).isEqualTo("Lexikon der Spieltheorie");
+    assertThat(literatureIndexData.getVeroeffentlichungsjahr()).isEqualTo("2025");
+    assertThat(literatureIndexData.getDokumenttypen()).containsExactly("Auf", "Ebs");
+  }
+
+  @Test
+  void extract_dokumentarischerTitel() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = documentationUnitEntity(
+      DocumentCategory.LITERATUR_SELBSTAENDIG,
+      "literature/sli/ldml-dokumentarischer-titel-example.akn.xml"
+    );
+
+    // when
+    DocumentationUnitIndex documentationUnitIndex = ldmlIndexExtractor.extract(
+      documentationUnitEntity
+    );
+
+    // then
+    assertThat(documentationUnitIndex.getLiteratureIndexData().getTitel()).isEqualTo(
+      "Ein interessantes Buch"
+    );
+  }
+
+  @Test
+  void extract_invalidXml() {
+    // given
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentationUnitType(DocumentCategory.VERWALTUNGSVORSCHRIFTEN);
+    documentationUnitEntity.setXml("<akn:akomaNtoso>");
+
+    // when / then
+    assertThatThrownBy(() -> ldmlIndexExtractor.extract(documentationUnitEntity)).isInstanceOf(
+      IllegalStateException.class
+    );
+  }
+
+  private static DocumentationUnitEntity documentationUnitEntity(
+    DocumentCategory documentCategory,
+    String xmlFileName
+  ) {
+    DocumentationUnitEntity documentationUnitEntity = new DocumentationUnitEntity();
+    documentationUnitEntity.setDocumentationUnitType(documentCategory);
+    documentationUnitEntity.setXml(TestFile.readFileToString(xmlFileName));
+    return documentationUnitEntity;
+  }
+}
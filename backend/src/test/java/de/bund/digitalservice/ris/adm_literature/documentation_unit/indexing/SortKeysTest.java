@@ -0,0 +1,50 @@
+package de.bund.digitalservice.ris.adm_literature.documentation_unit.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SortKeysTest {
+
+  @ParameterizedTest
+  @CsvSource(
+    delimiter = '|',
+    value = {
+      "Äpfel|apfel",
+      "  Öffentliche   Straße |offentliche strasse",
+      "Über Müller|uber muller",
+      "Café|cafe",
+      "ZAHL 10|zahl 10",
+    }
+  )
+  void normalize(String value, String expected) {
+    assertThat(SortKeys.normalize(value)).isEqualTo(expected);
+  }
+
+  @Test
+  void normalize_blank() {
+    assertThat(SortKeys.normalize(" ")).isNull();
+    assertThat(SortKeys.normalize(null)).isNull();
+  }
+
+  @Test
+  void update() {
+    // given
+    DocumentationUnitIndexEntity documentationUnitIndexEntity = new DocumentationUnitIndexEntity();
+    documentationUnitIndexEntity.getLiteratureIndex().setTitel("Ärztliche Haftung");
+    documentationUnitIndexEntity.getLiteratureIndex().setVerfasserList(List.of("Zöller", "Bär"));
+
+    // when
+    documentationUnitIndexEntity.getSortKeys().update(documentationUnitIndexEntity);
+
+    // then
+    SortKeys sortKeys = documentationUnitIndexEntity.getSortKeys();
+    assertThat(sortKeys.getTitel()).isEqualTo("arztliche haftung");
+    assertThat(sortKeys.getVerfasser()).isEqualTo("zoller bar");
+    assertThat(sortKeys.getLangueberschrift()).isNull();
+    assertThat(sortKeys.getFundstellen()).isNull();
+  }
+}
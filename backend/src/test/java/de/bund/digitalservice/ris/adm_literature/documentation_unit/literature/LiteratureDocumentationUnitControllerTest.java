@@ -294,7 +294,7 @@ class LiteratureDocumentationUnitControllerTest {
       // given
       String documentNumber = "KSLU054920710";
       String json = "{\"test\":\"content\"}";
-      given(documentationUnitService.update(documentNumber, json)).willReturn(
+      given(documentationUnitService.update(documentNumber, json, null)).willReturn(
         Optional.of(new DocumentationUnit(documentNumber, UUID.randomUUID(), json))
       );
 
@@ -319,7 +319,9 @@ class LiteratureDocumentationUnitControllerTest {
       // given
       String documentNumber = "KSNR000000001";
       String json = "{\"test\":\"unsuccessful\"}";
-      given(documentationUnitService.update(documentNumber, json)).willReturn(Optional.empty());
+      given(documentationUnitService.update(documentNumber, json, null)).willReturn(
+        Optional.empty()
+      );
 
       // when
       mockMvc
@@ -353,7 +355,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(UliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(UliDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(
         Optional.of(new DocumentationUnit(documentNumber, UUID.randomUUID(), validJsonRequest))
       );
@@ -386,7 +392,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(UliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(UliDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(Optional.empty());
 
       // when
@@ -414,7 +424,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(UliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(UliDocumentationUnitContent.class),
+          any()
+        )
       ).willThrow(
         new PublishingFailedException("External system unavailable", new RuntimeException())
       );
@@ -443,7 +457,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(UliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(UliDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(Optional.empty());
 
       // when
@@ -476,7 +494,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(SliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(SliDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(
         Optional.of(new DocumentationUnit(documentNumber, UUID.randomUUID(), validJsonRequest))
       );
@@ -509,7 +531,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(SliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(SliDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(Optional.empty());
 
       // when
@@ -537,7 +563,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(SliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(SliDocumentationUnitContent.class),
+          any()
+        )
       ).willThrow(
         new PublishingFailedException("External system unavailable", new RuntimeException())
       );
@@ -566,7 +596,11 @@ class LiteratureDocumentationUnitControllerTest {
         }""";
 
       given(
-        documentationUnitService.publish(any(String.class), any(SliDocumentationUnitContent.class))
+        documentationUnitService.publish(
+          any(String.class),
+          any(SliDocumentationUnitContent.class),
+          any()
+        )
       ).willReturn(Optional.empty());
 
       // when
@@ -0,0 +1,52 @@
+package de.bund.digitalservice.ris.adm_literature.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.web.server.ResponseStatusException;
+
+class ContinuationTokenTest {
+
+  @Test
+  void encodeAndDecode() {
+    // given
+    Map<String, Object> keys = new LinkedHashMap<>();
+    keys.put("documentNumber", "KSNR000000001");
+    keys.put("inkrafttretedatum", LocalDate.of(2024, 1, 31));
+    keys.put("titel", null);
+    keys.put("id", UUID.fromString("11111111-1111-1111-1111-111111111111"));
+
+    // when
+    KeysetScrollPosition position = ContinuationToken.decode(
+      ContinuationToken.encode(ScrollPosition.forward(keys))
+    );
+
+    // then
+    assertThat(position.getKeys()).containsExactlyEntriesOf(keys);
+    assertThat(position.scrollsForward()).isTrue();
+  }
+
+  @Test
+  void decode_empty() {
+    // when
+    KeysetScrollPosition position = ContinuationToken.decode("");
+
+    // then
+    assertThat(position.isInitial()).isTrue();
+  }
+
+  @Test
+  void decode_invalid() {
+    // when / then
+    assertThatThrownBy(() -> ContinuationToken.decode("not a cursor"))
+      .isInstanceOf(ResponseStatusException.class)
+      .hasMessageContaining("Invalid cursor");
+  }
+}
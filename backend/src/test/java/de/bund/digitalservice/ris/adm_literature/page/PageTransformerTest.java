@@ -3,8 +3,11 @@ package de.bund.digitalservice.ris.adm_literature.page;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 class PageTransformerTest {
 
@@ -40,6 +43,47 @@ class PageTransformerTest {
       .containsExactly(List.of(new TestModel("name")), 1, 1L);
   }
 
+  @Test
+  void transform_window() {
+    // given
+    var window = Window.from(
+      List.of(new TestEntity(1L, "name1"), new TestEntity(2L, "name2")),
+      index -> ScrollPosition.forward(Map.of("id", index + 1L)),
+      true
+    );
+
+    // when
+    Page<TestModel> actualPage = PageTransformer.transform(window, 2, true, testEntity ->
+      new TestModel(testEntity.name)
+    );
+
+    // then
+    assertThat(actualPage)
+      .isNotNull()
+      .extracting(Page::number, Page::numberOfElements, Page::totalElements, Page::first, Page::last)
+      .containsExactly(Page.UNKNOWN, 2, (long) Page.UNKNOWN, true, false);
+    assertThat(ContinuationToken.decode(actualPage.nextCursor()).getKeys()).containsEntry("id", 2L);
+  }
+
+  @Test
+  void transform_lastWindow() {
+    // given
+    var window = Window.from(
+      List.of(new TestEntity(1L, "name")),
+      index -> ScrollPosition.forward(Map.of("id", index + 1L)),
+      false
+    );
+
+    // when
+    Page<TestModel> actualPage = PageTransformer.transform(window, 2, false, testEntity ->
+      new TestModel(testEntity.name)
+    );
+
+    // then
+    assertThat(actualPage.last()).isTrue();
+    assertThat(actualPage.nextCursor()).isNull();
+  }
+
   private record TestEntity(long id, String name) {}
 
   private record TestModel(String name) {}
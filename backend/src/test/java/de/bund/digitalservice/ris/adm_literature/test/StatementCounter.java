@@ -0,0 +1,92 @@
+package de.bund.digitalservice.ris.adm_literature.test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+/**
+ * Counts the statements executed with the primary data source, i.e. the database round trips of the JPA
+ * repositories and the JDBC repositories. To be imported by integration tests which assert the number of
+ * statements:
+ *
+ * <pre>
+ * &#64;Import(StatementCounter.class)
+ * </pre>
+ */
+@TestComponent
+public class StatementCounter implements BeanPostProcessor {
+
+  private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+  private final AtomicInteger count = new AtomicInteger();
+
+  /**
+   * Resets the number of executed statements to zero.
+   */
+  public void reset() {
+    count.set(0);
+  }
+
+  /**
+   * Returns the number of statements executed since the last reset.
+   *
+   * @return The number of executed statements, a batch counts as one statement
+   */
+  public int count() {
+    return count.get();
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource dataSource) {
+      return proxy(DataSource.class, dataSource);
+    }
+    return bean;
+  }
+
+  private <T> T proxy(Class<T> type, T target) {
+    return type.cast(
+      Proxy.newProxyInstance(
+        getClass().getClassLoader(),
+        new Class<?>[] { type },
+        (proxy, method, args) ->
+          switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> invoke(target, method, args);
+          }
+      )
+    );
+  }
+
+  private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    if (target instanceof Statement && method.getName().startsWith("execute")) {
+      count.incrementAndGet();
+    }
+    Object result;
+    try {
+      result = method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+    Class<?> returnType = method.getReturnType();
+    if (
+      result != null &&
+      (returnType == Connection.class || Statement.class.isAssignableFrom(returnType))
+    ) {
+      return proxy(unchecked(returnType), result);
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Class<Object> unchecked(Class<?> type) {
+    return (Class<Object>) type;
+  }
+}